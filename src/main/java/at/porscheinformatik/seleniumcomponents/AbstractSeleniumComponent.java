@@ -1,5 +1,6 @@
 package at.porscheinformatik.seleniumcomponents;
 
+import java.lang.ref.WeakReference;
 import java.util.Objects;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebElement;
@@ -11,9 +12,20 @@ import org.openqa.selenium.WebElement;
  */
 public abstract class AbstractSeleniumComponent implements SeleniumComponent {
 
+    // the environment, whose cached elements have been used last by the current thread
+    private static final ThreadLocal<WeakReference<SeleniumEnvironment>> CACHING_ENVIRONMENT = new ThreadLocal<>();
+
+    /**
+     * A resolved {@link WebElement} together with the generation of the environment it was resolved in.
+     */
+    private record CachedElement(CachedWebElement element, long generation) {}
+
     private final SeleniumComponent parent;
     private final WebElementSelector selector;
 
+    private volatile boolean elementCached = false;
+    private volatile CachedElement cachedElement;
+
     /**
      * Creates a new {@link SeleniumComponent} with the specified parent and the specified selector.
      *
@@ -25,14 +37,99 @@ public abstract class AbstractSeleniumComponent implements SeleniumComponent {
         this.selector = Objects.requireNonNull(selector, "Selector is null");
     }
 
+    /**
+     * Invalidates the cached elements of the environment, whose cached elements have been used last by the current
+     * thread, by starting a new generation. This is called, whenever
+     * {@link SeleniumUtils#retryOnStale(PollingStrategy, java.util.concurrent.Callable)} gets a
+     * {@link org.openqa.selenium.StaleElementReferenceException}, that has not been thrown by a cached element itself,
+     * e.g. by a script, the element has been passed to.
+     */
+    static void invalidateCachedElements() {
+        WeakReference<SeleniumEnvironment> reference = CACHING_ENVIRONMENT.get();
+        SeleniumEnvironment environment = reference != null ? reference.get() : null;
+
+        if (environment != null) {
+            CACHING_ENVIRONMENT.remove();
+            environment.nextGeneration();
+        }
+    }
+
     @Override
     public final SeleniumComponent parent() {
         return parent;
     }
 
+    /**
+     * Returns true if the {@link WebElement} of this component gets cached.
+     *
+     * @return true if cached
+     * @see #setElementCached(boolean)
+     */
+    public boolean isElementCached() {
+        return elementCached;
+    }
+
+    /**
+     * Enables or disables the cache for the {@link WebElement} of this component. If enabled, the {@link #element()}
+     * method resolves the element once and returns the same handle until the generation of the
+     * {@link SeleniumEnvironment} changes (navigation, window or frame switch) or a call of the handle fails with a
+     * {@link org.openqa.selenium.StaleElementReferenceException}. Only use it for components, that are not replaced by
+     * the application without navigating.
+     *
+     * @param elementCached true to enable the cache
+     */
+    public void setElementCached(boolean elementCached) {
+        this.elementCached = elementCached;
+
+        if (!elementCached) {
+            cachedElement = null;
+        }
+    }
+
     @Override
     public WebElement element() throws NoSuchElementException {
+        if (!elementCached) {
+            return resolveElement();
+        }
+
+        SeleniumEnvironment environment = environment();
+        long generation = environment.getGeneration();
+        CachedElement cached = cachedElement;
+
+        if (cached == null || cached.generation() != generation) {
+            cached = new CachedElement(new CachedWebElement(resolveElement(), this::dropCachedElement), generation);
+            cachedElement = cached;
+        }
+
+        WeakReference<SeleniumEnvironment> reference = CACHING_ENVIRONMENT.get();
+
+        if (reference == null || reference.get() != environment) {
+            CACHING_ENVIRONMENT.set(new WeakReference<>(environment));
+        }
+
+        return cached.element();
+    }
+
+    private void dropCachedElement(CachedWebElement element) {
+        CachedElement cached = cachedElement;
+
+        // the cache may already contain a newer element
+        if (cached != null && cached.element() == element) {
+            cachedElement = null;
+        }
+    }
+
+    private WebElement resolveElement() throws NoSuchElementException {
         try {
+            if (SeleniumGlobals.isScriptedElementResolution() && WebElementChainResolver.isResolvable(this)) {
+                return SeleniumUtils.keepTrying(
+                    SeleniumGlobals.getShortTimeoutInSeconds(),
+                    SeleniumGlobals.getPollingStrategy(),
+                    () -> WebElementChainResolver.resolve(this),
+                    () -> parent
+                );
+            }
+
             return element(selector);
         } catch (Exception e) {
             throw new NoSuchElementException(selector.decribe(parent.describe()), e);
@@ -40,7 +137,7 @@ public abstract class AbstractSeleniumComponent implements SeleniumComponent {
     }
 
     protected WebElement element(WebElementSelector selector) {
-        if (parent instanceof AbstractSeleniumComponent seleniumP) {
+        if (parent instanceof AbstractSeleniumComponent seleniumP && !seleniumP.isElementCached()) {
             WebElementSelector combinedSelector = seleniumP.getSelector().combine(selector);
 
             if (combinedSelector != null) {
@@ -48,13 +145,20 @@ public abstract class AbstractSeleniumComponent implements SeleniumComponent {
             }
         }
 
-        return SeleniumUtils.keepTrying(() -> selector.find(parent.searchContext()));
+        return SeleniumUtils.keepTrying(
+            SeleniumGlobals.getShortTimeoutInSeconds(),
+            SeleniumGlobals.getPollingStrategy(),
+            () -> selector.find(parent.searchContext()),
+            () -> parent
+        );
     }
 
     @Override
     public boolean isReady() {
         try {
-            return SeleniumUtils.retryOnStale(() -> selector.find(parent.searchContext()) != null);
+            return SeleniumUtils.withoutWaiting(() ->
+                SeleniumUtils.retryOnStale(() -> selector.find(parent.searchContext()) != null)
+            );
         } catch (Exception e) {
             return false;
         }
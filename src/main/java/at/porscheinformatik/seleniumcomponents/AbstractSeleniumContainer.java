@@ -35,6 +35,18 @@ public abstract class AbstractSeleniumContainer<AnyChildComponent extends Seleni
         return childListFactory.findAll();
     }
 
+    /**
+     * Returns a {@link SeleniumComponentList} of all childs, fetched together with the properties described by the
+     * projection.
+     *
+     * @param projection the properties to fetch
+     * @return a list, never null
+     * @see SeleniumComponentListFactory#findAll(ElementProjection)
+     */
+    public SeleniumComponentList<AnyChildComponent> findAllChilds(ElementProjection projection) {
+        return childListFactory.findAll(projection);
+    }
+
     protected AnyChildComponent findChild(Predicate<AnyChildComponent> predicate) {
         return childListFactory.find(predicate);
     }
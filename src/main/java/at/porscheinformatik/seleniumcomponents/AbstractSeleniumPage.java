@@ -61,6 +61,12 @@ public abstract class AbstractSeleniumPage implements SeleniumComponent {
         return selector;
     }
 
+    /**
+     * Takes a screenshot of the viewport, see {@link SeleniumEnvironment#takeScreenshot()}.
+     *
+     * @return either a Base64 image or the path to the file. May be null if screenshots are not possible.
+     */
+    @Override
     public String takeScreenshot() {
         return environment.takeScreenshot();
     }
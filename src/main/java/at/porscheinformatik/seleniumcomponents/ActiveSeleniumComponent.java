@@ -1,7 +1,7 @@
 package at.porscheinformatik.seleniumcomponents;
 
+import java.util.function.Supplier;
 import org.hamcrest.Matchers;
-import org.openqa.selenium.Dimension;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebElement;
@@ -12,6 +12,21 @@ import org.openqa.selenium.WebElement;
  * @author ham
  */
 public interface ActiveSeleniumComponent extends SeleniumComponent {
+    /**
+     * Fetches the displayed, enabled and selected flags, the size and the position relative to the viewport of the
+     * component with one script call. This method has no timeout, it does not wait for the component to become
+     * existent.
+     *
+     * @return the state, {@link ElementState#NOT_PRESENT} if the component does not exist
+     */
+    default ElementState probeState() {
+        try {
+            return SeleniumUtils.retryOnStale(() -> ElementState.probe(environment().getDriver(), findNow()));
+        } catch (NoSuchElementException e) {
+            return ElementState.NOT_PRESENT;
+        }
+    }
+
     /**
      * Returns true if the component has a size that can be interacted with. Necessary for preventing
      * `ElementNotInteractableException: element not interactable: element has zero size` errors.
@@ -19,37 +34,34 @@ public interface ActiveSeleniumComponent extends SeleniumComponent {
      * @return True if the element has a size that can be interacted with.
      */
     default boolean isInteractable() {
-        try {
-            return SeleniumUtils.retryOnStale(() -> {
-                Dimension size = element().getSize();
-                int width = size.getWidth();
-                int height = size.getHeight();
-
-                if (width == 0 || height == 0) {
-                    SeleniumComponent.LOG.error(
-                        "Element %s has size %dw x %dh. This is not interactable.",
-                        describe(),
-                        width,
-                        height
-                    );
-                    return false;
-                }
-
-                return true;
-            });
-        } catch (NoSuchElementException e) {
+        ElementState state = probeState();
+
+        if (!state.present()) {
             return false;
         }
+
+        if (!state.isInteractable()) {
+            SeleniumComponent.LOG.error(
+                "Element %s has size %dw x %dh. This is not interactable.",
+                describe(),
+                state.width(),
+                state.height()
+            );
+            return false;
+        }
+
+        return true;
     }
 
     /**
-     * Returns true if the component is enabled.
+     * Returns true if the component is enabled. This method has no timeout, it does not wait for the component to
+     * become existent.
      *
      * @return true if enabled
      */
     default boolean isEnabled() {
         try {
-            return SeleniumUtils.retryOnStale(() -> element().isEnabled());
+            return SeleniumUtils.retryOnStale(() -> findNow().isEnabled());
         } catch (NoSuchElementException e) {
             return false;
         }
@@ -93,13 +105,14 @@ public interface ActiveSeleniumComponent extends SeleniumComponent {
     }
 
     /**
-     * Returns true if the component is selectable and selected.
+     * Returns true if the component is selectable and selected. This method has no timeout, it does not wait for the
+     * component to become existent.
      *
      * @return true if selected
      */
     default boolean isSelected() {
         try {
-            return SeleniumUtils.retryOnStale(() -> element().isSelected());
+            return SeleniumUtils.retryOnStale(() -> findNow().isSelected());
         } catch (NoSuchElementException e) {
             return false;
         }
@@ -156,11 +169,16 @@ public interface ActiveSeleniumComponent extends SeleniumComponent {
     }
 
     /**
-     * Returns true if the component is clickable (displayed and enabled)
+     * Returns true if the component is clickable (displayed and enabled). If neither {@link #isVisible()} nor
+     * {@link #isEnabled()} are overridden, it uses one {@link #probeState()} call.
      *
      * @return true if clickable
      */
     default boolean isClickable() {
+        if (ElementState.hasDefaultPredicates(getClass(), "isVisible", "isEnabled")) {
+            return probeState().isClickable();
+        }
+
         return isVisible() && isEnabled();
     }
 
@@ -202,11 +220,16 @@ public interface ActiveSeleniumComponent extends SeleniumComponent {
     }
 
     /**
-     * Returns true if the component is editable (displayed and enabled)
+     * Returns true if the component is editable (displayed and enabled). If neither {@link #isVisible()} nor
+     * {@link #isEnabled()} are overridden, it uses one {@link #probeState()} call.
      *
      * @return true if editable
      */
     default boolean isEditable() {
+        if (ElementState.hasDefaultPredicates(getClass(), "isVisible", "isEnabled")) {
+            return probeState().isClickable();
+        }
+
         return isVisible() && isEnabled();
     }
 
@@ -297,13 +320,7 @@ public interface ActiveSeleniumComponent extends SeleniumComponent {
      * @return true, if the center of the component is within the current viewport of the browser.
      */
     default boolean isInViewport() {
-        return (Boolean) ((JavascriptExecutor) environment().getDriver()).executeScript(
-                """
-                var elem = arguments[0], box = elem.getBoundingClientRect(), cx = box.left + box.width / 2, cy = box.top + box.height / 2, e = document.elementFromPoint(cx, cy);
-                for (; e; e = e.parentElement) if (e === elem) return true;
-                return false;""",
-                element()
-            );
+        return probeState().isVisibleInViewport();
     }
 
     /**
@@ -358,11 +375,17 @@ public interface ActiveSeleniumComponent extends SeleniumComponent {
      * @param timeoutInSeconds the amount of time to wait until the operation fails
      */
     default void click(double timeoutInSeconds) {
-        SeleniumComponent.LOG.interaction("Clicking on %s", describe());
-
-        waitUntilClickable(timeoutInSeconds);
+        SeleniumComponent.LOG.interaction(
+            this,
+            "click",
+            () -> {
+                waitUntilClickable(timeoutInSeconds);
 
-        element().click();
+                SeleniumUtils.retryOnStale(() -> element().click());
+            },
+            "Clicking on %s",
+            SeleniumLogger.describe(this)
+        );
     }
 
     /**
@@ -378,14 +401,20 @@ public interface ActiveSeleniumComponent extends SeleniumComponent {
      * @param timeoutInSeconds the amount of time to wait until the operation fails
      */
     default void scrollIntoView(double timeoutInSeconds) {
-        SeleniumComponent.LOG.interaction("Scrolling %s into view", describe());
+        SeleniumComponent.LOG.interaction(
+            this,
+            "scrollIntoView",
+            () -> {
+                ((JavascriptExecutor) environment().getDriver()).executeScript(
+                    "arguments[0].scrollIntoViewIfNeeded()",
+                    element()
+                );
 
-        ((JavascriptExecutor) environment().getDriver()).executeScript(
-            "arguments[0].scrollIntoViewIfNeeded()",
-            element()
+                waitUntilInViewport(timeoutInSeconds);
+            },
+            "Scrolling %s into view",
+            SeleniumLogger.describe(this)
         );
-
-        waitUntilInViewport(timeoutInSeconds);
     }
 
     /**
@@ -393,10 +422,21 @@ public interface ActiveSeleniumComponent extends SeleniumComponent {
      * become available.
      */
     default void clear() {
-        String description = SeleniumComponent.LOG.interaction("Clearing %s", describe());
-
-        SeleniumAsserts.assertThatSoon(description, () -> this, SeleniumMatchers.isEditable());
-        SeleniumUtils.retryOnStale(() -> element().clear());
+        SeleniumComponent.LOG.interaction(
+            this,
+            "clear",
+            () -> {
+                SeleniumAsserts.assertThatSoon(
+                    SeleniumGlobals.getShortTimeoutInSeconds() + 1,
+                    () -> String.format("Clearing %s", describe()),
+                    () -> this,
+                    SeleniumMatchers.isEditable()
+                );
+                SeleniumUtils.retryOnStale(() -> element().clear());
+            },
+            "Clearing %s",
+            SeleniumLogger.describe(this)
+        );
     }
 
     /**
@@ -406,29 +446,35 @@ public interface ActiveSeleniumComponent extends SeleniumComponent {
      * @param keysToSend the keys to send (multiple)
      */
     default void sendKeys(CharSequence... keysToSend) {
-        String description = SeleniumComponent.LOG.interaction(
-            "Sending \"%s\" to %s",
-            Utils.escapeJava(String.join("", keysToSend)),
-            describe()
-        );
+        Supplier<String> description = () ->
+            String.format("Sending \"%s\" to %s", Utils.escapeJava(String.join("", keysToSend)), describe());
 
         // It could take some time to input the data. So we should wait longer than the short timeout
-        SeleniumAsserts.assertThatLater(
-            description,
-            () -> {
-                if (isClickable()) {
-                    WebElement element = element();
-
-                    for (CharSequence current : keysToSend) {
-                        element.sendKeys(current);
-                    }
-
-                    return true;
-                }
-
-                return false;
-            },
-            Matchers.is(true)
+        SeleniumComponent.LOG.interaction(
+            this,
+            "sendKeys",
+            () ->
+                SeleniumAsserts.assertThatSoon(
+                    SeleniumGlobals.getLongTimeoutInSeconds(),
+                    description,
+                    () -> {
+                        if (isClickable()) {
+                            WebElement element = element();
+
+                            for (CharSequence current : keysToSend) {
+                                element.sendKeys(current);
+                            }
+
+                            return true;
+                        }
+
+                        return false;
+                    },
+                    Matchers.is(true)
+                ),
+            "Sending \"%s\" to %s",
+            SeleniumLogger.lazy(() -> Utils.escapeJava(String.join("", keysToSend))),
+            SeleniumLogger.describe(this)
         );
     }
 
@@ -437,9 +483,13 @@ public interface ActiveSeleniumComponent extends SeleniumComponent {
      */
     default void select() {
         if (!isSelected()) {
-            SeleniumComponent.LOG.interaction("Selecting %s", describe());
-
-            click();
+            SeleniumComponent.LOG.interaction(
+                this,
+                "select",
+                () -> click(),
+                "Selecting %s",
+                SeleniumLogger.describe(this)
+            );
         }
     }
 
@@ -448,9 +498,13 @@ public interface ActiveSeleniumComponent extends SeleniumComponent {
      */
     default void unselect() {
         if (isSelected()) {
-            SeleniumComponent.LOG.interaction("Deselecting %s", describe());
-
-            click();
+            SeleniumComponent.LOG.interaction(
+                this,
+                "unselect",
+                () -> click(),
+                "Deselecting %s",
+                SeleniumLogger.describe(this)
+            );
         }
     }
 }
@@ -0,0 +1,64 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link PollingStrategy}, that learns how long conditions take to become true. It keeps a moving average of the
+ * durations of all successful waits, that needed at least one retry. The first delay of a wait is a quarter of this
+ * average, later delays grow by 20% each, capped at a twentieth of the timeout. On a fast browser, it polls often, on a
+ * slow remote grid, it polls less.
+ *
+ * @author agent
+ */
+public final class AdaptivePollingStrategy implements PollingStrategy {
+
+    private final long minDelayMillis;
+    private final AtomicLong averageMillis;
+
+    /**
+     * Creates a new strategy.
+     *
+     * @param minDelayInSeconds the minimum delay between two attempts
+     * @param initialAverageInSeconds the assumed duration of a wait, until the first wait succeeded
+     */
+    public AdaptivePollingStrategy(double minDelayInSeconds, double initialAverageInSeconds) {
+        super();
+        minDelayMillis = (long) (minDelayInSeconds * 1000);
+        averageMillis = new AtomicLong((long) (initialAverageInSeconds * 1000));
+    }
+
+    /**
+     * @return the current average duration of successful waits in milliseconds
+     */
+    public long getAverageMillis() {
+        return averageMillis.get();
+    }
+
+    @Override
+    public Poll start(long timeoutMillis) {
+        double maxDelayMillis = Math.max(minDelayMillis, timeoutMillis / 20d);
+
+        return new Poll() {
+            private double delayMillis = Math.max(minDelayMillis, averageMillis.get() / 4d);
+
+            @Override
+            public long nextDelayMillis() {
+                double currentDelayMillis = Math.min(delayMillis, maxDelayMillis);
+
+                delayMillis *= 1.2;
+
+                return (long) currentDelayMillis;
+            }
+
+            @Override
+            public void succeeded(long elapsedMillis) {
+                averageMillis.updateAndGet(average -> (average * 7 + elapsedMillis) / 8);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AdaptivePollingStrategy [average=%,d ms]", averageMillis.get());
+    }
+}
@@ -0,0 +1,385 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+/**
+ * Learns the timeouts of the waits per call site from the durations of previous runs, enabled by
+ * {@link SeleniumGlobals#setAdaptiveTimeoutsFile(Path)}. Each outermost
+ * {@link SeleniumUtils#keepTrying(double, PollingStrategy, Callable)} (and thus each
+ * {@link SeleniumAsserts#assertThatSoon(FailableSupplier, org.hamcrest.Matcher)}) records its duration, keyed by the
+ * call line of {@link ThreadUtils#describeCallLine()}. The durations are loaded from the file, when they are used
+ * first, and written to it at the end of the run. If the file changes, the durations get written to the previous file
+ * and the ones of the new file get loaded.<br>
+ * <br>
+ * As soon as a call site has {@value #MIN_SAMPLES} successful samples, its timeout is the
+ * {@value #PERCENTILE}-percentile of the durations times {@value #MARGIN_FACTOR} plus {@value #MARGIN_IN_SECONDS}
+ * seconds, but never more than the configured timeout. Thus a failing wait, that usually succeeds within 200 ms, fails
+ * within a second instead of after the long timeout. If a wait fails with a learned timeout, its call site uses the
+ * configured timeout again, until it succeeded once more. Nested waits are limited by the deadline of the outermost
+ * one, they are not recorded.
+ *
+ * @author agent
+ */
+public final class AdaptiveTimeouts {
+
+    /**
+     * Limits and records the outermost keepTrying waits, registered by the {@link SeleniumGlobals} while the adaptive
+     * timeouts file is set.
+     */
+    static final SeleniumEventListener LISTENER = new SeleniumEventListener() {
+        @Override
+        public void onEvent(SeleniumEvent event) {
+            // only the waits are of interest
+        }
+
+        @Override
+        public SeleniumWaitListener onWaitStart(SeleniumWait wait) {
+            // nested waits are limited by the deadline of the outermost one, only this one gets learned
+            if (!isEnabled() || wait.getType() != SeleniumWait.Type.KEEP_TRYING || !wait.isOutermost()) {
+                return null;
+            }
+
+            Site site = siteAt(wait.getCallLine());
+            double timeoutInSeconds = wait.getTimeoutInSeconds();
+            double limitedTimeoutInSeconds = site.limitTimeout(timeoutInSeconds);
+
+            if (limitedTimeoutInSeconds < timeoutInSeconds) {
+                wait.limitEndMillis(wait.getStartMillis() + (long) (limitedTimeoutInSeconds * 1000));
+            }
+
+            return new SeleniumWaitListener() {
+                @Override
+                public void onEnd(SeleniumWait wait, Throwable failure) {
+                    if (failure == null) {
+                        site.recordSuccess(System.currentTimeMillis() - wait.getStartMillis());
+
+                        return;
+                    }
+
+                    site.recordFailure();
+
+                    if (limitedTimeoutInSeconds < timeoutInSeconds) {
+                        failure.addSuppressed(
+                            new SeleniumException(
+                                String.format(
+                                    "The timeout has been limited from %,.1f to %,.1f seconds by the adaptive " +
+                                    "timeouts. The call site uses the configured timeout again, until it succeeds.",
+                                    timeoutInSeconds,
+                                    limitedTimeoutInSeconds
+                                )
+                            )
+                        );
+                    }
+                }
+            };
+        }
+    };
+
+    private static final SeleniumLogger LOG = new SeleniumLogger(AdaptiveTimeouts.class);
+
+    /**
+     * The number of successful samples needed before a timeout gets learned.
+     */
+    public static final int MIN_SAMPLES = 10;
+
+    /**
+     * The number of the most recent samples kept per call site.
+     */
+    public static final int MAX_SAMPLES = 100;
+
+    /**
+     * The percentile of the durations.
+     */
+    public static final double PERCENTILE = 0.95;
+
+    /**
+     * The factor applied to the percentile.
+     */
+    public static final double MARGIN_FACTOR = 2;
+
+    /**
+     * The seconds added to the percentile.
+     */
+    public static final double MARGIN_IN_SECONDS = 0.5;
+
+    private static final ConcurrentMap<String, Site> SITES = new ConcurrentHashMap<>();
+
+    // the file of the durations, null if none has been loaded
+    private static volatile Path loadedFile = null;
+    private static boolean shutdownHookAdded = false;
+
+    /**
+     * The durations of the waits of one call site.
+     */
+    public static final class Site {
+
+        private final long[] samplesMillis = new long[MAX_SAMPLES];
+        private int count = 0;
+        private int next = 0;
+        private boolean failed = false;
+
+        /**
+         * Returns the learned timeout, limited by the configured one.
+         *
+         * @param timeoutInSeconds the configured timeout
+         * @return the timeout
+         */
+        public synchronized double limitTimeout(double timeoutInSeconds) {
+            if (failed || count < MIN_SAMPLES || !Double.isFinite(timeoutInSeconds)) {
+                return timeoutInSeconds;
+            }
+
+            return Math.min(timeoutInSeconds, percentileMillis() * MARGIN_FACTOR / 1000d + MARGIN_IN_SECONDS);
+        }
+
+        /**
+         * Records the duration of a successful wait.
+         *
+         * @param durationMillis the duration
+         */
+        public synchronized void recordSuccess(long durationMillis) {
+            samplesMillis[next] = Math.max(0, durationMillis);
+            next = (next + 1) % MAX_SAMPLES;
+            count = Math.min(count + 1, MAX_SAMPLES);
+            failed = false;
+        }
+
+        /**
+         * Records a failed wait. The call site uses the configured timeout, until the next success.
+         */
+        public synchronized void recordFailure() {
+            failed = true;
+        }
+
+        /**
+         * @return the number of samples
+         */
+        public synchronized int getCount() {
+            return count;
+        }
+
+        /**
+         * @return true if the last wait failed
+         */
+        public synchronized boolean isFailed() {
+            return failed;
+        }
+
+        /**
+         * @return the percentile of the durations (see {@link AdaptiveTimeouts#PERCENTILE}), 0 if there are no samples
+         */
+        public synchronized long percentileMillis() {
+            if (count == 0) {
+                return 0;
+            }
+
+            long[] sorted = Arrays.copyOf(samplesMillis, count);
+
+            Arrays.sort(sorted);
+
+            return sorted[Math.min(count - 1, (int) Math.ceil(count * PERCENTILE) - 1)];
+        }
+
+        synchronized Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            List<Long> samples = new ArrayList<>(count);
+
+            // oldest first
+            for (int i = 0; i < count; i++) {
+                samples.add(samplesMillis[(next - count + i + MAX_SAMPLES) % MAX_SAMPLES]);
+            }
+
+            map.put("failed", failed);
+            map.put("samplesMillis", samples);
+
+            return map;
+        }
+    }
+
+    private AdaptiveTimeouts() {
+        super();
+    }
+
+    /**
+     * Returns true if the timeouts are learned, see {@link SeleniumGlobals#isAdaptiveTimeouts()}.
+     *
+     * @return true if enabled
+     */
+    public static boolean isEnabled() {
+        return SeleniumGlobals.isAdaptiveTimeouts();
+    }
+
+    /**
+     * Returns the durations of the call site.
+     *
+     * @param callLine the call line
+     * @return the durations
+     */
+    public static Site siteAt(String callLine) {
+        loadIfChanged();
+
+        return SITES.computeIfAbsent(callLine, key -> new Site());
+    }
+
+    /**
+     * @return the durations by call line
+     */
+    public static Map<String, Site> getSites() {
+        loadIfChanged();
+
+        return new TreeMap<>(SITES);
+    }
+
+    /**
+     * Removes all durations.
+     */
+    public static void clear() {
+        SITES.clear();
+    }
+
+    /**
+     * Loads the durations of the {@link SeleniumGlobals#getAdaptiveTimeoutsFile()}, if it has changed since the last
+     * call. The durations of the previous file get written to it.
+     */
+    static void loadIfChanged() {
+        Path file = SeleniumGlobals.getAdaptiveTimeoutsFile();
+
+        if (Objects.equals(file, loadedFile)) {
+            return;
+        }
+
+        synchronized (AdaptiveTimeouts.class) {
+            if (Objects.equals(file, loadedFile)) {
+                return;
+            }
+
+            if (loadedFile != null) {
+                writeJsonQuietly(loadedFile);
+                SITES.clear();
+            }
+
+            if (file != null && Files.isRegularFile(file)) {
+                try {
+                    load(file);
+                } catch (IOException | JsonException e) {
+                    LOG.warn("Failed to load adaptive timeouts from %s", e, file);
+                }
+            }
+
+            if (file != null && !shutdownHookAdded) {
+                Runtime.getRuntime().addShutdownHook(
+                    new Thread(AdaptiveTimeouts::writeJsonOnExit, "Selenium Adaptive Timeouts Export")
+                );
+
+                shutdownHookAdded = true;
+            }
+
+            loadedFile = file;
+        }
+    }
+
+    /**
+     * Adds the durations of the file to the durations of this run.
+     *
+     * @param file the file, written by {@link #writeJson(Path)}
+     * @throws IOException on occasion
+     */
+    public static void load(Path file) throws IOException {
+        Map<String, Object> sites = new Json().toType(Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE);
+
+        sites.forEach((callLine, value) -> {
+            if (!(value instanceof Map<?, ?> map)) {
+                return;
+            }
+
+            // not by siteAt, that loads the file
+            Site site = SITES.computeIfAbsent(callLine, key -> new Site());
+
+            if (map.get("samplesMillis") instanceof List<?> samples) {
+                samples
+                    .stream()
+                    .filter(Number.class::isInstance)
+                    .forEach(sample -> site.recordSuccess(((Number) sample).longValue()));
+            }
+
+            if (Boolean.TRUE.equals(map.get("failed"))) {
+                site.recordFailure();
+            }
+        });
+    }
+
+    /**
+     * @return the durations as JSON
+     */
+    public static String toJson() {
+        Map<String, Object> sites = new LinkedHashMap<>();
+
+        new TreeMap<>(SITES).forEach((callLine, site) -> sites.put(callLine, site.toMap()));
+
+        return new Json().toJson(sites);
+    }
+
+    /**
+     * Writes the durations as JSON to the file. The file gets replaced atomically, if supported by the file system.
+     *
+     * @param file the file, the parent directories get created if missing
+     * @return the file
+     * @throws IOException on occasion
+     */
+    public static Path writeJson(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        Path tempFile = Files.writeString(
+            file.resolveSibling(file.getFileName() + ".tmp"),
+            toJson(),
+            StandardCharsets.UTF_8
+        );
+
+        try {
+            return Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            return Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void writeJsonOnExit() {
+        // the durations belong to the loaded file, a file set afterwards has not been loaded
+        Path file = loadedFile;
+
+        if (file != null) {
+            writeJsonQuietly(file);
+        }
+    }
+
+    private static void writeJsonQuietly(Path file) {
+        if (SITES.isEmpty()) {
+            return;
+        }
+
+        try {
+            writeJson(file);
+        } catch (IOException e) {
+            LOG.warn("Failed to write adaptive timeouts to %s", e, file);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+
+/**
+ * The {@link WebElement} cached by an {@link AbstractSeleniumComponent}. All calls are delegated to the original
+ * element. If a call fails with a {@link StaleElementReferenceException}, the element gets dropped from the cache,
+ * thus the next call of {@link SeleniumComponent#element()} resolves it again.
+ *
+ * @author agent
+ */
+final class CachedWebElement implements WebElement, WrapsElement {
+
+    private final WebElement element;
+    private final Consumer<CachedWebElement> onStale;
+
+    CachedWebElement(WebElement element, Consumer<CachedWebElement> onStale) {
+        super();
+        this.element = element;
+        this.onStale = onStale;
+    }
+
+    @Override
+    public WebElement getWrappedElement() {
+        return element;
+    }
+
+    @Override
+    public void click() {
+        call(element::click);
+    }
+
+    @Override
+    public void submit() {
+        call(element::submit);
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        call(() -> element.sendKeys(keysToSend));
+    }
+
+    @Override
+    public void clear() {
+        call(element::clear);
+    }
+
+    @Override
+    public String getTagName() {
+        return call(element::getTagName);
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        return call(() -> element.getDomProperty(name));
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        return call(() -> element.getDomAttribute(name));
+    }
+
+    @Override
+    @Deprecated
+    @SuppressWarnings("deprecation")
+    public String getAttribute(String name) {
+        return call(() -> element.getAttribute(name));
+    }
+
+    @Override
+    public String getAriaRole() {
+        return call(element::getAriaRole);
+    }
+
+    @Override
+    public String getAccessibleName() {
+        return call(element::getAccessibleName);
+    }
+
+    @Override
+    public boolean isSelected() {
+        return call(element::isSelected);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return call(element::isEnabled);
+    }
+
+    @Override
+    public String getText() {
+        return call(element::getText);
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return call(() -> element.findElements(by));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return call(() -> element.findElement(by));
+    }
+
+    @Override
+    public SearchContext getShadowRoot() {
+        return call(element::getShadowRoot);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return call(element::isDisplayed);
+    }
+
+    @Override
+    public Point getLocation() {
+        return call(element::getLocation);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return call(element::getSize);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return call(element::getRect);
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return call(() -> element.getCssValue(propertyName));
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) throws WebDriverException {
+        return call(() -> element.getScreenshotAs(target));
+    }
+
+    private void call(Runnable call) {
+        call(() -> {
+            call.run();
+
+            return null;
+        });
+    }
+
+    private <Any> Any call(Supplier<Any> call) {
+        try {
+            return call.get();
+        } catch (StaleElementReferenceException e) {
+            onStale.accept(this);
+
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        // unwraps like the RemoteWebElement does, thus the cached element and its element are equal in both directions
+        Object other = obj;
+
+        while (other instanceof WrapsElement wrapper) {
+            other = wrapper.getWrappedElement();
+        }
+
+        return element.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return element.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CachedWebElement [" + element + "]";
+    }
+}
@@ -36,6 +36,11 @@ public class CombinableWebElementSelector implements WebElementSelector {
         return context.findElements(byCss());
     }
 
+    @Override
+    public By toBy() {
+        return byCss();
+    }
+
     @Override
     public String toString() {
         return toCssString();
@@ -59,9 +64,38 @@ public class CombinableWebElementSelector implements WebElementSelector {
             return new CombinableWebElementSelector(combinedSelectors.stream().toArray(size -> new String[size]));
         }
 
+        if (child instanceof XPathWebElementSelector) {
+            String[] xpaths = toXPaths();
+
+            return xpaths != null ? new XPathWebElementSelector(xpaths).combine(child) : null;
+        }
+
         return null;
     }
 
+    /**
+     * Translates the CSS selectors to XPath queries.
+     *
+     * @return the XPath queries, null if one of the CSS selectors cannot be translated
+     */
+    public String[] toXPaths() {
+        List<String> xpaths = new ArrayList<>();
+
+        for (String cssSelector : cssSelectors) {
+            for (String singleCssSelector : cssSelector.split(",")) {
+                String xpath = XPathWebElementSelector.fromCss(singleCssSelector);
+
+                if (xpath == null) {
+                    return null;
+                }
+
+                xpaths.add(xpath);
+            }
+        }
+
+        return xpaths.toArray(String[]::new);
+    }
+
     private By byCss() {
         if (by == null) {
             by = By.cssSelector(toCssString());
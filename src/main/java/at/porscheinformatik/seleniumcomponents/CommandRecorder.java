@@ -0,0 +1,280 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Records the WebDriver commands sent by the current thread, while it is open. Needs a driver created by the
+ * {@link RecordingWebDriverFactory}. Recorders can be nested, each open recorder of the thread records the command.
+ * Commands of other threads (e.g. of {@link SeleniumUtils#parallel(int, int, double, java.util.concurrent.Callable)})
+ * are not recorded.
+ *
+ * <pre>
+ * try (CommandRecorder recorder = CommandRecorder.start()) {
+ *     datagrid.getEntries();
+ *
+ *     System.out.println(recorder.describe());
+ * }
+ * </pre>
+ *
+ * @author agent
+ */
+public final class CommandRecorder implements AutoCloseable {
+
+    private static final ThreadLocal<Deque<CommandRecorder>> ACTIVE = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * The estimated size of a reference to an element.
+     */
+    private static final int ELEMENT_REFERENCE_SIZE = 64;
+
+    /**
+     * Methods of a decorated driver, that are answered locally, without a command sent to the browser. Includes the
+     * accessors of the RemoteWebDriver and the RemoteWebElement, that return values cached by the client.
+     */
+    private static final Set<String> LOCAL_METHODS = Set.of(
+        "equals",
+        "hashCode",
+        "toString",
+        "getWrappedDriver",
+        "getWrappedElement",
+        "getOriginal",
+        "getDecorator",
+        "manage",
+        "navigate",
+        "switchTo",
+        "timeouts",
+        "window",
+        "logs",
+        "getCapabilities",
+        "getSessionId",
+        "getCommandExecutor",
+        "getErrorHandler",
+        "setErrorHandler",
+        "getFileDetector",
+        "setFileDetector",
+        "getId",
+        "toJson",
+        "getCoordinates",
+        "pin",
+        "unpin",
+        "getPinnedScripts",
+        "getDevTools",
+        "maybeGetDevTools",
+        "getBiDi",
+        "maybeGetBiDi"
+    );
+
+    /**
+     * One command.
+     *
+     * @param name the name of the command, like "findElement"
+     * @param durationNanos the duration of the round trip
+     * @param payloadSize the estimated size of the arguments and the result in characters
+     * @param failure the exception, if the command failed, null otherwise
+     */
+    public record Command(String name, long durationNanos, long payloadSize, Throwable failure) {
+        /**
+         * @return the duration of the round trip in milliseconds
+         */
+        public double durationMillis() {
+            return durationNanos / 1_000_000d;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "%s (%,.1f ms, %,d chars)%s",
+                name,
+                durationMillis(),
+                payloadSize,
+                failure != null ? " failed: " + failure.getClass().getSimpleName() : ""
+            );
+        }
+    }
+
+    private final List<Command> commands = new ArrayList<>();
+
+    private CommandRecorder() {
+        super();
+    }
+
+    /**
+     * Starts recording the commands of the current thread. Close the recorder to stop.
+     *
+     * @return the recorder
+     */
+    public static CommandRecorder start() {
+        CommandRecorder recorder = new CommandRecorder();
+
+        ACTIVE.get().push(recorder);
+
+        return recorder;
+    }
+
+    /**
+     * Returns true if a recorder is open in the current thread. The decorated driver estimates payload sizes only in
+     * this case.
+     *
+     * @return true if recording
+     */
+    static boolean isRecording() {
+        return !ACTIVE.get().isEmpty();
+    }
+
+    /**
+     * Returns true if the method of a decorated driver sends a command to the browser.
+     *
+     * @param method the method
+     * @return true if it is a round trip
+     */
+    static boolean isRoundTrip(Method method) {
+        return !LOCAL_METHODS.contains(method.getName());
+    }
+
+    /**
+     * Passes the command to all open recorders of the current thread.
+     *
+     * @param command the command
+     */
+    static void recordInCurrentThread(Command command) {
+        for (CommandRecorder recorder : ACTIVE.get()) {
+            recorder.commands.add(command);
+        }
+    }
+
+    /**
+     * @return the recorded commands, the oldest one first
+     */
+    public List<Command> getCommands() {
+        return List.copyOf(commands);
+    }
+
+    /**
+     * @return the number of round trips to the browser
+     */
+    public int getRoundTrips() {
+        return commands.size();
+    }
+
+    /**
+     * @return the duration of all round trips in milliseconds
+     */
+    public double getTotalMillis() {
+        return commands.stream().mapToLong(Command::durationNanos).sum() / 1_000_000d;
+    }
+
+    /**
+     * @return the estimated size of all payloads in characters
+     */
+    public long getTotalPayloadSize() {
+        return commands.stream().mapToLong(Command::payloadSize).sum();
+    }
+
+    /**
+     * Removes all recorded commands.
+     */
+    public void clear() {
+        commands.clear();
+    }
+
+    /**
+     * Describes the commands, one per line.
+     *
+     * @return the description
+     */
+    public String describe() {
+        StringBuilder builder = new StringBuilder(
+            String.format(
+                "%d round trips (%,.1f ms, %,d chars)",
+                getRoundTrips(),
+                getTotalMillis(),
+                getTotalPayloadSize()
+            )
+        );
+
+        for (Command command : commands) {
+            builder.append(System.lineSeparator()).append("    ").append(command);
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Stops recording.
+     */
+    @Override
+    public void close() {
+        Deque<CommandRecorder> recorders = ACTIVE.get();
+
+        recorders.remove(this);
+
+        if (recorders.isEmpty()) {
+            ACTIVE.remove();
+        }
+    }
+
+    /**
+     * Estimates the size of the value when sent over the wire, in characters.
+     *
+     * @param value the value
+     * @return the estimated size
+     */
+    static long estimateSize(Object value) {
+        if (value == null) {
+            return 4;
+        }
+
+        if (value instanceof CharSequence sequence) {
+            return sequence.length() + 2;
+        }
+
+        if (value instanceof WebElement) {
+            return ELEMENT_REFERENCE_SIZE;
+        }
+
+        if (value instanceof Collection<?> collection) {
+            long size = 2;
+
+            for (Object item : collection) {
+                size += estimateSize(item) + 1;
+            }
+
+            return size;
+        }
+
+        if (value instanceof Map<?, ?> map) {
+            long size = 2;
+
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += estimateSize(entry.getKey()) + estimateSize(entry.getValue()) + 2;
+            }
+
+            return size;
+        }
+
+        if (value instanceof Object[] array) {
+            return estimateSize(Arrays.asList(array));
+        }
+
+        if (value instanceof byte[] bytes) {
+            // binary data is sent as Base64
+            return (bytes.length + 2) / 3 * 4L;
+        }
+
+        return String.valueOf(value).length();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CommandRecorder [roundTrips=%d]", getRoundTrips());
+    }
+}
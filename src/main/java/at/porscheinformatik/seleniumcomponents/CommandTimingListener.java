@@ -0,0 +1,184 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * Measures the commands of a decorated driver for the {@link SeleniumMetrics}, the {@link SeleniumTraceRecorder}, the
+ * {@link SeleniumManagement}, the {@link SeleniumJfrEvents} and, if the driver has been created by the
+ * {@link RecordingWebDriverFactory}, for the {@link CommandRecorder}s. A driver gets decorated only once, the
+ * measurement serves all of them.
+ * The decorator calls the listener in the thread of the command, commands of one thread do not overlap, but the stack
+ * keeps the measurement correct, if they do.
+ *
+ * @author agent
+ */
+final class CommandTimingListener implements WebDriverListener {
+
+    private final ThreadLocal<Deque<Start>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private volatile boolean recording;
+
+    /**
+     * The start of a running command.
+     *
+     * @param nanos the start in nanos
+     * @param argsSize the estimated size of the arguments, 0 if not recording
+     * @param jfrEvent the event, null if not enabled
+     */
+    private record Start(long nanos, long argsSize, SeleniumJfrEvents.CommandEvent jfrEvent) {}
+
+    /**
+     * The decorator of the listener, it identifies decorated drivers.
+     */
+    private static final class TimingDecorator extends EventFiringDecorator<WebDriver> {
+
+        private final CommandTimingListener listener;
+
+        TimingDecorator(CommandTimingListener listener) {
+            super(listener);
+
+            this.listener = listener;
+        }
+    }
+
+    private CommandTimingListener(boolean recording) {
+        super();
+
+        this.recording = recording;
+    }
+
+    /**
+     * Decorates the driver, if the {@link SeleniumMetrics}, the {@link SeleniumTraceRecorder}, the
+     * {@link SeleniumManagement} or the command events of the {@link SeleniumJfrEvents} are enabled and the driver is
+     * not decorated already.
+     *
+     * @param driver the driver
+     * @return the decorated driver, the driver itself if neither is enabled
+     */
+    static WebDriver decorateIfEnabled(WebDriver driver) {
+        return SeleniumGlobals.isMetrics() ||
+            SeleniumGlobals.isTracing() ||
+            SeleniumGlobals.isManagement() ||
+            SeleniumJfrEvents.isCommandEnabled()
+            ? decorate(driver, false)
+            : driver;
+    }
+
+    /**
+     * Decorates the driver, if it is not decorated already.
+     *
+     * @param driver the driver
+     * @param recording true if the driver passes its commands to the {@link CommandRecorder}s
+     * @return the decorated driver
+     */
+    static WebDriver decorate(WebDriver driver, boolean recording) {
+        CommandTimingListener listener = listenerOf(driver);
+
+        if (listener != null) {
+            if (recording) {
+                listener.recording = true;
+            }
+
+            return driver;
+        }
+
+        return new TimingDecorator(new CommandTimingListener(recording)).decorate(driver);
+    }
+
+    /**
+     * Returns true if the driver passes its commands to the {@link CommandRecorder}s.
+     *
+     * @param driver the driver
+     * @return true if recording
+     */
+    static boolean isRecording(WebDriver driver) {
+        CommandTimingListener listener = listenerOf(driver);
+
+        return listener != null && listener.recording;
+    }
+
+    private static CommandTimingListener listenerOf(WebDriver driver) {
+        Object current = driver;
+
+        // other decorators may wrap the decorated driver
+        while (current instanceof Decorated<?> decorated) {
+            if (decorated.getDecorator() instanceof TimingDecorator decorator) {
+                return decorator.listener;
+            }
+
+            current = decorated.getOriginal();
+        }
+
+        return null;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (CommandRecorder.isRoundTrip(method)) {
+            // the size of the arguments is estimated before the call, the result is added afterwards
+            long argsSize = args != null && isRecordingCommands() ? CommandRecorder.estimateSize(args) : 0;
+
+            starts.get().push(new Start(System.nanoTime(), argsSize, SeleniumJfrEvents.beginCommand()));
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        if (CommandRecorder.isRoundTrip(method)) {
+            finish(method, isRecordingCommands() ? CommandRecorder.estimateSize(result) : 0, null);
+        }
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        if (CommandRecorder.isRoundTrip(method)) {
+            finish(method, 0, e.getCause() != null ? e.getCause() : e);
+        }
+    }
+
+    private boolean isRecordingCommands() {
+        return recording && CommandRecorder.isRecording();
+    }
+
+    private void finish(Method method, long resultSize, Throwable failure) {
+        Start start = starts.get().poll();
+
+        if (start == null) {
+            return;
+        }
+
+        long endNanos = System.nanoTime();
+
+        SeleniumJfrEvents.commitCommand(start.jfrEvent(), method.getName(), failure);
+
+        if (isRecordingCommands()) {
+            CommandRecorder.recordInCurrentThread(
+                new CommandRecorder.Command(
+                    method.getName(),
+                    endNanos - start.nanos(),
+                    start.argsSize() + resultSize,
+                    failure
+                )
+            );
+        }
+
+        if (SeleniumGlobals.isMetrics()) {
+            SeleniumMetrics.recordCommand(method.getName(), endNanos - start.nanos(), failure == null);
+        }
+
+        if (SeleniumGlobals.isTracing()) {
+            SeleniumTraceRecorder.record(method.getName(), "command", start.nanos(), endNanos, null);
+        }
+
+        if (SeleniumGlobals.isManagement()) {
+            SeleniumManagement.recordCommand(method.getName());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package at.porscheinformatik.seleniumcomponents;
 
+import java.util.concurrent.atomic.AtomicLong;
 import org.openqa.selenium.WebDriver;
 
 /**
@@ -11,6 +12,8 @@ public class DefaultSeleniumEnvironment implements SeleniumEnvironment {
 
     private final WebDriverFactory driverFactory;
     private final String sessionName;
+    private final AtomicLong generation = new AtomicLong();
+    private final SeleniumFlightRecorder flightRecorder;
 
     private WebDriver driver;
 
@@ -19,7 +22,17 @@ public class DefaultSeleniumEnvironment implements SeleniumEnvironment {
         this.driverFactory = driverFactory;
         this.sessionName = sessionName;
 
+        int flightRecorderSize = SeleniumGlobals.getFlightRecorderSize();
+
+        flightRecorder = flightRecorderSize > 0 ? new SeleniumFlightRecorder(flightRecorderSize) : null;
+
+        SeleniumFlightRecorder.bind(flightRecorder);
+
         driver = buildDriver();
+
+        if (SeleniumGlobals.isManagement()) {
+            SeleniumManagement.registerEnvironment(this);
+        }
     }
 
     @Override
@@ -27,14 +40,37 @@ public class DefaultSeleniumEnvironment implements SeleniumEnvironment {
         return driver;
     }
 
+    @Override
+    public SeleniumFlightRecorder getFlightRecorder() {
+        return flightRecorder;
+    }
+
+    @Override
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    @Override
+    public void nextGeneration() {
+        generation.incrementAndGet();
+    }
+
     @Override
     public String getMessage(String key, Object... args) {
         return null;
     }
 
+    @Override
+    public void quit() {
+        SeleniumManagement.unregisterEnvironment(this);
+
+        SeleniumEnvironment.super.quit();
+    }
+
     @Override
     public void restart() {
         getDriver().quit();
+        nextGeneration();
 
         SeleniumUtils.waitForSeconds(5);
 
@@ -48,8 +84,19 @@ public class DefaultSeleniumEnvironment implements SeleniumEnvironment {
          *  When running on the server with browserstack it happens from time to time that browserstack is not reachable and a exception is thrown.
          *  Wait some time and try it again. Hopefully it works then.
          */
-        return SeleniumUtils.keepTrying(SeleniumGlobals.getLongTimeoutInSeconds(), () ->
+        WebDriver driver = SeleniumUtils.keepTrying(SeleniumGlobals.getLongTimeoutInSeconds(), () ->
             driverFactory.createWebDriver(sessionName)
         );
+
+        return CommandTimingListener.decorateIfEnabled(driver);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "DefaultSeleniumEnvironment [sessionName=%s, generation=%d]",
+            sessionName,
+            generation.get()
+        );
     }
 }
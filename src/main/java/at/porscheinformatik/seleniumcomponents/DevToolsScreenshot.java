@@ -0,0 +1,147 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+/**
+ * Takes compressed screenshots within Chromium based browsers (Chrome, Edge) by the DevTools command
+ * "Page.captureScreenshot". The browser encodes the JPEG, thus the transferred image is small and there is no need to
+ * convert a PNG in Java. Supported by all drivers implementing {@link HasCdp}, e.g. the drivers of the
+ * {@link at.porscheinformatik.seleniumcomponents.driver.ChromeWebDriverFactory} and the
+ * {@link at.porscheinformatik.seleniumcomponents.driver.EdgeWebDriverFactory}. Can be disabled by
+ * {@link SeleniumGlobals#setDevToolsScreenshots(boolean)}.
+ *
+ * @author agent
+ */
+public final class DevToolsScreenshot {
+
+    /**
+     * The JPEG quality of the first attempt.
+     */
+    public static final int DEFAULT_QUALITY = 60;
+
+    private static final SeleniumLogger LOG = new SeleniumLogger(DevToolsScreenshot.class);
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private DevToolsScreenshot() {
+        super();
+    }
+
+    /**
+     * Returns true if the driver supports DevTools screenshots and they are enabled.
+     *
+     * @param driver the driver
+     * @return true if supported
+     */
+    public static boolean isSupported(WebDriver driver) {
+        return SeleniumGlobals.isDevToolsScreenshots() && driver instanceof HasCdp;
+    }
+
+    /**
+     * Captures a screenshot.
+     *
+     * @param driver the driver, must implement {@link HasCdp}
+     * @param format the format, "jpeg", "png" or "webp"
+     * @param quality the quality (0 - 100), ignored for PNGs
+     * @param clip the area in CSS pixels of the page, null for the viewport
+     * @param scale the scale of the image, needs a clip
+     * @return the image
+     * @throws WebDriverException if the command fails
+     */
+    public static byte[] capture(WebDriver driver, String format, int quality, Rectangle clip, double scale)
+        throws WebDriverException {
+        Map<String, Object> parameters = new HashMap<>();
+
+        parameters.put("format", format);
+
+        if (!"png".equals(format)) {
+            parameters.put("quality", quality);
+        }
+
+        if (clip != null) {
+            parameters.put(
+                "clip",
+                Map.of(
+                    "x",
+                    clip.getX(),
+                    "y",
+                    clip.getY(),
+                    "width",
+                    clip.getWidth(),
+                    "height",
+                    clip.getHeight(),
+                    "scale",
+                    scale
+                )
+            );
+            parameters.put("captureBeyondViewport", true);
+        }
+
+        Map<String, Object> result = ((HasCdp) driver).executeCdpCommand("Page.captureScreenshot", parameters);
+
+        return Base64.getDecoder().decode((String) result.get("data"));
+    }
+
+    /**
+     * Captures a JPEG screenshot as data URI, that is shorter than the {@link ScreenshotEncoder#IMAGE_SIZE_THRESHOLD}.
+     * If the first attempt is too large, the browser downscales the image. Falls back to the {@link ScreenshotEncoder}
+     * if this does not help.
+     *
+     * @param driver the driver
+     * @param clip the area in CSS pixels of the page, null for the viewport
+     * @return the data URI, null if not supported or if it failed
+     */
+    public static String captureLowQualityBase64(WebDriver driver, Rectangle clip) {
+        if (!isSupported(driver)) {
+            return null;
+        }
+
+        try {
+            double scale = 1;
+            byte[] jpg = null;
+
+            for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+                jpg = capture(driver, "jpeg", DEFAULT_QUALITY, clip, scale);
+
+                int length = ScreenshotEncoder.dataUriLength(ScreenshotEncoder.JPG_PREFIX, jpg.length);
+
+                if (length < ScreenshotEncoder.IMAGE_SIZE_THRESHOLD) {
+                    return ScreenshotEncoder.toDataUri(ScreenshotEncoder.JPG_PREFIX, jpg);
+                }
+
+                // the size of the image is roughly proportional to the number of pixels
+                scale *= Math.sqrt((double) ScreenshotEncoder.IMAGE_SIZE_THRESHOLD / length) * 0.9;
+
+                if (clip == null) {
+                    // the browser can scale clips only
+                    clip = viewport(driver);
+                }
+            }
+
+            return ScreenshotEncoder.toLowQualityBase64(jpg);
+        } catch (WebDriverException | ClassCastException e) {
+            LOG.debug("Failed to capture screenshot by DevTools, falling back to WebDriver: %s", e.getMessage());
+
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Rectangle viewport(WebDriver driver) {
+        Map<String, Object> metrics = ((HasCdp) driver).executeCdpCommand("Page.getLayoutMetrics", Map.of());
+        Map<String, Object> viewport = (Map<String, Object>) metrics.get("cssVisualViewport");
+
+        return new Rectangle(
+            ((Number) viewport.get("pageX")).intValue(),
+            ((Number) viewport.get("pageY")).intValue(),
+            ((Number) viewport.get("clientHeight")).intValue(),
+            ((Number) viewport.get("clientWidth")).intValue()
+        );
+    }
+}
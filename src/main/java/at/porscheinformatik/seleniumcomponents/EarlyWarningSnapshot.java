@@ -0,0 +1,287 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import org.openqa.selenium.WebElement;
+
+/**
+ * A diagnostic of a slow wait. When a wait has used the {@link SeleniumGlobals#getEarlyWarningFraction()} of its
+ * budget, the snapshot gets captured after the next failed poll: the outerHTML of the subject of the wait (or of its
+ * nearest existing parent), the {@link ElementState} of the subject and optionally a screenshot of it (see
+ * {@link SeleniumGlobals#isEarlyWarningScreenshot()}). If the wait fails, the snapshot gets attached to the failure as
+ * suppressed exception. This shows the DOM in the middle of the wait, instead of just the final state after the
+ * timeout.<br>
+ * <br>
+ * The snapshot is taken by the outermost wait of a thread, only. The subject is the tested component of
+ * {@link SeleniumAsserts#assertThatSoon(FailableSupplier, org.hamcrest.Matcher)} or the parent of a component, that
+ * waits for its element. The snapshot is captured by the waiting thread between two polls, thus the commands of the
+ * snapshot never overlap with the commands of the wait and they are part of its duration.
+ *
+ * @author agent
+ */
+public final class EarlyWarningSnapshot {
+
+    /**
+     * Creates a {@link Trigger} for each outermost keepTrying wait, registered by the {@link SeleniumGlobals} while the
+     * early warning is enabled.
+     */
+    static final SeleniumEventListener LISTENER = new SeleniumEventListener() {
+        @Override
+        public void onEvent(SeleniumEvent event) {
+            // only the waits are of interest
+        }
+
+        @Override
+        public SeleniumWaitListener onWaitStart(SeleniumWait wait) {
+            // nested waits are covered by the snapshot of the outermost one
+            return SeleniumGlobals.isEarlyWarning() &&
+                wait.getType() == SeleniumWait.Type.KEEP_TRYING &&
+                wait.isOutermost()
+                ? new Trigger()
+                : null;
+        }
+    };
+
+    private static final SeleniumLogger LOG = new SeleniumLogger(EarlyWarningSnapshot.class);
+
+    /**
+     * The maximum length of the captured outerHTML.
+     */
+    public static final int MAX_HTML_LENGTH = 16384;
+
+    private static final int MAX_PARENT_DEPTH = 16;
+
+    private final String callLine;
+    private final long elapsedMillis;
+    private final long budgetMillis;
+    private final String subject;
+    private final String htmlSource;
+    private final String html;
+    private final ElementState state;
+    private final String screenshot;
+
+    /**
+     * The snapshot of one wait. It is used by the thread of the wait, only.
+     */
+    public static final class Trigger implements SeleniumWaitListener {
+
+        private boolean captured = false;
+        private EarlyWarningSnapshot snapshot;
+
+        private Trigger() {
+            super();
+        }
+
+        /**
+         * Captures the snapshot after a failed poll, if the fraction of the budget has passed and it has not been
+         * captured yet.
+         */
+        @Override
+        public void onPoll(SeleniumWait wait, long startNanos, long endNanos, boolean successful) {
+            if (successful || captured) {
+                return;
+            }
+
+            long budgetMillis = wait.getEndMillis() - wait.getStartMillis();
+            long dueMillis = wait.getStartMillis() + (long) (budgetMillis * SeleniumGlobals.getEarlyWarningFraction());
+
+            if (System.currentTimeMillis() < dueMillis) {
+                return;
+            }
+
+            captured = true;
+
+            try {
+                snapshot = capture(wait, wait.getSubject());
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to capture early warning snapshot", e);
+            }
+        }
+
+        /**
+         * Attaches the snapshot to the failure of the wait.
+         */
+        @Override
+        public void onEnd(SeleniumWait wait, Throwable failure) {
+            if (failure != null) {
+                attachTo(failure);
+            }
+        }
+
+        /**
+         * @return the snapshot, null if it has not been captured
+         */
+        public EarlyWarningSnapshot getSnapshot() {
+            return snapshot;
+        }
+
+        /**
+         * Attaches the snapshot to the failure of the wait, if it has been captured.
+         *
+         * @param failure the failure
+         */
+        public void attachTo(Throwable failure) {
+            if (snapshot != null) {
+                failure.addSuppressed(new SeleniumException(snapshot.toString()));
+            }
+        }
+    }
+
+    private EarlyWarningSnapshot(
+        String callLine,
+        long elapsedMillis,
+        long budgetMillis,
+        String subject,
+        String htmlSource,
+        String html,
+        ElementState state,
+        String screenshot
+    ) {
+        super();
+
+        this.callLine = callLine;
+        this.elapsedMillis = elapsedMillis;
+        this.budgetMillis = budgetMillis;
+        this.subject = subject;
+        this.htmlSource = htmlSource;
+        this.html = html;
+        this.state = state;
+        this.screenshot = screenshot;
+    }
+
+    private static EarlyWarningSnapshot capture(SeleniumWait wait, SeleniumComponent component) {
+        if (component == null) {
+            return null;
+        }
+
+        long elapsedMillis = System.currentTimeMillis() - wait.getStartMillis();
+        SeleniumComponent htmlSource = component;
+        String html = null;
+
+        try {
+            for (int depth = 0; htmlSource != null && depth < MAX_PARENT_DEPTH; depth++) {
+                WebElement element = htmlSource.tryElement();
+
+                if (element != null) {
+                    html = truncate(element.getDomProperty("outerHTML"));
+                    break;
+                }
+
+                htmlSource = htmlSource.parent();
+            }
+        } catch (Exception e) {
+            LOG.warn("Failed to capture outerHTML of %s", e, component.describe());
+        }
+
+        ElementState state = null;
+
+        if (component instanceof ActiveSeleniumComponent activeComponent) {
+            try {
+                state = activeComponent.probeState();
+            } catch (Exception e) {
+                LOG.warn("Failed to probe state of %s", e, component.describe());
+            }
+        }
+
+        String screenshot = SeleniumGlobals.isEarlyWarningScreenshot() ? component.takeScreenshot() : null;
+
+        return new EarlyWarningSnapshot(
+            wait.getCallLine(),
+            elapsedMillis,
+            wait.getEndMillis() - wait.getStartMillis(),
+            component.describe(),
+            html != null && htmlSource != component ? htmlSource.describe() : null,
+            html,
+            state,
+            screenshot
+        );
+    }
+
+    private static String truncate(String html) {
+        if (html == null || html.length() <= MAX_HTML_LENGTH) {
+            return html;
+        }
+
+        return html.substring(0, MAX_HTML_LENGTH) + "... (" + (html.length() - MAX_HTML_LENGTH) + " more characters)";
+    }
+
+    /**
+     * @return the call line of the wait
+     */
+    public String getCallLine() {
+        return callLine;
+    }
+
+    /**
+     * @return the time elapsed, when the snapshot has been captured
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return the budget of the wait
+     */
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    /**
+     * @return the description of the subject of the wait
+     */
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * @return the outerHTML of the subject or of its nearest existing parent, null if nothing exists
+     */
+    public String getHtml() {
+        return html;
+    }
+
+    /**
+     * @return the state of the subject, null if it is no {@link ActiveSeleniumComponent}
+     */
+    public ElementState getState() {
+        return state;
+    }
+
+    /**
+     * @return the screenshot of the subject as Base64 image or path to the file, null if not taken
+     */
+    public String getScreenshot() {
+        return screenshot;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+
+        builder.append(
+            String.format(
+                "Early warning at %,.1f of %,.1f seconds: %s%n  at %s",
+                elapsedMillis / 1000d,
+                budgetMillis / 1000d,
+                subject,
+                callLine
+            )
+        );
+
+        if (state != null) {
+            builder.append(String.format("%n  state: %s", state));
+        }
+
+        if (html == null) {
+            builder.append(String.format("%n  html: not present"));
+        } else if (htmlSource != null) {
+            builder.append(String.format("%n  html of %s: %s", htmlSource, html));
+        } else {
+            builder.append(String.format("%n  html: %s", html));
+        }
+
+        if (screenshot != null) {
+            builder.append(String.format("%n  screenshot: %s", screenshot));
+        }
+
+        return builder.toString();
+    }
+}
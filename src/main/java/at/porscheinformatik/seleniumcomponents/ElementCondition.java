@@ -0,0 +1,71 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.util.List;
+
+/**
+ * A condition of an element, that can be evaluated by the browser. Used by the {@link ElementConditionWaiter} to wait
+ * for a state change of an element without polling.
+ *
+ * @param name the name of the condition, as known by the script of the {@link ElementConditionWaiter}
+ * @param argument the argument of the condition, may be null
+ * @param negated true if the condition is negated
+ * @author agent
+ */
+public record ElementCondition(String name, String argument, boolean negated) {
+    /**
+     * @return a condition, that holds if the element is displayed
+     */
+    public static ElementCondition displayed() {
+        return new ElementCondition("displayed", null, false);
+    }
+
+    /**
+     * @return a condition, that holds if the element is no disabled form control
+     */
+    public static ElementCondition enabled() {
+        return new ElementCondition("enabled", null, false);
+    }
+
+    /**
+     * @return a condition, that holds if the element is a checked checkbox or radio button, or a selected option
+     */
+    public static ElementCondition selected() {
+        return new ElementCondition("selected", null, false);
+    }
+
+    /**
+     * @return a condition, that holds if the element is displayed and enabled
+     */
+    public static ElementCondition clickable() {
+        return new ElementCondition("clickable", null, false);
+    }
+
+    /**
+     * @param text the text
+     * @return a condition, that holds if the visible text of the element contains the text (case insensitive)
+     */
+    public static ElementCondition containsText(String text) {
+        return new ElementCondition("containsText", text, false);
+    }
+
+    /**
+     * @return the negated condition
+     */
+    public ElementCondition not() {
+        return new ElementCondition(name, argument, !negated);
+    }
+
+    /**
+     * @return the condition as argument for the script
+     */
+    List<Object> toArgument() {
+        return List.of(name, argument != null ? argument : "", negated);
+    }
+
+    @Override
+    public String toString() {
+        String description = argument != null ? String.format("%s(\"%s\")", name, argument) : name;
+
+        return negated ? "not " + description : description;
+    }
+}
@@ -0,0 +1,129 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Waits for an {@link ElementCondition} inside the browser. The script installs a MutationObserver on the element (and
+ * on the attributes of its ancestors) and returns as soon as the condition holds. Changes without mutations (e.g. by
+ * CSS transitions) are detected by checking the condition every 250 ms within the browser. This replaces multiple
+ * polling roundtrips by one asynchronous script call. The displayed condition uses the isDisplayed atom of Selenium,
+ * like {@link WebElement#isDisplayed()} does, and an approximation, if the atom is missing.<br>
+ * <br>
+ * The result of the waiter is just a hint. The caller has to check the condition on its own afterwards, e.g. the
+ * {@link SeleniumAsserts} call the matcher again.
+ *
+ * @author agent
+ */
+public final class ElementConditionWaiter {
+
+    /**
+     * The maximum time of one script call, keeps it well below the script timeout of the driver and limits the delay,
+     * if the condition in the browser differs from the one in Java.
+     */
+    private static final long MAX_WAIT_MILLIS = 1000;
+
+    private static final SeleniumLogger LOG = new SeleniumLogger(ElementConditionWaiter.class);
+
+    private static final String SCRIPT =
+        "var isDisplayed = " +
+        (ElementState.IS_DISPLAYED_ATOM != null ? ElementState.IS_DISPLAYED_ATOM : "null") +
+        ";\n" +
+        """
+        var elem = arguments[0], condition = arguments[1], timeout = arguments[2];
+        var done = arguments[arguments.length - 1];
+        var name = condition[0], argument = condition[1].toLowerCase(), negated = condition[2];
+        var finished = false, observer, interval, timer;
+        function displayed() {
+            if (isDisplayed) return isDisplayed(elem);
+            if (elem.checkVisibility && !elem.checkVisibility({ opacityProperty: true, visibilityProperty: true })) {
+                return false;
+            }
+            return elem.getClientRects().length > 0;
+        }
+        function check() {
+            var result;
+            switch (name) {
+                case 'displayed': result = displayed(); break;
+                case 'enabled': result = !elem.matches(':disabled'); break;
+                case 'selected': result = elem.matches(':checked'); break;
+                case 'clickable': result = displayed() && !elem.matches(':disabled'); break;
+                case 'containsText':
+                    result = (elem.innerText || elem.textContent || '').toLowerCase().indexOf(argument) >= 0;
+                    break;
+                default: result = false;
+            }
+            return result !== negated;
+        }
+        function finish(result) {
+            if (finished) return;
+            finished = true;
+            if (observer) observer.disconnect();
+            clearInterval(interval);
+            clearTimeout(timer);
+            done(result);
+        }
+        function recheck() {
+            if (!elem.isConnected) finish(false);
+            else if (check()) finish(true);
+        }
+        recheck();
+        if (finished) return;
+        observer = new MutationObserver(recheck);
+        observer.observe(elem, { subtree: true, childList: true, attributes: true, characterData: true });
+        for (var parent = elem.parentElement; parent; parent = parent.parentElement) {
+            observer.observe(parent, { attributes: true });
+        }
+        interval = setInterval(recheck, 250);
+        timer = setTimeout(function () { finish(false); }, timeout);""";
+
+    private ElementConditionWaiter() {
+        super();
+    }
+
+    /**
+     * Waits until the condition holds for the element of the component. Returns immediately, if the condition already
+     * holds. Does not wait, if the element does not exist or the driver does not support scripts. Waits at most one
+     * second, even if the timeout is longer.
+     *
+     * @param component the component
+     * @param condition the condition
+     * @param timeoutMillis the timeout in milliseconds
+     * @return true if the condition held in the browser, false if it did not hold in time or if waiting was not
+     * possible
+     */
+    public static boolean await(SeleniumComponent component, ElementCondition condition, long timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            return false;
+        }
+
+        WebDriver driver = component.environment().getDriver();
+
+        if (!(driver instanceof JavascriptExecutor executor)) {
+            return false;
+        }
+
+        WebElement element = component.tryElement();
+
+        if (element == null) {
+            return false;
+        }
+
+        try {
+            Object result = executor.executeAsyncScript(
+                SCRIPT,
+                element,
+                condition.toArgument(),
+                Math.min(timeoutMillis, MAX_WAIT_MILLIS)
+            );
+
+            return Boolean.TRUE.equals(result);
+        } catch (WebDriverException e) {
+            LOG.trace("Waiting for %s of %s failed: %s", condition, component.describe(), e.getMessage());
+
+            return false;
+        }
+    }
+}
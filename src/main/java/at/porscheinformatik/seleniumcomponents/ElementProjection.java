@@ -0,0 +1,150 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Describes the properties of elements, that should be fetched together with the elements themselves, when calling
+ * {@link SeleniumComponentListFactory#findAll(ElementProjection)}. The tag name is always part of the projection.
+ *
+ * @author agent
+ */
+public final class ElementProjection {
+
+    private static final ElementProjection EMPTY = new ElementProjection(false, false, false, false, Set.of());
+
+    /**
+     * Creates an empty projection, that fetches the tag name only.
+     *
+     * @return the projection
+     */
+    public static ElementProjection of() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a projection, that fetches the text, the displayed and the enabled flag.
+     *
+     * @return the projection
+     */
+    public static ElementProjection textAndState() {
+        return EMPTY.withText().withDisplayed().withEnabled();
+    }
+
+    private final boolean text;
+    private final boolean displayed;
+    private final boolean enabled;
+    private final boolean selected;
+    private final Set<String> attributes;
+
+    private ElementProjection(
+        boolean text,
+        boolean displayed,
+        boolean enabled,
+        boolean selected,
+        Set<String> attributes
+    ) {
+        super();
+        this.text = text;
+        this.displayed = displayed;
+        this.enabled = enabled;
+        this.selected = selected;
+        this.attributes = attributes;
+    }
+
+    /**
+     * @return a copy of this projection, that fetches the visible text, too
+     */
+    public ElementProjection withText() {
+        return new ElementProjection(true, displayed, enabled, selected, attributes);
+    }
+
+    /**
+     * @return a copy of this projection, that fetches the displayed flag, too
+     */
+    public ElementProjection withDisplayed() {
+        return new ElementProjection(text, true, enabled, selected, attributes);
+    }
+
+    /**
+     * @return a copy of this projection, that fetches the enabled flag, too
+     */
+    public ElementProjection withEnabled() {
+        return new ElementProjection(text, displayed, true, selected, attributes);
+    }
+
+    /**
+     * @return a copy of this projection, that fetches the selected flag, too
+     */
+    public ElementProjection withSelected() {
+        return new ElementProjection(text, displayed, enabled, true, attributes);
+    }
+
+    /**
+     * Returns a copy of this projection, that fetches the specified attributes, too. The "value", "checked" and
+     * "selected" attributes get read from the properties of the element, like Selenium does.
+     *
+     * @param names the names of the attributes
+     * @return the projection
+     */
+    public ElementProjection withAttributes(String... names) {
+        Set<String> allAttributes = new LinkedHashSet<>(attributes);
+
+        allAttributes.addAll(Arrays.asList(names));
+
+        return new ElementProjection(text, displayed, enabled, selected, Set.copyOf(allAttributes));
+    }
+
+    public boolean isText() {
+        return text;
+    }
+
+    public boolean isDisplayed() {
+        return displayed;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isSelected() {
+        return selected;
+    }
+
+    public Set<String> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * @return the projection as argument for the projection script
+     */
+    Map<String, Object> toArgument() {
+        return Map.of(
+            "text",
+            text,
+            "displayed",
+            displayed,
+            "enabled",
+            enabled,
+            "selected",
+            selected,
+            "attributes",
+            List.copyOf(attributes)
+        );
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "ElementProjection [text=%s, displayed=%s, enabled=%s, selected=%s, attributes=%s]",
+            text,
+            displayed,
+            enabled,
+            selected,
+            attributes
+        );
+    }
+}
@@ -0,0 +1,264 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.util.List;
+import java.util.Map;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+
+/**
+ * A {@link WebElement}, that answers the properties fetched by an {@link ElementProjection} from a snapshot, without
+ * contacting the browser. All other calls are delegated to the original element. The snapshot gets dropped on
+ * {@link #refresh()} and on any interaction (click, sendKeys, clear, submit).<br>
+ * <br>
+ * The text of the snapshot is the <code>innerText</code> of the element, normalized like the
+ * {@link WebElement#getText()} of Selenium: the lines get trimmed, non-breaking spaces become spaces and a hidden
+ * element has no text. Both collapse the white space by CSS and apply the <code>text-transform</code>. The text may
+ * still differ from the one of Selenium in corner cases, e.g. the indentation within <code>pre</code> elements gets
+ * trimmed. Call {@link #refresh()} before reading such texts.
+ *
+ * @author agent
+ */
+public final class ElementSnapshot implements WebElement, WrapsElement {
+
+    private final WebElement element;
+    private final ElementProjection projection;
+
+    private volatile Map<String, Object> values;
+
+    ElementSnapshot(WebElement element, ElementProjection projection, Map<String, Object> values) {
+        super();
+        this.element = element;
+        this.projection = projection;
+        this.values = values;
+    }
+
+    /**
+     * Drops the snapshot of the element of the specified component, if it has one. Afterwards all calls get delegated
+     * to the browser.
+     *
+     * @param component the component
+     */
+    public static void refresh(SeleniumComponent component) {
+        if (component.element() instanceof ElementSnapshot snapshot) {
+            snapshot.refresh();
+        }
+    }
+
+    /**
+     * Drops the snapshot. Afterwards all calls get delegated to the browser.
+     */
+    public void refresh() {
+        values = null;
+    }
+
+    /**
+     * @return true if the snapshot is still available
+     */
+    public boolean isSnapshot() {
+        return values != null;
+    }
+
+    public ElementProjection getProjection() {
+        return projection;
+    }
+
+    @Override
+    public WebElement getWrappedElement() {
+        return element;
+    }
+
+    @Override
+    public void click() {
+        refresh();
+        element.click();
+    }
+
+    @Override
+    public void submit() {
+        refresh();
+        element.submit();
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        refresh();
+        element.sendKeys(keysToSend);
+    }
+
+    @Override
+    public void clear() {
+        refresh();
+        element.clear();
+    }
+
+    @Override
+    public String getTagName() {
+        Map<String, Object> currentValues = values;
+
+        return currentValues != null ? (String) currentValues.get("tagName") : element.getTagName();
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        return element.getDomProperty(name);
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        return element.getDomAttribute(name);
+    }
+
+    @Override
+    @Deprecated
+    @SuppressWarnings("deprecation")
+    public String getAttribute(String name) {
+        Map<String, Object> currentValues = values;
+
+        if (currentValues != null && projection.getAttributes().contains(name)) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> attributes = (Map<String, Object>) currentValues.get("attributes");
+            Object value = attributes.get(name);
+
+            return value != null ? String.valueOf(value) : null;
+        }
+
+        return element.getAttribute(name);
+    }
+
+    @Override
+    public String getAriaRole() {
+        return element.getAriaRole();
+    }
+
+    @Override
+    public String getAccessibleName() {
+        return element.getAccessibleName();
+    }
+
+    @Override
+    public boolean isSelected() {
+        Map<String, Object> currentValues = values;
+
+        return currentValues != null && projection.isSelected()
+            ? Boolean.TRUE.equals(currentValues.get("selected"))
+            : element.isSelected();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        Map<String, Object> currentValues = values;
+
+        return currentValues != null && projection.isEnabled()
+            ? Boolean.TRUE.equals(currentValues.get("enabled"))
+            : element.isEnabled();
+    }
+
+    @Override
+    public String getText() {
+        Map<String, Object> currentValues = values;
+
+        return currentValues != null && projection.isText()
+            ? toVisibleText((String) currentValues.get("text"))
+            : element.getText();
+    }
+
+    /**
+     * Normalizes the <code>innerText</code> of an element like the {@link WebElement#getText()} of Selenium: trims
+     * each line and the text, but keeps non-breaking spaces, that become spaces afterwards.
+     *
+     * @param innerText the <code>innerText</code>, may be null
+     * @return the text, null if the <code>innerText</code> is null
+     */
+    static String toVisibleText(String innerText) {
+        if (innerText == null) {
+            return null;
+        }
+
+        String[] lines = innerText.split("\r?\n", -1);
+
+        for (int i = 0; i < lines.length; i++) {
+            // strip keeps the non-breaking spaces
+            lines[i] = lines[i].strip();
+        }
+
+        return String.join("\n", lines).strip().replace('\u00a0', ' ');
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return element.findElements(by);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return element.findElement(by);
+    }
+
+    @Override
+    public SearchContext getShadowRoot() {
+        return element.getShadowRoot();
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        Map<String, Object> currentValues = values;
+
+        return currentValues != null && projection.isDisplayed()
+            ? Boolean.TRUE.equals(currentValues.get("displayed"))
+            : element.isDisplayed();
+    }
+
+    @Override
+    public Point getLocation() {
+        return element.getLocation();
+    }
+
+    @Override
+    public Dimension getSize() {
+        return element.getSize();
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return element.getRect();
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return element.getCssValue(propertyName);
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) throws WebDriverException {
+        return element.getScreenshotAs(target);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        // unwraps like the RemoteWebElement does, thus a snapshot and its element are equal in both directions
+        Object other = obj;
+
+        while (other instanceof WrapsElement wrapper) {
+            other = wrapper.getWrappedElement();
+        }
+
+        return element.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return element.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ElementSnapshot [" + element + "]";
+    }
+}
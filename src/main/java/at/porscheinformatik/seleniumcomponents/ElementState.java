@@ -0,0 +1,196 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * The state of an element, fetched with one script call by {@link ActiveSeleniumComponent#probeState()}. The displayed
+ * flag is computed by the isDisplayed atom of Selenium, the same script {@link WebElement#isDisplayed()} executes for
+ * remote drivers. Thus options of closed selects, areas of image maps and elements without size, but with a visible
+ * overflow, are displayed exactly when Selenium says so.
+ *
+ * @param present true if the element exists, all other values are false or 0 otherwise
+ * @param displayed true if the element is displayed
+ * @param enabled true if the element is no disabled form control
+ * @param selected true if the element is a checked checkbox or radio button, or a selected option
+ * @param width the width of the element
+ * @param height the height of the element
+ * @param inViewport true if the center of the element is within the viewport
+ * @param obscured true if the center of the element is within the viewport, but covered by another element
+ * @author agent
+ */
+public record ElementState(
+    boolean present,
+    boolean displayed,
+    boolean enabled,
+    boolean selected,
+    int width,
+    int height,
+    boolean inViewport,
+    boolean obscured
+) {
+    /**
+     * The state of an element, that does not exist.
+     */
+    public static final ElementState NOT_PRESENT = new ElementState(false, false, false, false, 0, 0, false, false);
+
+    private static final SeleniumLogger LOG = new SeleniumLogger(ElementState.class);
+
+    /**
+     * The isDisplayed atom of Selenium, a function taking the element. Null, if the atom is missing on the classpath.
+     */
+    static final String IS_DISPLAYED_ATOM = loadAtom("/org/openqa/selenium/remote/isDisplayed.js");
+
+    private static final String SCRIPT =
+        "var isDisplayed = " +
+        (IS_DISPLAYED_ATOM != null ? IS_DISPLAYED_ATOM : "null") +
+        ";\n" +
+        """
+        var elem = arguments[0], box = elem.getBoundingClientRect();
+        var cx = box.left + box.width / 2, cy = box.top + box.height / 2;
+        var inViewport = cx >= 0 && cy >= 0 && cx < window.innerWidth && cy < window.innerHeight, covered = false;
+        if (inViewport) {
+            for (var e = document.elementFromPoint(cx, cy); e && !covered; e = e.parentElement) covered = e === elem;
+        }
+        return {
+            displayed: isDisplayed ? isDisplayed(elem) : null,
+            enabled: !elem.matches(':disabled'),
+            selected: elem.matches(':checked'),
+            width: Math.round(box.width),
+            height: Math.round(box.height),
+            inViewport: inViewport,
+            obscured: inViewport && !covered
+        };""";
+
+    private static final List<String> PREDICATES = List.of(
+        "isVisible",
+        "isEnabled",
+        "isDisabled",
+        "isSelected",
+        "isClickable",
+        "isEditable",
+        "isInteractable",
+        "isInViewport"
+    );
+
+    private static final ClassValue<Set<String>> DEFAULT_PREDICATES = new ClassValue<>() {
+        @Override
+        protected Set<String> computeValue(Class<?> type) {
+            Set<String> predicates = new HashSet<>();
+
+            for (String predicate : PREDICATES) {
+                try {
+                    Class<?> declaringClass = type.getMethod(predicate).getDeclaringClass();
+
+                    if (declaringClass == SeleniumComponent.class || declaringClass == ActiveSeleniumComponent.class) {
+                        predicates.add(predicate);
+                    }
+                } catch (NoSuchMethodException e) {
+                    // not a predicate of this type
+                }
+            }
+
+            return Set.copyOf(predicates);
+        }
+    };
+
+    /**
+     * Fetches the state of the element. Uses one script call if the driver supports scripts, calls the methods of the
+     * element otherwise (the viewport flags are false in this case). If the isDisplayed atom is missing, the displayed
+     * flag is fetched by {@link WebElement#isDisplayed()}.
+     *
+     * @param driver the driver
+     * @param element the element
+     * @return the state
+     */
+    public static ElementState probe(WebDriver driver, WebElement element) {
+        if (!(driver instanceof JavascriptExecutor executor)) {
+            Dimension size = element.getSize();
+
+            return new ElementState(
+                true,
+                element.isDisplayed(),
+                element.isEnabled(),
+                element.isSelected(),
+                size.getWidth(),
+                size.getHeight(),
+                false,
+                false
+            );
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> values = (Map<String, Object>) executor.executeScript(SCRIPT, element);
+
+        return new ElementState(
+            true,
+            values.get("displayed") instanceof Boolean displayed ? displayed : element.isDisplayed(),
+            Boolean.TRUE.equals(values.get("enabled")),
+            Boolean.TRUE.equals(values.get("selected")),
+            ((Number) values.get("width")).intValue(),
+            ((Number) values.get("height")).intValue(),
+            Boolean.TRUE.equals(values.get("inViewport")),
+            Boolean.TRUE.equals(values.get("obscured"))
+        );
+    }
+
+    private static String loadAtom(String resource) {
+        try (InputStream in = ElementState.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                LOG.warn("Missing Selenium atom %s, falling back to WebElement.isDisplayed()", resource);
+
+                return null;
+            }
+
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+        } catch (IOException e) {
+            LOG.warn("Failed to load Selenium atom %s, falling back to WebElement.isDisplayed()", e, resource);
+
+            return null;
+        }
+    }
+
+    /**
+     * @return true if the element has a size, that can be interacted with
+     */
+    public boolean isInteractable() {
+        return width > 0 && height > 0;
+    }
+
+    /**
+     * @return true if the element is displayed and enabled
+     */
+    public boolean isClickable() {
+        return displayed && enabled;
+    }
+
+    /**
+     * @return true if the center of the element is within the viewport and not covered by another element
+     */
+    public boolean isVisibleInViewport() {
+        return inViewport && !obscured;
+    }
+
+    /**
+     * Returns true if the specified predicates of the component are the default ones of {@link SeleniumComponent} and
+     * {@link ActiveSeleniumComponent}. Only then, they can be answered by a state probe, otherwise the overridden
+     * predicates have to be called.
+     *
+     * @param type the type of the component
+     * @param predicates the names of the predicates (like "isVisible")
+     * @return true if none of the predicates is overridden
+     */
+    static boolean hasDefaultPredicates(Class<?> type, String... predicates) {
+        return DEFAULT_PREDICATES.get(type).containsAll(Arrays.asList(predicates));
+    }
+}
@@ -0,0 +1,171 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies with logarithmic buckets, similar to an HDR histogram. Each power of two is split
+ * into {@value #SUB_BUCKET_COUNT} linear buckets, thus percentiles have a relative error of about 6%. Values are
+ * recorded in microseconds, up to about 2^40 microseconds (12 days).
+ *
+ * @author agent
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Long::max, 0);
+
+    /**
+     * Records a latency.
+     *
+     * @param durationNanos the latency in nanoseconds
+     */
+    public void record(long durationNanos) {
+        long micros = Math.max(0, durationNanos / 1000);
+
+        buckets.incrementAndGet(indexOf(micros));
+        count.increment();
+        sumMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    /**
+     * @return the number of recorded latencies
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return the sum of all latencies in milliseconds
+     */
+    public double getTotalMillis() {
+        return sumMicros.sum() / 1000d;
+    }
+
+    /**
+     * @return the mean latency in milliseconds, 0 if nothing has been recorded
+     */
+    public double getMeanMillis() {
+        long currentCount = count.sum();
+
+        return currentCount > 0 ? sumMicros.sum() / 1000d / currentCount : 0;
+    }
+
+    /**
+     * @return the maximum latency in milliseconds
+     */
+    public double getMaxMillis() {
+        return maxMicros.get() / 1000d;
+    }
+
+    /**
+     * Returns the latency, that is not exceeded by the specified percentage of all recorded latencies. The result is
+     * the upper bound of the bucket, but never more than the maximum.
+     *
+     * @param percentile the percentile, 0 - 100
+     * @return the latency in milliseconds, 0 if nothing has been recorded
+     */
+    public double getPercentileMillis(double percentile) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+
+        // the buckets may change while reading, use a consistent copy
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+
+        if (total == 0) {
+            return 0;
+        }
+
+        long threshold = Math.max(1, (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100));
+        long accumulated = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            accumulated += counts[i];
+
+            if (accumulated >= threshold) {
+                return Math.min(upperBoundOf(i), maxMicros.get()) / 1000d;
+            }
+        }
+
+        return getMaxMillis();
+    }
+
+    /**
+     * Describes the histogram as map, e.g. for a JSON export.
+     *
+     * @return the count, the total and some percentiles in milliseconds
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+
+        map.put("count", getCount());
+        map.put("totalMillis", round(getTotalMillis()));
+        map.put("meanMillis", round(getMeanMillis()));
+        map.put("p50Millis", round(getPercentileMillis(50)));
+        map.put("p90Millis", round(getPercentileMillis(90)));
+        map.put("p99Millis", round(getPercentileMillis(99)));
+        map.put("maxMillis", round(getMaxMillis()));
+
+        return map;
+    }
+
+    static int indexOf(long micros) {
+        if (micros < SUB_BUCKET_COUNT) {
+            return (int) micros;
+        }
+
+        int exponent = Math.min(MAX_EXPONENT, 63 - Long.numberOfLeadingZeros(micros));
+
+        if (exponent == MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long lowerBoundOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+
+        return (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    private static long upperBoundOf(int index) {
+        return index + 1 < BUCKET_COUNT ? lowerBoundOf(index + 1) - 1 : Long.MAX_VALUE;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000d;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "LatencyHistogram [count=%,d, mean=%,.1f ms, p50=%,.1f ms, p99=%,.1f ms, max=%,.1f ms]",
+            getCount(),
+            getMeanMillis(),
+            getPercentileMillis(50),
+            getPercentileMillis(99),
+            getMaxMillis()
+        );
+    }
+}
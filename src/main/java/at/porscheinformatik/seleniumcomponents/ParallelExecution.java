@@ -0,0 +1,208 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes a callable multiple times in the background, using at most a specified number of tasks at once. The
+ * iterations are submitted, when a slot becomes free, and the results are returned in the order of completion. The
+ * first failure or timeout cancels all other iterations. Each iteration has its own deadline, starting, when the
+ * iteration starts.<br>
+ * <br>
+ * The execution is driven by the calling thread: tasks get submitted and results get collected only while calling
+ * {@link #next()}. Not thread-safe.
+ *
+ * @param <Any> the type of the result
+ * @author agent
+ */
+final class ParallelExecution<Any> implements Iterator<ParallelResult<Any>>, AutoCloseable {
+
+    private static final SeleniumLogger LOG = new SeleniumLogger(ParallelExecution.class);
+
+    /**
+     * Iterations, that wait in the queue of the executor, have no deadline, yet. Look at them regularly.
+     */
+    private static final long QUEUED_CHECK_MILLIS = 100;
+
+    private record Completion<Any>(int index, Any value, Throwable exception, long durationMillis) {}
+
+    private final BlockingQueue<Completion<Any>> completions = new LinkedBlockingQueue<>();
+    private final Map<Integer, Future<?>> futures = new HashMap<>();
+    private final Map<Integer, Long> startMillis = new ConcurrentHashMap<>();
+    private final ExecutorService executorService = SeleniumGlobals.getExecutorService();
+
+    private final int iterationCount;
+    private final int threadCount;
+    private final double timeoutInSeconds;
+    private final long timeoutMillis;
+    private final Callable<Any> callable;
+
+    private int submitted = 0;
+    private int completed = 0;
+    private boolean closed = false;
+
+    /**
+     * Creates the execution. Nothing gets executed before the first call of {@link #next()}.
+     *
+     * @param iterationCount the number of iterations
+     * @param threadCount the maximum number of iterations executed at once
+     * @param timeoutInSeconds the (already scaled) timeout of each iteration, &lt;= 0, NaN or infinite for none
+     * @param callable the callable
+     */
+    ParallelExecution(int iterationCount, int threadCount, double timeoutInSeconds, Callable<Any> callable) {
+        super();
+
+        this.iterationCount = iterationCount;
+        this.threadCount = Math.max(1, threadCount);
+        this.timeoutInSeconds = timeoutInSeconds;
+        this.timeoutMillis = Double.isNaN(timeoutInSeconds) ||
+            Double.isInfinite(timeoutInSeconds) ||
+            (long) (timeoutInSeconds * 1000) <= 0
+            ? Long.MAX_VALUE
+            : (long) (timeoutInSeconds * 1000);
+        this.callable = ThreadUtils.persistCallLine(callable);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !closed && completed < iterationCount;
+    }
+
+    /**
+     * Waits for the next iteration to complete.
+     *
+     * @return the result of the iteration
+     * @throws SeleniumException if the iteration failed, all other iterations got cancelled
+     * @throws SeleniumInterruptedException on process interruption, all iterations got cancelled
+     * @throws SeleniumTimeoutException if an iteration timed out, all iterations got cancelled
+     */
+    @Override
+    public ParallelResult<Any> next() throws SeleniumException, SeleniumInterruptedException, SeleniumTimeoutException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        submit();
+
+        try {
+            while (true) {
+                Completion<Any> completion = poll();
+
+                if (completion == null) {
+                    checkDeadlines();
+
+                    continue;
+                }
+
+                futures.remove(completion.index);
+                startMillis.remove(completion.index);
+                completed++;
+
+                if (completion.exception != null) {
+                    close();
+
+                    throw failure(completion);
+                }
+
+                return new ParallelResult<>(completion.index, completion.value, completion.durationMillis);
+            }
+        } catch (InterruptedException e) {
+            close();
+
+            throw new SeleniumInterruptedException(
+                String.format("Parallel execution interrupted at %s", ThreadUtils.describeCallLine()),
+                e
+            );
+        }
+    }
+
+    /**
+     * Cancels all iterations, that are still running or waiting.
+     */
+    @Override
+    public void close() {
+        closed = true;
+
+        futures.values().forEach(future -> future.cancel(true));
+        futures.clear();
+        startMillis.clear();
+    }
+
+    private void submit() {
+        while (submitted < iterationCount && futures.size() < threadCount) {
+            int index = submitted++;
+
+            futures.put(index, executorService.submit(() -> run(index)));
+        }
+    }
+
+    private void run(int index) {
+        long start = System.currentTimeMillis();
+
+        startMillis.put(index, start);
+
+        try {
+            Any value = callable.call();
+
+            completions.add(new Completion<>(index, value, null, System.currentTimeMillis() - start));
+        } catch (Throwable e) {
+            completions.add(new Completion<>(index, null, e, System.currentTimeMillis() - start));
+        }
+    }
+
+    private Completion<Any> poll() throws InterruptedException {
+        if (timeoutMillis == Long.MAX_VALUE) {
+            return completions.take();
+        }
+
+        long currentMillis = System.currentTimeMillis();
+        long waitMillis = futures.size() > startMillis.size() ? QUEUED_CHECK_MILLIS : Long.MAX_VALUE;
+
+        for (long start : startMillis.values()) {
+            waitMillis = Math.min(waitMillis, start + timeoutMillis - currentMillis);
+        }
+
+        return completions.poll(Math.max(1, waitMillis), TimeUnit.MILLISECONDS);
+    }
+
+    private void checkDeadlines() throws SeleniumTimeoutException {
+        long currentMillis = System.currentTimeMillis();
+
+        for (Map.Entry<Integer, Long> entry : startMillis.entrySet()) {
+            if (currentMillis - entry.getValue() >= timeoutMillis) {
+                close();
+
+                throw new SeleniumTimeoutException(
+                    LOG.hintAt(
+                        "Iteration #%d of parallel() timed out (%,.1f seconds)",
+                        entry.getKey(),
+                        timeoutInSeconds
+                    )
+                );
+            }
+        }
+    }
+
+    private RuntimeException failure(Completion<Any> completion) {
+        Throwable cause = completion.exception;
+
+        if (cause instanceof Error error) {
+            throw error;
+        }
+
+        if (cause instanceof SeleniumException exception) {
+            return exception;
+        }
+
+        return new SeleniumException(LOG.hintAt("Iteration #%d failed in parallel()", completion.index), cause);
+    }
+}
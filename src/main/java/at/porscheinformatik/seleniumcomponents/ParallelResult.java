@@ -0,0 +1,25 @@
+package at.porscheinformatik.seleniumcomponents;
+
+/**
+ * The result of one iteration of
+ * {@link SeleniumUtils#parallel(int, int, double, java.util.concurrent.Callable, java.util.function.Consumer)}.
+ *
+ * @param <Any> the type of the value
+ * @param index the index of the iteration, starting with 0 (in the order of submission, not of completion)
+ * @param value the value returned by the callable
+ * @param durationMillis the duration of the iteration in milliseconds, without the time it was queued
+ * @author agent
+ */
+public record ParallelResult<Any>(int index, Any value, long durationMillis) {
+    /**
+     * @return the duration of the iteration in seconds
+     */
+    public double durationInSeconds() {
+        return durationMillis / 1000d;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("#%d: %s (%,.3f seconds)", index, value, durationInSeconds());
+    }
+}
@@ -0,0 +1,164 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Defines the delays between the attempts of the retry helpers in {@link SeleniumUtils} (like
+ * {@link SeleniumUtils#keepTrying(java.util.concurrent.Callable)} or
+ * {@link SeleniumUtils#retryOnStale(java.util.concurrent.Callable)}). The strategies can be set globally in the
+ * {@link SeleniumGlobals} and can be passed to each call. The delays are not scaled by the
+ * {@link SeleniumGlobals#getTimeMultiplier()}.
+ *
+ * @author agent
+ */
+@FunctionalInterface
+public interface PollingStrategy {
+    /**
+     * The delays of one wait. An instance is created for each wait, it may hold the state of the wait.
+     */
+    interface Poll {
+        /**
+         * Returns the delay before the next attempt.
+         *
+         * @return the delay in milliseconds, a negative value to give up
+         */
+        long nextDelayMillis();
+
+        /**
+         * Called if the wait succeeded after at least one retry.
+         *
+         * @param elapsedMillis the milliseconds since the start of the wait
+         */
+        default void succeeded(long elapsedMillis) {
+            // intentionally left blank
+        }
+    }
+
+    /**
+     * Starts a new wait.
+     *
+     * @param timeoutMillis the (scaled) timeout of the wait in milliseconds, may be {@link Long#MAX_VALUE}
+     * @return the poll for this wait
+     */
+    Poll start(long timeoutMillis);
+
+    /**
+     * Creates a strategy with a fixed delay and an unlimited number of attempts.
+     *
+     * @param delayInSeconds the delay between two attempts
+     * @return the strategy
+     */
+    static PollingStrategy fixed(double delayInSeconds) {
+        return fixed(delayInSeconds, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a strategy with a fixed delay and a limited number of attempts.
+     *
+     * @param delayInSeconds the delay between two attempts
+     * @param maxAttempts the maximum number of attempts, including the first one
+     * @return the strategy
+     */
+    static PollingStrategy fixed(double delayInSeconds, int maxAttempts) {
+        long delayMillis = (long) (delayInSeconds * 1000);
+
+        return new PollingStrategy() {
+            @Override
+            public Poll start(long timeoutMillis) {
+                return new Poll() {
+                    private int attempts = 1;
+
+                    @Override
+                    public long nextDelayMillis() {
+                        if (attempts >= maxAttempts) {
+                            return -1;
+                        }
+
+                        attempts++;
+
+                        return delayMillis;
+                    }
+                };
+            }
+
+            @Override
+            public String toString() {
+                return String.format("PollingStrategy.fixed(%,d ms, %d attempts)", delayMillis, maxAttempts);
+            }
+        };
+    }
+
+    /**
+     * Creates a strategy with an exponentially growing delay, capped at a twentieth of the timeout. The delay varies
+     * randomly by the jitter to avoid that many clients (e.g. on a Selenium grid) poll at the same time.
+     *
+     * @param initialDelayInSeconds the first delay
+     * @param factor the growth factor of the delay
+     * @param jitter the random variation of the delay, 0.1 means +/- 10%
+     * @return the strategy
+     */
+    static PollingStrategy exponential(double initialDelayInSeconds, double factor, double jitter) {
+        return new PollingStrategy() {
+            @Override
+            public Poll start(long timeoutMillis) {
+                return new Poll() {
+                    private final double maxDelayMillis = timeoutMillis / 20d;
+
+                    private double delayMillis = initialDelayInSeconds * 1000;
+
+                    @Override
+                    public long nextDelayMillis() {
+                        double currentDelayMillis = delayMillis;
+
+                        delayMillis = Math.min(delayMillis * factor, maxDelayMillis);
+
+                        if (jitter > 0) {
+                            currentDelayMillis *= 1 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+                        }
+
+                        return Math.max(0, (long) currentDelayMillis);
+                    }
+                };
+            }
+
+            @Override
+            public String toString() {
+                return String.format(
+                    "PollingStrategy.exponential(%,.3f s, x%.2f, jitter %.2f)",
+                    initialDelayInSeconds,
+                    factor,
+                    jitter
+                );
+            }
+        };
+    }
+
+    /**
+     * Creates a strategy, that learns how long conditions usually take to become true and adapts the delay to it. See
+     * {@link AdaptivePollingStrategy}.
+     *
+     * @return the strategy
+     */
+    static PollingStrategy adaptive() {
+        return new AdaptivePollingStrategy(0.025, 0.1);
+    }
+
+    /**
+     * The default strategy for waiting: starts with 100 ms and increases the delay by 20% with each attempt, capped at
+     * a twentieth of the timeout.
+     *
+     * @return the strategy
+     */
+    static PollingStrategy defaultStrategy() {
+        return exponential(0.1, 1.2, 0);
+    }
+
+    /**
+     * The default strategy for retrying stale elements: 3 attempts with a delay of 100 ms.
+     *
+     * @return the strategy
+     */
+    static PollingStrategy defaultStaleStrategy() {
+        return fixed(0.1, 3);
+    }
+}
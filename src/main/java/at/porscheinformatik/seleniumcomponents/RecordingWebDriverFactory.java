@@ -0,0 +1,54 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.util.Objects;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * A {@link WebDriverFactory}, that decorates the drivers of another factory. The decorated drivers pass each command
+ * with its duration and the estimated size of its payload to the open {@link CommandRecorder}s of the current thread.
+ * Needed by {@link SeleniumAsserts#assertMaxRoundTrips(SeleniumEnvironment, int, FailableSupplier)}. If no recorder
+ * is open, the overhead is one thread local lookup per command. The drivers share the decoration with the
+ * {@link SeleniumMetrics}, the {@link SeleniumTraceRecorder} and the {@link SeleniumManagement}.
+ *
+ * @author agent
+ */
+public class RecordingWebDriverFactory implements WebDriverFactory {
+
+    private final WebDriverFactory delegate;
+
+    /**
+     * Creates the factory.
+     *
+     * @param delegate the factory of the drivers to decorate
+     */
+    public RecordingWebDriverFactory(WebDriverFactory delegate) {
+        super();
+
+        this.delegate = Objects.requireNonNull(delegate, "Delegate is null");
+    }
+
+    /**
+     * Returns true if the driver has been created by a {@link RecordingWebDriverFactory}.
+     *
+     * @param driver the driver
+     * @return true if the commands of the driver can be recorded
+     */
+    static boolean isRecording(WebDriver driver) {
+        return CommandTimingListener.isRecording(driver);
+    }
+
+    @Override
+    public void initializeEnvironment() {
+        delegate.initializeEnvironment();
+    }
+
+    @Override
+    public WebDriver createWebDriver(String sessionName) {
+        return CommandTimingListener.decorate(delegate.createWebDriver(sessionName), true);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RecordingWebDriverFactory [delegate=%s]", delegate);
+    }
+}
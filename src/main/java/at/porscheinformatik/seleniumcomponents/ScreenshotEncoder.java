@@ -0,0 +1,243 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+/**
+ * Encodes screenshots to small data URIs, that do not get truncated by Surefire. Large PNGs are converted to JPEGs: the
+ * encoder searches the best quality, that fits into the limit, and downscales the image, if even the lowest quality is
+ * too large. The encoding is CPU intensive, thus it can be done in the background by the
+ * {@link SeleniumGlobals#getExecutorService()}, but only by one or two tasks at a time. If these are busy, the encoding
+ * runs in the calling thread.
+ *
+ * @author agent
+ */
+public final class ScreenshotEncoder {
+
+    /**
+     * The maximum length of the data URI.
+     */
+    public static final int IMAGE_SIZE_THRESHOLD = 80000;
+
+    private static final SeleniumLogger LOG = new SeleniumLogger(ScreenshotEncoder.class);
+
+    static final String PNG_PREFIX = "data:image/png;base64,";
+    static final String JPG_PREFIX = "data:image/jpg;base64,";
+
+    private static final float MIN_QUALITY = 0.05f;
+    private static final float MAX_QUALITY = 0.9f;
+    private static final int QUALITY_STEPS = 4;
+    private static final double DOWNSCALE_FACTOR = 0.7;
+    private static final double MIN_SCALE = 0.1;
+
+    // the executor does not limit the number of tasks, the encodings should not occupy all cores
+    private static final Semaphore BACKGROUND_TASKS = new Semaphore(
+        Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() / 2))
+    );
+
+    private ScreenshotEncoder() {
+        super();
+    }
+
+    /**
+     * Runs the task in the background by the {@link SeleniumGlobals#getExecutorService()}. Runs it in the calling
+     * thread, if the maximum number of background tasks of the encoder is running.
+     *
+     * @param <T> the type of the result
+     * @param task the task
+     * @return the future of the result
+     */
+    public static <T> CompletableFuture<T> submit(Supplier<T> task) {
+        if (BACKGROUND_TASKS.tryAcquire()) {
+            try {
+                return CompletableFuture.supplyAsync(
+                    () -> {
+                        try {
+                            return task.get();
+                        } finally {
+                            BACKGROUND_TASKS.release();
+                        }
+                    },
+                    SeleniumGlobals.getExecutorService()
+                );
+            } catch (RejectedExecutionException e) {
+                // the executor has been replaced in the meantime
+                BACKGROUND_TASKS.release();
+            }
+        }
+
+        try {
+            return CompletableFuture.completedFuture(task.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Encodes the PNG in the background, see {@link #toLowQualityBase64(byte[])}.
+     *
+     * @param png the PNG
+     * @return the future of the data URI
+     */
+    public static CompletableFuture<String> toLowQualityBase64Async(byte[] png) {
+        return submit(() -> toLowQualityBase64(png));
+    }
+
+    /**
+     * Encodes the PNG to a data URI, that is shorter than {@link #IMAGE_SIZE_THRESHOLD} characters. Small images are
+     * kept as PNG, larger ones get converted to a JPEG with the best quality, that fits, and get downscaled, if needed.
+     *
+     * @param png the PNG
+     * @return the data URI
+     */
+    public static String toLowQualityBase64(byte[] png) {
+        if (dataUriLength(PNG_PREFIX, png.length) < IMAGE_SIZE_THRESHOLD) {
+            return toDataUri(PNG_PREFIX, png);
+        }
+
+        BufferedImage image;
+
+        try (ByteArrayInputStream in = new ByteArrayInputStream(png)) {
+            image = ImageIO.read(in);
+        } catch (IOException e) {
+            LOG.warn("Failed to transform image. Returning original", e);
+
+            return toDataUri(PNG_PREFIX, png);
+        }
+
+        if (image == null) {
+            LOG.warn("Failed to read image. Returning original");
+
+            return toDataUri(PNG_PREFIX, png);
+        }
+
+        int maxBytes = (IMAGE_SIZE_THRESHOLD - JPG_PREFIX.length()) / 4 * 3;
+        double scale = 1;
+
+        try {
+            while (true) {
+                BufferedImage opaqueImage = toOpaqueImage(image, scale);
+                byte[] jpg = encodeBestQuality(opaqueImage, maxBytes);
+
+                if (jpg != null) {
+                    LOG.debug(
+                        () ->
+                            String.format(
+                                "Reduced image size from %,d to %,d bytes (scale: %.2f)",
+                                png.length,
+                                jpg.length,
+                                opaqueImage.getWidth() / (double) image.getWidth()
+                            )
+                    );
+
+                    return toDataUri(JPG_PREFIX, jpg);
+                }
+
+                if (scale * DOWNSCALE_FACTOR < MIN_SCALE) {
+                    // give up, use the smallest possible image
+                    return toDataUri(JPG_PREFIX, encode(opaqueImage, MIN_QUALITY));
+                }
+
+                scale *= DOWNSCALE_FACTOR;
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to transform image. Returning original", e);
+
+            return toDataUri(PNG_PREFIX, png);
+        }
+    }
+
+    /**
+     * Searches the best quality, that fits into the limit.
+     *
+     * @return the JPEG, null if even the lowest quality does not fit
+     */
+    private static byte[] encodeBestQuality(BufferedImage image, int maxBytes) throws IOException {
+        byte[] best = null;
+        float low = MIN_QUALITY;
+        float high = MAX_QUALITY;
+
+        for (int i = 0; i < QUALITY_STEPS; i++) {
+            float quality = (low + high) / 2;
+            byte[] jpg = encode(image, quality);
+
+            if (jpg.length <= maxBytes) {
+                best = jpg;
+                low = quality;
+            } else {
+                high = quality;
+            }
+        }
+
+        if (best == null) {
+            byte[] jpg = encode(image, MIN_QUALITY);
+
+            if (jpg.length <= maxBytes) {
+                best = jpg;
+            }
+        }
+
+        return best;
+    }
+
+    private static byte[] encode(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+
+        try (
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            MemoryCacheImageOutputStream imageOut = new MemoryCacheImageOutputStream(out)
+        ) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(image, null, null), param);
+            imageOut.flush();
+
+            return out.toByteArray();
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static BufferedImage toOpaqueImage(BufferedImage image, double scale) {
+        int width = Math.max(1, (int) (image.getWidth() * scale));
+        int height = Math.max(1, (int) (image.getHeight() * scale));
+        BufferedImage opaqueImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = opaqueImage.createGraphics();
+
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        return opaqueImage;
+    }
+
+    static int dataUriLength(String prefix, int length) {
+        return prefix.length() + (length + 2) / 3 * 4;
+    }
+
+    static String toDataUri(String prefix, byte[] data) {
+        return prefix + Base64.getEncoder().encodeToString(data);
+    }
+}
@@ -0,0 +1,224 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded store for screenshots on disk. The files are named by the SHA-256 hash of their content, thus identical
+ * screenshots are stored only once and the URIs of the files are stable. If the store exceeds the maximum number of
+ * files or the maximum size, the least recently stored files get deleted. Files of previous runs in the same directory
+ * are part of the store. The store does not know about other processes, thus processes running at the same time need
+ * distinct directories.
+ *
+ * @author agent
+ */
+public final class ScreenshotStore {
+
+    private static final SeleniumLogger LOG = new SeleniumLogger(ScreenshotStore.class);
+
+    private final Path directory;
+    private final int maxCount;
+    private final long maxBytes;
+
+    /**
+     * The size of each file by name, the least recently used first.
+     */
+    private final LinkedHashMap<String, Long> files = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long totalBytes = 0;
+    private boolean initialized = false;
+
+    /**
+     * Creates a store.
+     *
+     * @param directory the directory, gets created if missing
+     * @param maxCount the maximum number of files
+     * @param maxBytes the maximum size of all files in bytes
+     */
+    public ScreenshotStore(Path directory, int maxCount, long maxBytes) {
+        super();
+
+        this.directory = directory;
+        this.maxCount = maxCount;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return the directory of the store
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Stores the data. If a file with the same content exists already, it just marks the file as used.
+     *
+     * @param data the data
+     * @param extension the extension of the file, like "png"
+     * @return the path of the file
+     * @throws UncheckedIOException if writing fails
+     */
+    public Path store(byte[] data, String extension) throws UncheckedIOException {
+        String name = hash(data) + "." + extension;
+
+        synchronized (this) {
+            return store(name, data);
+        }
+    }
+
+    private Path store(String name, byte[] data) {
+        try {
+            initialize();
+
+            Path file = directory.resolve(name);
+
+            if (files.containsKey(name) && Files.exists(file)) {
+                // touch the file, the recent use should survive a restart
+                files.get(name);
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+
+                return file;
+            }
+
+            write(file, data);
+
+            Long previousSize = files.put(name, (long) data.length);
+
+            totalBytes += data.length - (previousSize != null ? previousSize : 0);
+
+            evict(name);
+
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store screenshot in " + directory, e);
+        }
+    }
+
+    /**
+     * @return the number of files in the store
+     */
+    public synchronized int getCount() {
+        return files.size();
+    }
+
+    /**
+     * @return the size of all files in the store in bytes
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private void initialize() throws IOException {
+        if (initialized) {
+            return;
+        }
+
+        Files.createDirectories(directory);
+
+        List<Path> existingFiles = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, ScreenshotStore::isScreenshot)) {
+            stream.forEach(existingFiles::add);
+        }
+
+        List<Map.Entry<Path, BasicFileAttributes>> entries = new ArrayList<>();
+
+        for (Path file : existingFiles) {
+            entries.add(Map.entry(file, Files.readAttributes(file, BasicFileAttributes.class)));
+        }
+
+        entries.sort(Comparator.comparing(entry -> entry.getValue().lastModifiedTime()));
+
+        for (Map.Entry<Path, BasicFileAttributes> entry : entries) {
+            files.put(entry.getKey().getFileName().toString(), entry.getValue().size());
+            totalBytes += entry.getValue().size();
+        }
+
+        initialized = true;
+    }
+
+    private void write(Path file, byte[] data) throws IOException {
+        Path tempFile = Files.createTempFile(directory, "screenshot", ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+
+            try {
+                Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private void evict(String keep) {
+        Iterator<Map.Entry<String, Long>> iterator = files.entrySet().iterator();
+
+        while ((files.size() > maxCount || totalBytes > maxBytes) && iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+
+            if (entry.getKey().equals(keep)) {
+                continue;
+            }
+
+            try {
+                Files.deleteIfExists(directory.resolve(entry.getKey()));
+            } catch (IOException e) {
+                LOG.warn("Failed to delete screenshot %s", e, entry.getKey());
+            }
+
+            totalBytes -= entry.getValue();
+            iterator.remove();
+        }
+    }
+
+    private static boolean isScreenshot(Path file) {
+        // skip the temporary files of interrupted writes
+        return Files.isRegularFile(file) && !file.getFileName().toString().endsWith(".tmp");
+    }
+
+    private static String hash(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not supported", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "ScreenshotStore [directory=%s, maxCount=%d, maxBytes=%,d]",
+            directory,
+            maxCount,
+            maxBytes
+        );
+    }
+}
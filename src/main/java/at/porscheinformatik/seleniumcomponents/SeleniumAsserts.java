@@ -1,5 +1,7 @@
 package at.porscheinformatik.seleniumcomponents;
 
+import java.util.Map;
+import java.util.function.Supplier;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.hamcrest.StringDescription;
@@ -54,6 +56,25 @@ public final class SeleniumAsserts {
         super();
     }
 
+    private static boolean awaitCondition(Object actual, Matcher<?> matcher) {
+        if (
+            !(matcher instanceof SeleniumMatchers.AwaitableMatcher awaitableMatcher) ||
+            !(actual instanceof SeleniumComponent component)
+        ) {
+            return false;
+        }
+
+        ElementCondition condition = awaitableMatcher.getCondition(component);
+
+        if (condition == null || !SeleniumWaitContext.isWaiting()) {
+            return false;
+        }
+
+        long remainingMillis = SeleniumWaitContext.currentDeadlineMillis() - System.currentTimeMillis();
+
+        return ElementConditionWaiter.await(component, condition, remainingMillis);
+    }
+
     /**
      * An assertion that keeps calling the supplier for {@link SeleniumGlobals#getShortTimeoutInSeconds()} seconds until
      * the matcher succeeds. The assertion fails after the specified {@link SeleniumGlobals#getShortTimeoutInSeconds()}
@@ -140,7 +161,11 @@ public final class SeleniumAsserts {
 
     /**
      * An assertion that keeps calling the supplier for the specified amount of seconds until the matcher succeeds. The
-     * assertion fails after the specified timeout.
+     * assertion fails after the specified timeout. If the supplier returns a component and the matcher is one of the
+     * common {@link SeleniumMatchers} (e.g. isVisible, isEnabled, containsText), it waits for the state change within
+     * the browser by using the {@link ElementConditionWaiter} instead of polling. If enabled, the message of the failure
+     * of the outermost wait contains the recent events of the {@link SeleniumFlightRecorder}, and the failure contains
+     * the {@link EarlyWarningSnapshot} of the tested component.
      *
      * @param <Any> the type of the tested value
      * @param timeoutInSeconds the timeout in seconds
@@ -155,24 +180,81 @@ public final class SeleniumAsserts {
         FailableSupplier<Any> supplier,
         Matcher<? super Any> matcher
     ) {
+        return assertThatSoon(timeoutInSeconds, () -> reason, supplier, matcher);
+    }
+
+    /**
+     * Same as {@link #assertThatSoon(double, String, FailableSupplier, Matcher)}, but the reason is only described, if
+     * the assertion fails or if the timeline gets recorded.
+     *
+     * @param <Any> the type of the tested value
+     * @param timeoutInSeconds the timeout in seconds
+     * @param reason the supplier of the reason for the assertion
+     * @param supplier the supplier of the tested value
+     * @param matcher the matcher for the tested value
+     * @return the result of the supplier
+     */
+    static <Any> Any assertThatSoon(
+        double timeoutInSeconds,
+        Supplier<String> reason,
+        FailableSupplier<Any> supplier,
+        Matcher<? super Any> matcher
+    ) {
+        if (SeleniumGlobals.isTracing()) {
+            String description = reason.get();
+
+            return SeleniumTraceRecorder.span(
+                "assertThatSoon",
+                "assert",
+                description != null && !description.isEmpty() ? Map.of("reason", description) : null,
+                () -> awaitThat(timeoutInSeconds, reason, supplier, matcher)
+            );
+        }
+
+        return awaitThat(timeoutInSeconds, reason, supplier, matcher);
+    }
+
+    private static <Any> Any awaitThat(
+        double timeoutInSeconds,
+        Supplier<String> reason,
+        FailableSupplier<Any> supplier,
+        Matcher<? super Any> matcher
+    ) {
+        // nested assertions fail within the outermost one, it dumps the recorder
+        boolean outermost = !SeleniumWaitContext.isWaiting();
         Result<Any> result = new Result<>();
 
         try {
-            SeleniumUtils.keepTrying(timeoutInSeconds, () -> {
-                try {
-                    Any actual = supplier.get();
+            SeleniumUtils.keepTrying(
+                timeoutInSeconds,
+                SeleniumGlobals.getPollingStrategy(),
+                () -> {
+                    try {
+                        Any actual = supplier.get();
 
-                    result.setValue(actual);
+                        result.setValue(actual);
 
-                    if (matcher.matches(actual)) {
-                        return true;
+                        if (matcher.matches(actual)) {
+                            return true;
+                        }
+
+                        if (awaitCondition(actual, matcher)) {
+                            actual = supplier.get();
+
+                            result.setValue(actual);
+
+                            if (matcher.matches(actual)) {
+                                return true;
+                            }
+                        }
+                    } catch (Throwable e) {
+                        result.setException(e);
                     }
-                } catch (Throwable e) {
-                    result.setException(e);
-                }
 
-                return null;
-            });
+                    return null;
+                },
+                () -> result.getValue() instanceof SeleniumComponent component ? component : null
+            );
 
             return result.aquire();
         } catch (Throwable e) {
@@ -185,7 +267,7 @@ public final class SeleniumAsserts {
             Description description = new StringDescription();
 
             description
-                .appendText(reason)
+                .appendText(reason.get())
                 .appendText(System.lineSeparator())
                 .appendText("Expected: ")
                 .appendDescriptionOf(matcher)
@@ -194,6 +276,18 @@ public final class SeleniumAsserts {
 
             matcher.describeMismatch(actual, description);
 
+            SeleniumFlightRecorder recorder = outermost
+                ? SeleniumFlightRecorder.of(result.getValue() instanceof SeleniumComponent component ? component : null)
+                : null;
+
+            if (recorder != null) {
+                String events = recorder.describeForFailure();
+
+                if (!events.isEmpty()) {
+                    description.appendText(System.lineSeparator()).appendText(events);
+                }
+            }
+
             AssertionError error;
 
             if (result.getException() != null) {
@@ -206,4 +300,73 @@ public final class SeleniumAsserts {
             throw error;
         }
     }
+
+    /**
+     * Asserts, that the supplier does not need more than the specified number of round trips to the browser. Use it in
+     * regression tests of components to keep hot operations cheap. The driver of the environment must have been created
+     * by the {@link RecordingWebDriverFactory}, only the commands of the current thread are counted (see
+     * {@link CommandRecorder}).
+     *
+     * <pre>
+     * assertMaxRoundTrips(datagrid.environment(), 5, () -&gt; datagrid.getEntries());
+     * </pre>
+     *
+     * @param <Any> the type of the result
+     * @param environment the environment of the tested components
+     * @param maxRoundTrips the maximum number of commands sent to the browser
+     * @param supplier the supplier
+     * @return the result of the supplier
+     */
+    public static <Any> Any assertMaxRoundTrips(
+        SeleniumEnvironment environment,
+        int maxRoundTrips,
+        FailableSupplier<Any> supplier
+    ) {
+        if (!RecordingWebDriverFactory.isRecording(environment.getDriver())) {
+            throw new IllegalStateException(
+                "Counting round trips needs a driver created by the " + RecordingWebDriverFactory.class.getSimpleName()
+            );
+        }
+
+        Any result;
+        String description;
+        int roundTrips;
+
+        try (CommandRecorder recorder = CommandRecorder.start()) {
+            try {
+                result = supplier.get();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new SeleniumException("Call failed in assertMaxRoundTrips()", e);
+            }
+
+            roundTrips = recorder.getRoundTrips();
+            description = recorder.describe();
+        }
+
+        if (roundTrips > maxRoundTrips) {
+            throw new AssertionError(
+                String.format("Expected at most %d round trips, but were %s", maxRoundTrips, description)
+            );
+        }
+
+        return result;
+    }
+
+    /**
+     * Asserts, that the runnable does not need more than the specified number of round trips to the browser. See
+     * {@link #assertMaxRoundTrips(SeleniumEnvironment, int, FailableSupplier)}.
+     *
+     * @param environment the environment of the tested components
+     * @param maxRoundTrips the maximum number of commands sent to the browser
+     * @param runnable the runnable
+     */
+    public static void assertMaxRoundTrips(SeleniumEnvironment environment, int maxRoundTrips, Runnable runnable) {
+        assertMaxRoundTrips(environment, maxRoundTrips, () -> {
+            runnable.run();
+
+            return null;
+        });
+    }
 }
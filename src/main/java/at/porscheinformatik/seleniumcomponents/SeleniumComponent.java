@@ -1,8 +1,13 @@
 package at.porscheinformatik.seleniumcomponents;
 
+import java.io.File;
 import java.util.Objects;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 
 /**
@@ -88,7 +93,8 @@ public interface SeleniumComponent extends WebElementContainer {
 
     /**
      * Returns true if a {@link WebElement} described by this component is visible. By default it checks, if the element
-     * is visible. This method has no timeout, it does not wait for the component to become existent. <br>
+     * is visible. This method has no timeout, it does not wait for the component (or its parents) to become existent.
+     * <br>
      * <br>
      * It it NO good idea, to check for invisibility. If the component is not visible, Selenium always waits for some
      * time. This causes tests to run slowly and timeouts to fail.
@@ -97,7 +103,7 @@ public interface SeleniumComponent extends WebElementContainer {
      */
     default boolean isVisible() {
         try {
-            return SeleniumUtils.retryOnStale(() -> element().isDisplayed());
+            return SeleniumUtils.retryOnStale(() -> findNow().isDisplayed());
         } catch (NoSuchElementException e) {
             return false;
         }
@@ -229,6 +235,83 @@ public interface SeleniumComponent extends WebElementContainer {
         );
     }
 
+    /**
+     * Takes a screenshot of the bounding box of this component with the
+     * {@link SeleniumGlobals#getScreenshotOutputType()}.
+     *
+     * @return either a Base64 image or the path to the file. May be null if screenshots are not possible.
+     */
+    default String takeScreenshot() {
+        return takeScreenshot(SeleniumGlobals.getScreenshotOutputType());
+    }
+
+    /**
+     * Takes a screenshot of the bounding box of this component. Chromium based browsers capture Base64 images as JPEG
+     * by DevTools (see {@link DevToolsScreenshot}), other browsers use {@link WebElement#getScreenshotAs(OutputType)}.
+     * The image is usually much smaller than a screenshot of the whole viewport.
+     *
+     * @param screenshotOutputType the type of screenshot
+     * @return either a Base64 image or the path to the file. May be null if screenshots are not possible.
+     */
+    default String takeScreenshot(ScreenshotOutputType screenshotOutputType) {
+        return switch (screenshotOutputType) {
+            case BASE64 -> {
+                WebDriver driver = environment().getDriver();
+
+                if (DevToolsScreenshot.isSupported(driver)) {
+                    // resolves the element again, if it became stale
+                    Rectangle rect = SeleniumUtils.retryOnStale(() -> {
+                        WebElement element = tryElement();
+
+                        return element != null ? element.getRect() : null;
+                    });
+
+                    if (rect == null || rect.getWidth() <= 0 || rect.getHeight() <= 0) {
+                        yield null;
+                    }
+
+                    String screenshot = DevToolsScreenshot.captureLowQualityBase64(driver, rect);
+
+                    if (screenshot != null) {
+                        yield screenshot;
+                    }
+                }
+
+                yield takeScreenshot(SeleniumGlobals.LOW_QUALITY_BASE64);
+            }
+            case FILE -> {
+                File file = takeScreenshot(SeleniumGlobals.PERSISTENT_FILE);
+
+                yield file != null ? file.toURI().toString() : null;
+            }
+        };
+    }
+
+    /**
+     * Takes a screenshot of the bounding box of this component by {@link WebElement#getScreenshotAs(OutputType)}.
+     *
+     * @param <T> the type of screenshot
+     * @param outputType the type of screenshot
+     * @return the screenshot, null if not possible (e.g. if the element does not exist or has no size)
+     */
+    default <T> T takeScreenshot(OutputType<T> outputType) {
+        try {
+            // resolves the element again, if it became stale
+            return SeleniumUtils.retryOnStale(() -> {
+                WebElement element = tryElement();
+
+                return element != null ? element.getScreenshotAs(outputType) : null;
+            });
+        } catch (NoSuchWindowException e) {
+            // failed to take screenshot because window has been closed already
+            return null;
+        } catch (Exception e) {
+            LOG.warn("Failed to take screenshot of %s", e, describe());
+
+            return null;
+        }
+    }
+
     @Override
     String toString();
 }
@@ -3,8 +3,12 @@ package at.porscheinformatik.seleniumcomponents;
 import static at.porscheinformatik.seleniumcomponents.SeleniumUtils.*;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
 
 /**
  * Creates {@link SeleniumComponentList}s
@@ -14,6 +18,47 @@ import java.util.stream.Collectors;
  */
 public class SeleniumComponentListFactory<CHILD_TYPE extends SeleniumComponent> {
 
+    private static final String PROJECTION_SCRIPT =
+        "var isDisplayed = " +
+        (ElementState.IS_DISPLAYED_ATOM != null ? ElementState.IS_DISPLAYED_ATOM : "null") +
+        ";\n" +
+        """
+        var parent = arguments[0], query = arguments[1], elements = arguments[2], projection = arguments[3];
+        if (query) {
+            if (query[0] === 'css') {
+                elements = Array.prototype.slice.call(parent.querySelectorAll(query[1]));
+            } else {
+                var result = document.evaluate(query[1], parent, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                elements = [];
+                for (var i = 0; i < result.snapshotLength; i++) {
+                    if (result.snapshotItem(i).nodeType === 1) elements.push(result.snapshotItem(i));
+                }
+            }
+        }
+        return elements.map(function (element) {
+            var displayed = isDisplayed
+                ? isDisplayed(element)
+                : element.checkVisibility
+                ? element.checkVisibility({ opacityProperty: true, visibilityProperty: true })
+                : !!(element.offsetWidth || element.offsetHeight || element.getClientRects().length);
+            var attributes = {};
+            projection.attributes.forEach(function (name) {
+                if (name === 'value' && 'value' in element) attributes[name] = element.value;
+                else if ((name === 'checked' || name === 'selected') && name in element)
+                    attributes[name] = element[name] ? 'true' : null;
+                else attributes[name] = element.getAttribute(name);
+            });
+            return {
+                element: element,
+                tagName: element.tagName.toLowerCase(),
+                text: projection.text ? (displayed ? element.innerText : '') : null,
+                displayed: displayed,
+                enabled: !element.matches(':disabled'),
+                selected: element.matches(':checked'),
+                attributes: attributes
+            };
+        });""";
+
     /**
      * Creates a {@link SeleniumComponentListFactory}, that uses the specified component as template.
      *
@@ -126,4 +171,53 @@ public class SeleniumComponentListFactory<CHILD_TYPE extends SeleniumComponent>
                 .collect(Collectors.toList())
         );
     }
+
+    /**
+     * Returns a list of all components that match the selector. In contrast to {@link #findAll()}, it fetches the
+     * elements together with the properties described by the projection with one script call. The accessors of the
+     * elements (e.g. {@link WebElement#getText()} or {@link WebElement#isDisplayed()}) answer from this snapshot until
+     * the snapshot gets refreshed by {@link ElementSnapshot#refresh(SeleniumComponent)} or an interaction with the
+     * element. The text is based on the <code>innerText</code>, see {@link ElementSnapshot} for the differences to
+     * Selenium. Use this method when reading many rows of a table or list. If the driver cannot execute scripts, it
+     * falls back to {@link #findAll()}.
+     *
+     * @param projection the properties to fetch
+     * @return the list, never null
+     */
+    public SeleniumComponentList<CHILD_TYPE> findAll(ElementProjection projection) {
+        if (!(parent.environment().getDriver() instanceof JavascriptExecutor executor)) {
+            return findAll();
+        }
+
+        if (!parent.isReady()) {
+            return new SeleniumComponentList<>(Collections.emptyList());
+        }
+
+        WebElement parentElement = parent.element();
+        List<String> query = WebElementChainResolver.toQuery(childSelector);
+        List<WebElement> elements = query == null ? childSelector.findAll(parentElement) : null;
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> snapshots = (List<Map<String, Object>>) executor.executeScript(
+            PROJECTION_SCRIPT,
+            parentElement,
+            query,
+            elements,
+            projection.toArgument()
+        );
+
+        return new SeleniumComponentList<>(
+            snapshots
+                .stream()
+                .map(values -> {
+                    WebElement element = new ElementSnapshot((WebElement) values.get("element"), projection, values);
+
+                    return childFactory.create(
+                        parent,
+                        WebElementSelector.selectElement(childSelector.toString(), element)
+                    );
+                })
+                .collect(Collectors.toList())
+        );
+    }
 }
@@ -11,18 +11,21 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import org.openqa.selenium.By;
 import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.NoSuchWindowException;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.remote.RemoteWebDriver;
 
 /**
  * Environment for Selenium tests.
@@ -39,6 +42,36 @@ public interface SeleniumEnvironment {
      */
     WebDriver getDriver();
 
+    /**
+     * Returns the generation of this environment. The generation changes whenever the environment navigates to another
+     * URL, switches to another window or frame or restarts the driver. It is used to invalidate cached
+     * {@link WebElement}s (see {@link AbstractSeleniumComponent#setElementCached(boolean)}). The default
+     * implementation does not track generations and always returns 0.
+     *
+     * @return the generation
+     */
+    default long getGeneration() {
+        return 0;
+    }
+
+    /**
+     * Starts a new generation. Call this method, if the driver has been used directly to navigate or to switch the
+     * window or frame.
+     */
+    default void nextGeneration() {
+        // intentionally left blank
+    }
+
+    /**
+     * Returns the recorder for the recent interactions with this environment, that gets dumped on failures. The default
+     * implementation has no recorder.
+     *
+     * @return the recorder, null if none
+     */
+    default SeleniumFlightRecorder getFlightRecorder() {
+        return null;
+    }
+
     /**
      * Open the specified URL
      *
@@ -47,7 +80,14 @@ public interface SeleniumEnvironment {
     default void url(String url) {
         LOG.callUrl(url);
 
-        getDriver().get(url);
+        SeleniumFlightRecorder recorder = getFlightRecorder();
+
+        if (recorder != null) {
+            SeleniumFlightRecorder.bind(recorder);
+        }
+
+        LOG.event(SeleniumEvent.Type.NAVIGATION, url, null, () -> getDriver().get(url));
+        nextGeneration();
     }
 
     /**
@@ -66,11 +106,17 @@ public interface SeleniumEnvironment {
      * @return the page
      */
     default <T extends AbstractSeleniumPage> T open(String url, T page) {
-        url(url);
+        Supplier<T> open = () -> {
+            url(url);
 
-        page.assertReadySoon();
+            page.assertReadySoon();
 
-        return page;
+            return page;
+        };
+
+        return SeleniumGlobals.isTracing()
+            ? SeleniumTraceRecorder.span("open " + page.getClass().getSimpleName(), "page", Map.of("url", url), open)
+            : open.get();
     }
 
     /**
@@ -130,6 +176,49 @@ public interface SeleniumEnvironment {
         };
     }
 
+    /**
+     * Takes a screenshot with the {@link SeleniumGlobals#getScreenshotOutputType()}, see
+     * {@link #takeScreenshotAsync(ScreenshotOutputType)}.
+     *
+     * @return the future of either a Base64 image or the path to the file, completes with null if screenshots are not
+     * possible
+     */
+    default CompletableFuture<String> takeScreenshotAsync() {
+        return takeScreenshotAsync(SeleniumGlobals.getScreenshotOutputType());
+    }
+
+    /**
+     * Takes a screenshot and returns, as soon as the browser has delivered the image. The conversion (encoding the
+     * image or writing the file) happens in the background, by the {@link ScreenshotEncoder}. Use this for reports of
+     * failures and wait for the result, when it is needed.
+     *
+     * @param screenshotOutputType the type of screenshot
+     * @return the future of either a Base64 image or the path to the file, completes with null if screenshots are not
+     * possible
+     */
+    default CompletableFuture<String> takeScreenshotAsync(ScreenshotOutputType screenshotOutputType) {
+        if (screenshotOutputType == ScreenshotOutputType.BASE64 && DevToolsScreenshot.isSupported(getDriver())) {
+            String screenshot = DevToolsScreenshot.captureLowQualityBase64(getDriver(), null);
+
+            if (screenshot != null) {
+                return CompletableFuture.completedFuture(screenshot);
+            }
+        }
+
+        byte[] png = takeScreenshot(OutputType.BYTES);
+
+        if (png == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return switch (screenshotOutputType) {
+            case BASE64 -> ScreenshotEncoder.toLowQualityBase64Async(png);
+            case FILE -> ScreenshotEncoder.submit(() ->
+                SeleniumGlobals.PERSISTENT_FILE.convertFromPngBytes(png).toURI().toString()
+            );
+        };
+    }
+
     /**
      * Takes a screenshot, stores it in a file.
      *
@@ -140,12 +229,15 @@ public interface SeleniumEnvironment {
     }
 
     /**
-     * Takes a screenshot.
+     * Takes a screenshot. Chromium based browsers encode a JPEG by DevTools (see {@link DevToolsScreenshot}), other
+     * browsers deliver a PNG, that gets converted by the {@link SeleniumGlobals#LOW_QUALITY_BASE64}.
      *
      * @return a Base64 image, null if screenshots are not possible
      */
     default String takeScreenshotAsBase64() {
-        return takeScreenshot(SeleniumGlobals.LOW_QUALITY_BASE64);
+        String screenshot = DevToolsScreenshot.captureLowQualityBase64(getDriver(), null);
+
+        return screenshot != null ? screenshot : takeScreenshot(SeleniumGlobals.LOW_QUALITY_BASE64);
     }
 
     /**
@@ -282,6 +374,7 @@ public interface SeleniumEnvironment {
         }
         try {
             driver.switchTo().window(windowHandle);
+            nextGeneration();
 
             assertThatSoon(this::getWindowHandle, is(windowHandle));
 
@@ -337,6 +430,7 @@ public interface SeleniumEnvironment {
                     }
 
                     driver.switchTo().window(windowHandle);
+                    nextGeneration();
 
                     assertThatSoon(this::getWindowHandle, is(windowHandle));
 
@@ -370,6 +464,8 @@ public interface SeleniumEnvironment {
                 for (String windowHandle : windowHandles) {
                     String currentTitle = driver.switchTo().window(windowHandle).getTitle();
 
+                    nextGeneration();
+
                     if (titlePredicate.test(currentTitle)) {
                         return new SubWindow(this, originalHandle, windowHandle);
                     }
@@ -421,6 +517,8 @@ public interface SeleniumEnvironment {
                 for (String windowHandle : windowHandles) {
                     String currentUrl = driver.switchTo().window(windowHandle).getCurrentUrl();
 
+                    nextGeneration();
+
                     if (urlPredicate.test(currentUrl)) {
                         return new SubWindow(this, originalHandle, windowHandle);
                     }
@@ -452,6 +550,7 @@ public interface SeleniumEnvironment {
         try {
             return SeleniumUtils.keepTrying(SeleniumGlobals.getLongTimeoutInSeconds(), () -> {
                 driver.switchTo().frame(nameOrId);
+                nextGeneration();
 
                 return new SubFrame(this);
             });
@@ -474,6 +573,7 @@ public interface SeleniumEnvironment {
         try {
             return SeleniumUtils.keepTrying(SeleniumGlobals.getLongTimeoutInSeconds(), () -> {
                 driver.switchTo().frame(frameElement);
+                nextGeneration();
 
                 return new SubFrame(this);
             });
@@ -537,28 +637,28 @@ public interface SeleniumEnvironment {
      * Clears the local storage
      */
     default void clearLocalStorage() {
-        RemoteWebDriver remoteWebDriver = (RemoteWebDriver) getDriver();
+        JavascriptExecutor executor = (JavascriptExecutor) getDriver();
 
-        remoteWebDriver.executeScript("window.localStorage.clear();");
+        executor.executeScript("window.localStorage.clear();");
     }
 
     default String localStorageGetItem(String key) {
-        RemoteWebDriver remoteWebDriver = (RemoteWebDriver) getDriver();
-        Object result = remoteWebDriver.executeScript("return window.localStorage.getItem(arguments[0]);", key);
+        JavascriptExecutor executor = (JavascriptExecutor) getDriver();
+        Object result = executor.executeScript("return window.localStorage.getItem(arguments[0]);", key);
 
         return result != null ? result.toString() : null;
     }
 
     default void localStorageSetItem(String key, String value) {
-        RemoteWebDriver remoteWebDriver = (RemoteWebDriver) getDriver();
+        JavascriptExecutor executor = (JavascriptExecutor) getDriver();
 
-        remoteWebDriver.executeScript("window.localStorage.setItem(arguments[0], arguments[1]);", key, value);
+        executor.executeScript("window.localStorage.setItem(arguments[0], arguments[1]);", key, value);
     }
 
     default void localStorageRemoveItem(String key) {
-        RemoteWebDriver remoteWebDriver = (RemoteWebDriver) getDriver();
+        JavascriptExecutor executor = (JavascriptExecutor) getDriver();
 
-        remoteWebDriver.executeScript("window.localStorage.removeItem(arguments[0]);", key);
+        executor.executeScript("window.localStorage.removeItem(arguments[0]);", key);
     }
 
     /**
@@ -0,0 +1,75 @@
+package at.porscheinformatik.seleniumcomponents;
+
+/**
+ * A structured event of the library, passed to the {@link SeleniumEventListener}s registered at the
+ * {@link SeleniumLogger}. The event holds the component itself, the description is only created on demand.
+ *
+ * @param type the type of the event
+ * @param name the name of the action, a constant like "click" or "sendKeys"
+ * @param component the component, may be null
+ * @param timestampMillis the start of the action in epoch millis
+ * @param durationNanos the duration of the action in nanoseconds
+ * @param failure the exception, if the action failed, null otherwise
+ * @author agent
+ */
+public record SeleniumEvent(
+    Type type,
+    String name,
+    SeleniumComponent component,
+    long timestampMillis,
+    long durationNanos,
+    Throwable failure
+) {
+    /**
+     * The type of an event.
+     */
+    public enum Type {
+        /**
+         * An interaction with a component, like a click.
+         */
+        INTERACTION,
+
+        /**
+         * A wait for a condition.
+         */
+        WAIT,
+
+        /**
+         * The navigation to an URL. The name of the event is the URL.
+         */
+        NAVIGATION
+    }
+
+    /**
+     * @return the description of the component, null if there is no component
+     */
+    public String describeComponent() {
+        return component != null ? component.describe() : null;
+    }
+
+    /**
+     * @return the duration of the action in milliseconds
+     */
+    public double durationMillis() {
+        return durationNanos / 1_000_000d;
+    }
+
+    /**
+     * @return true if the action succeeded
+     */
+    public boolean isSuccessful() {
+        return failure == null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%s %s%s (%,.1f ms)%s",
+            type,
+            name,
+            component != null ? " on " + describeComponent() : "",
+            durationMillis(),
+            failure != null ? " failed: " + failure : ""
+        );
+    }
+}
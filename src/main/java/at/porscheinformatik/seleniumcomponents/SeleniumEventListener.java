@@ -0,0 +1,29 @@
+package at.porscheinformatik.seleniumcomponents;
+
+/**
+ * A listener for {@link SeleniumEvent}s and {@link SeleniumWait}s. Register it with
+ * {@link SeleniumLogger#addEventListener(SeleniumEventListener)}. The listener is called synchronously in the thread,
+ * that performed the action. It should be fast and must not interact with components.
+ *
+ * @author agent
+ */
+@FunctionalInterface
+public interface SeleniumEventListener {
+    /**
+     * Called after an action has been performed.
+     *
+     * @param event the event
+     */
+    void onEvent(SeleniumEvent event);
+
+    /**
+     * Called when a wait starts, before its first poll. The listener may limit the deadline of the wait by
+     * {@link SeleniumWait#limitEndMillis(long)}.
+     *
+     * @param wait the wait
+     * @return the listener for the polls and the end of this wait, null if not interested
+     */
+    default SeleniumWaitListener onWaitStart(SeleniumWait wait) {
+        return null;
+    }
+}
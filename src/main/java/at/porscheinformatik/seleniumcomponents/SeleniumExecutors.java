@@ -0,0 +1,107 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factories for the {@link ExecutorService}, that runs the background tasks of the {@link SeleniumUtils} (like
+ * {@link SeleniumUtils#callWithTimeout(double, java.util.concurrent.Callable)},
+ * {@link SeleniumUtils#meanwhile(java.util.concurrent.Callable)} and
+ * {@link SeleniumUtils#parallel(int, int, double, java.util.concurrent.Callable)}). Use
+ * {@link SeleniumGlobals#setExecutorMode(ExecutorMode)} or {@link SeleniumGlobals#setExecutorService(ExecutorService)}
+ * to change it.
+ *
+ * @author agent
+ */
+public final class SeleniumExecutors {
+
+    private static final SeleniumLogger LOG = new SeleniumLogger(SeleniumExecutors.class);
+
+    private static final AtomicInteger POOL_THREAD_ID = new AtomicInteger(1);
+
+    /**
+     * The type of threads used for background tasks.
+     */
+    public enum ExecutorMode {
+        /**
+         * A cached pool of platform daemon threads.
+         */
+        PLATFORM,
+
+        /**
+         * One virtual thread per task. Needs Java 21 or higher, falls back to {@link #PLATFORM} on older versions.
+         */
+        VIRTUAL
+    }
+
+    private SeleniumExecutors() {
+        super();
+    }
+
+    /**
+     * Creates the executor for the specified mode.
+     *
+     * @param mode the mode
+     * @return the executor
+     */
+    public static ExecutorService create(ExecutorMode mode) {
+        return switch (mode) {
+            case PLATFORM -> platform();
+            case VIRTUAL -> virtual();
+        };
+    }
+
+    /**
+     * Creates an unbounded, cached pool of platform daemon threads.
+     *
+     * @return the executor
+     */
+    public static ExecutorService platform() {
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(
+                runnable,
+                Utils.toClassName(SeleniumUtils.class) + " Pool Thread #" + POOL_THREAD_ID.getAndIncrement()
+            );
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    /**
+     * Creates an executor, that starts a new virtual thread for each task. If virtual threads are not supported by the
+     * runtime (Java 17), it falls back to {@link #platform()}.
+     *
+     * @return the executor
+     */
+    public static ExecutorService virtual() {
+        try {
+            // the library is compiled for Java 17, hence the reflection
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            LOG.warn("Virtual threads are not supported by Java %s, using platform threads", Runtime.version());
+
+            return platform();
+        }
+    }
+
+    /**
+     * Returns true if the runtime supports virtual threads.
+     *
+     * @return true if supported
+     */
+    public static boolean isVirtualSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
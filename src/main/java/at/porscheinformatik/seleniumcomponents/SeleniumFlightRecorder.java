@@ -0,0 +1,243 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Records the recent interactions, waits and navigations of one {@link SeleniumEnvironment} in a bounded ring buffer.
+ * Recording is lock-free and does not format anything, the entries are described only when the recorder gets dumped,
+ * e.g. by the {@link SeleniumAsserts} when an assertion fails. This makes it possible to keep the log level at WARN and
+ * still know, what happened before a failure. The entries do not contain call lines, capturing one would walk the
+ * stack for each event, the stack trace of the failure points to the failing line.<br>
+ * <br>
+ * The recorder gets the {@link SeleniumEvent}s from the {@link SeleniumLogger}. Events of components are recorded by
+ * the recorder of the environment of the component, other events (like waits) by the recorder, that has been used last
+ * by the current thread (see {@link #current()}). The recorders listen to the logger as soon as the first one has been
+ * created, thus with a {@link SeleniumGlobals#getFlightRecorderSize()} of 0, the default, the events cost nothing.
+ *
+ * @author agent
+ */
+public final class SeleniumFlightRecorder {
+
+    private static final SeleniumLogger LOG = new SeleniumLogger(SeleniumFlightRecorder.class);
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(
+        ZoneId.systemDefault()
+    );
+
+    private static final ThreadLocal<SeleniumFlightRecorder> CURRENT = new ThreadLocal<>();
+    private static final AtomicBoolean LISTENING = new AtomicBoolean();
+
+    /**
+     * One recorded event.
+     *
+     * @param sequence the number of the entry, increasing with each recorded event
+     * @param event the event
+     * @param threadName the name of the thread
+     */
+    public record Entry(long sequence, SeleniumEvent event, String threadName) {
+        @Override
+        public String toString() {
+            return String.format(
+                "%s [%s] %s",
+                TIME_FORMATTER.format(Instant.ofEpochMilli(event.timestampMillis())),
+                threadName,
+                event
+            );
+        }
+    }
+
+    private final AtomicReferenceArray<Entry> entries;
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Creates a recorder.
+     *
+     * @param capacity the maximum number of entries
+     */
+    public SeleniumFlightRecorder(int capacity) {
+        super();
+
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be > 0: " + capacity);
+        }
+
+        entries = new AtomicReferenceArray<>(capacity);
+
+        if (LISTENING.compareAndSet(false, true)) {
+            SeleniumLogger.addEventListener(SeleniumFlightRecorder::route);
+        }
+    }
+
+    /**
+     * Returns the recorder, that has been used last by the current thread.
+     *
+     * @return the recorder, null if none
+     */
+    public static SeleniumFlightRecorder current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes the recorder the current one of this thread. Events without component get recorded by the current
+     * recorder.
+     *
+     * @param recorder the recorder, null to remove the current one
+     */
+    public static void bind(SeleniumFlightRecorder recorder) {
+        if (recorder != null) {
+            CURRENT.set(recorder);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Returns the recorder of the environment of the component, or the current recorder, if the component is null or
+     * its environment has no recorder.
+     *
+     * @param component the component, may be null
+     * @return the recorder, null if none
+     */
+    public static SeleniumFlightRecorder of(SeleniumComponent component) {
+        SeleniumFlightRecorder recorder = component != null ? component.environment().getFlightRecorder() : null;
+
+        return recorder != null ? recorder : current();
+    }
+
+    private static void route(SeleniumEvent event) {
+        SeleniumFlightRecorder recorder = null;
+
+        if (event.component() != null) {
+            recorder = event.component().environment().getFlightRecorder();
+
+            if (recorder != null) {
+                CURRENT.set(recorder);
+            }
+        }
+
+        if (recorder == null) {
+            recorder = CURRENT.get();
+        }
+
+        if (recorder != null) {
+            recorder.record(event);
+        }
+    }
+
+    /**
+     * Records the event.
+     *
+     * @param event the event
+     */
+    public void record(SeleniumEvent event) {
+        long number = sequence.getAndIncrement();
+
+        entries.set((int) (number % entries.length()), new Entry(number, event, Thread.currentThread().getName()));
+    }
+
+    /**
+     * Returns the recorded entries, the oldest one first.
+     *
+     * @return the entries
+     */
+    public List<Entry> getEntries() {
+        long minSequence = sequence.get() - entries.length();
+        List<Entry> result = new ArrayList<>(entries.length());
+
+        for (int i = 0; i < entries.length(); i++) {
+            Entry entry = entries.get(i);
+
+            // skip entries, that have been overwritten while reading
+            if (entry != null && entry.sequence >= minSequence) {
+                result.add(entry);
+            }
+        }
+
+        result.sort(Comparator.comparingLong(Entry::sequence));
+
+        return result;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, null);
+        }
+    }
+
+    /**
+     * Describes all entries, one per line, the oldest one first.
+     *
+     * @return the description
+     */
+    public String dump() {
+        StringBuilder builder = new StringBuilder();
+
+        for (Entry entry : getEntries()) {
+            builder.append(entry).append(System.lineSeparator());
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Writes all entries to a file in the directory.
+     *
+     * @param directory the directory, gets created if missing
+     * @return the file
+     * @throws IOException on occasion
+     */
+    public Path dump(Path directory) throws IOException {
+        Files.createDirectories(directory);
+
+        Path file = directory.resolve(
+            String.format("selenium-flight-recorder-%d-%d.log", System.currentTimeMillis(), sequence.get())
+        );
+
+        return Files.writeString(file, dump(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Describes the entries for a failure: writes them to a file, if the
+     * {@link SeleniumGlobals#getFlightRecorderDirectory()} is set and returns a reference to the file, returns all
+     * entries otherwise.
+     *
+     * @return the description, an empty string if nothing has been recorded
+     */
+    public String describeForFailure() {
+        if (getEntries().isEmpty()) {
+            return "";
+        }
+
+        Path directory = SeleniumGlobals.getFlightRecorderDirectory();
+
+        if (directory != null) {
+            try {
+                return "Recent events: " + dump(directory).toUri();
+            } catch (IOException e) {
+                LOG.warn("Failed to write flight recorder to %s", e, directory);
+            }
+        }
+
+        return "Recent events:" + System.lineSeparator() + dump();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SeleniumFlightRecorder [capacity=%d, recorded=%,d]", entries.length(), sequence.get());
+    }
+}
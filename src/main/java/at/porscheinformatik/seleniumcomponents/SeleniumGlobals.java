@@ -1,23 +1,15 @@
 package at.porscheinformatik.seleniumcomponents;
 
-import java.awt.Color;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import at.porscheinformatik.seleniumcomponents.SeleniumExecutors.ExecutorMode;
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.Base64;
 import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.regex.Pattern;
-import javax.imageio.IIOImage;
-import javax.imageio.ImageIO;
-import javax.imageio.ImageWriteParam;
-import javax.imageio.ImageWriter;
-import javax.imageio.stream.MemoryCacheImageOutputStream;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.WebDriverException;
 
@@ -33,6 +25,80 @@ import org.openqa.selenium.WebDriverException;
  * <th>{@value #TIME_MULTIPLIER_KEY}</th>
  * <td>A multiplier for timeouts. A value &gt; 1 increases timeouts. 0 or NaN disables timeouts.</td>
  * </tr>
+ * <tr>
+ * <th>{@value #SCRIPTED_ELEMENT_RESOLUTION_KEY}</th>
+ * <td>If set to true, elements are resolved by the {@link WebElementChainResolver}.</td>
+ * </tr>
+ * <tr>
+ * <th>{@value #POLLING_STRATEGY_KEY}</th>
+ * <td>The {@link PollingStrategy} for waits: "default", "exponential" (with jitter, for remote grids) or
+ * "adaptive".</td>
+ * </tr>
+ * <tr>
+ * <th>{@value #EXECUTOR_MODE_KEY}</th>
+ * <td>The threads for background tasks: "PLATFORM" (default) or "VIRTUAL" (Java 21+).</td>
+ * </tr>
+ * <tr>
+ * <th>{@value #SCREENSHOT_DIRECTORY_KEY}</th>
+ * <td>The directory of the {@link ScreenshotStore} for screenshot files. Defaults to a directory in the temp
+ * directory. Parallel test processes (like Surefire forks) should use distinct directories, e.g.
+ * "target/screenshots-${surefire.forkNumber}", otherwise their stores evict the files of each other.</td>
+ * </tr>
+ * <tr>
+ * <th>{@value #SCREENSHOT_MAX_COUNT_KEY}</th>
+ * <td>The maximum number of files in the {@link ScreenshotStore}, 500 by default.</td>
+ * </tr>
+ * <tr>
+ * <th>{@value #SCREENSHOT_MAX_SIZE_IN_MB_KEY}</th>
+ * <td>The maximum size of the {@link ScreenshotStore} in MB, 200 by default.</td>
+ * </tr>
+ * <tr>
+ * <th>{@value #DEVTOOLS_SCREENSHOTS_KEY}</th>
+ * <td>If set to false, Chromium based browsers do not take compressed screenshots by DevTools (see
+ * {@link DevToolsScreenshot}).</td>
+ * </tr>
+ * <tr>
+ * <th>{@value #FLIGHT_RECORDER_SIZE_KEY}</th>
+ * <td>The number of recent events kept by the {@link SeleniumFlightRecorder} of each environment, 0 (the default)
+ * disables it.</td>
+ * </tr>
+ * <tr>
+ * <th>{@value #FLIGHT_RECORDER_DIRECTORY_KEY}</th>
+ * <td>If set, the {@link SeleniumFlightRecorder} gets dumped to a file in this directory on failures, instead of
+ * adding the events to the message of the failure.</td>
+ * </tr>
+ * <tr>
+ * <th>{@value #METRICS_KEY}</th>
+ * <td>If set to true, the {@link SeleniumMetrics} record commands, waits, retries and interactions.</td>
+ * </tr>
+ * <tr>
+ * <th>{@value #METRICS_FILE_KEY}</th>
+ * <td>If set, the {@link SeleniumMetrics} get written as JSON to this file at the end of the run.</td>
+ * </tr>
+ * <tr>
+ * <th>{@value #TRACE_FILE_KEY}</th>
+ * <td>If set, the {@link SeleniumTraceRecorder} records a timeline of the run and writes it to this file in the Chrome
+ * Trace Event Format.</td>
+ * </tr>
+ * <tr>
+ * <th>{@value #MANAGEMENT_KEY}</th>
+ * <td>If set to true, the {@link SeleniumManagement} MBean shows environments, pending waits and command rates and
+ * makes timeouts adjustable at runtime.</td>
+ * </tr>
+ * <tr>
+ * <th>{@value #EARLY_WARNING_FRACTION_KEY}</th>
+ * <td>If set (e.g. to 0.75), an {@link EarlyWarningSnapshot} gets captured, when a wait has used this fraction of its
+ * budget, and gets attached to the failure of the wait. 0 disables it.</td>
+ * </tr>
+ * <tr>
+ * <th>{@value #EARLY_WARNING_SCREENSHOT_KEY}</th>
+ * <td>If set to true, the {@link EarlyWarningSnapshot} contains a screenshot of the subject of the wait.</td>
+ * </tr>
+ * <tr>
+ * <th>{@value #ADAPTIVE_TIMEOUTS_FILE_KEY}</th>
+ * <td>If set, the {@link AdaptiveTimeouts} learn the timeouts of the waits per call site and keep the durations in
+ * this file between runs. The configured timeouts are the upper limit.</td>
+ * </tr>
  * </table>
  *
  * @author ham
@@ -46,22 +112,55 @@ public final class SeleniumGlobals {
     public static final String SHORT_TIMEOUT_IN_SECONDS_KEY = "selenium-components.shortTimeoutInSeconds";
     public static final String LONG_TIMEOUT_IN_SECONDS_KEY = "selenium-components.longTimeoutInSeconds";
     public static final String SCREENSHOT_OUTPUT_TYPE = "selenium-components.screenshotOutputType";
-
-    private static final int IMAGE_SIZE_THRESHOLD = 80000;
-
-    private static boolean debug = false;
-    private static double timeMultiplier = 1;
-    private static double shortTimeoutInSeconds = 1.0;
-    private static double longTimeoutInSeconds = 10;
+    public static final String SCRIPTED_ELEMENT_RESOLUTION_KEY = "selenium-components.scriptedElementResolution";
+    public static final String POLLING_STRATEGY_KEY = "selenium-components.pollingStrategy";
+    public static final String EXECUTOR_MODE_KEY = "selenium-components.executorMode";
+    public static final String SCREENSHOT_DIRECTORY_KEY = "selenium-components.screenshotDirectory";
+    public static final String SCREENSHOT_MAX_COUNT_KEY = "selenium-components.screenshotMaxCount";
+    public static final String SCREENSHOT_MAX_SIZE_IN_MB_KEY = "selenium-components.screenshotMaxSizeInMB";
+    public static final String DEVTOOLS_SCREENSHOTS_KEY = "selenium-components.devToolsScreenshots";
+    public static final String FLIGHT_RECORDER_SIZE_KEY = "selenium-components.flightRecorderSize";
+    public static final String FLIGHT_RECORDER_DIRECTORY_KEY = "selenium-components.flightRecorderDirectory";
+    public static final String METRICS_KEY = "selenium-components.metrics";
+    public static final String METRICS_FILE_KEY = "selenium-components.metricsFile";
+    public static final String TRACE_FILE_KEY = "selenium-components.traceFile";
+    public static final String MANAGEMENT_KEY = "selenium-components.management";
+    public static final String EARLY_WARNING_FRACTION_KEY = "selenium-components.earlyWarningFraction";
+    public static final String EARLY_WARNING_SCREENSHOT_KEY = "selenium-components.earlyWarningScreenshot";
+    public static final String ADAPTIVE_TIMEOUTS_FILE_KEY = "selenium-components.adaptiveTimeoutsFile";
+
+    // may be changed at runtime by the SeleniumManagement
+    private static volatile boolean debug = false;
+    private static volatile double timeMultiplier = 1;
+    private static volatile double shortTimeoutInSeconds = 1.0;
+    private static volatile double longTimeoutInSeconds = 10;
     private static ScreenshotOutputType screenshotOutputType = ScreenshotOutputType.BASE64;
+    private static boolean scriptedElementResolution = false;
+    private static PollingStrategy pollingStrategy = PollingStrategy.defaultStrategy();
+    private static PollingStrategy stalePollingStrategy = PollingStrategy.defaultStaleStrategy();
+    private static ExecutorMode executorMode = ExecutorMode.PLATFORM;
+    // read without lock by each background task
+    private static volatile ExecutorService executorService;
+    private static boolean executorServiceOwned;
+    private static ScreenshotStore screenshotStore;
+    private static boolean devToolsScreenshots = true;
+    private static int flightRecorderSize = 0;
+    private static Path flightRecorderDirectory;
+    private static boolean metrics = false;
+    private static Path metricsFile;
+    private static Path traceFile;
+    private static boolean management = false;
+    private static double earlyWarningFraction = 0;
+    private static boolean earlyWarningScreenshot = false;
+    private static Path adaptiveTimeoutsFile;
 
     /**
      * In contrast to the OutputType.BASE64, this type transforms the image to a low quality JPG. This should avoid
-     * truncating by Surefire.
+     * truncating by Surefire. See {@link ScreenshotEncoder}.
      */
     public static final OutputType<String> LOW_QUALITY_BASE64 = new OutputType<>() {
         public String convertFromBase64Png(String base64Png) {
-            if (base64Png.length() < IMAGE_SIZE_THRESHOLD) {
+            if (base64Png.length() < ScreenshotEncoder.IMAGE_SIZE_THRESHOLD) {
                 return "data:image/png;base64," + base64Png;
             }
 
@@ -69,69 +168,7 @@ public final class SeleniumGlobals {
         }
 
         public String convertFromPngBytes(byte[] png) {
-            BufferedImage image;
-
-            try (ByteArrayInputStream in = new ByteArrayInputStream(png)) {
-                image = ImageIO.read(in);
-            } catch (IOException e) {
-                LOG.warn("Failed to transform image. Returning original", e);
-
-                return (
-                    "data:image/png;base64," +
-                    Base64.getMimeEncoder().encodeToString(png).replace("\r", "").replace("\n", "")
-                );
-            }
-
-            BufferedImage opaqueImage = new BufferedImage(
-                image.getWidth(),
-                image.getHeight(),
-                BufferedImage.TYPE_INT_RGB
-            );
-
-            opaqueImage.createGraphics().drawImage(image, 0, 0, Color.WHITE, null);
-
-            float quality = 0.5f;
-            int attempt = 1;
-
-            while (true) {
-                ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
-                ImageWriteParam param = writer.getDefaultWriteParam();
-
-                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
-                param.setCompressionQuality(quality);
-
-                try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-                    try (MemoryCacheImageOutputStream memOut = new MemoryCacheImageOutputStream(out)) {
-                        writer.setOutput(memOut);
-                        writer.write(null, new IIOImage(opaqueImage, null, null), param);
-
-                        out.flush();
-
-                        String result =
-                            "data:image/jpg;base64," + Base64.getMimeEncoder().encodeToString(out.toByteArray());
-
-                        if (result.length() < IMAGE_SIZE_THRESHOLD || quality < 0.05f) {
-                            if (attempt > 1) {
-                                LOG.debug(
-                                    "Needed %s attempts to reduce image size (quality: %s, size: %s)",
-                                    attempt,
-                                    quality,
-                                    result.length()
-                                );
-                            }
-
-                            return result.replace("\r", "").replace("\n", "");
-                        }
-
-                        quality /= 2;
-                        ++attempt;
-                    }
-                } catch (IOException e) {
-                    LOG.warn("Failed to transform image. Returning original", e);
-
-                    return "data:image/png;base64," + Base64.getMimeEncoder().encodeToString(png);
-                }
-            }
+            return ScreenshotEncoder.toLowQualityBase64(png);
         }
 
         public String toString() {
@@ -140,7 +177,8 @@ public final class SeleniumGlobals {
     };
 
     /**
-     * In contrast to the OutputType.FILE, this type does not delete the file on exit :rolling-eyes:
+     * In contrast to the OutputType.FILE, this type does not delete the file on exit :rolling-eyes: The files are kept
+     * by the {@link #getScreenshotStore()}, that removes the oldest files, if it exceeds its quota.
      */
     public static final OutputType<File> PERSISTENT_FILE = new OutputType<>() {
         @Override
@@ -154,25 +192,10 @@ public final class SeleniumGlobals {
         }
 
         private File save(byte[] data) {
-            OutputStream stream = null;
-
             try {
-                File tmpFile = File.createTempFile("screenshot", ".png");
-
-                stream = new FileOutputStream(tmpFile);
-                stream.write(data);
-
-                return tmpFile;
-            } catch (IOException e) {
-                throw new WebDriverException(e);
-            } finally {
-                if (stream != null) {
-                    try {
-                        stream.close();
-                    } catch (IOException e) {
-                        // Nothing sane to do
-                    }
-                }
+                return getScreenshotStore().store(data, "png").toFile();
+            } catch (UncheckedIOException e) {
+                throw new WebDriverException(e.getCause());
             }
         }
 
@@ -185,6 +208,9 @@ public final class SeleniumGlobals {
     static {
         initializeFromProperties();
 
+        // the JFR wait events need a listener while a recording is running
+        SeleniumJfrEvents.listenWhileRecording();
+
         ThreadUtils.excludeCallElement(Pattern.compile("^java\\..*"));
         ThreadUtils.excludeCallElement(Pattern.compile("^javax\\..*"));
         ThreadUtils.excludeCallElement(Pattern.compile("^com\\.sun\\..*"));
@@ -217,6 +243,56 @@ public final class SeleniumGlobals {
             ScreenshotOutputType.class,
             SeleniumGlobals::setScreenshotOutputType
         );
+        setBooleanFromProperty(SCRIPTED_ELEMENT_RESOLUTION_KEY, SeleniumGlobals::setScriptedElementResolution);
+
+        setEnumFromProperty(EXECUTOR_MODE_KEY, ExecutorMode.class, SeleniumGlobals::setExecutorMode);
+        setBooleanFromProperty(DEVTOOLS_SCREENSHOTS_KEY, SeleniumGlobals::setDevToolsScreenshots);
+        setDoubleFromProperty(FLIGHT_RECORDER_SIZE_KEY, size -> setFlightRecorderSize(size.intValue()));
+
+        String flightRecorderDirectory = System.getProperty(FLIGHT_RECORDER_DIRECTORY_KEY);
+
+        if (flightRecorderDirectory != null && !flightRecorderDirectory.isBlank()) {
+            setFlightRecorderDirectory(Path.of(flightRecorderDirectory));
+        }
+
+        setBooleanFromProperty(METRICS_KEY, SeleniumGlobals::setMetrics);
+
+        String metricsFile = System.getProperty(METRICS_FILE_KEY);
+
+        if (metricsFile != null && !metricsFile.isBlank()) {
+            setMetricsFile(Path.of(metricsFile));
+        }
+
+        String traceFile = System.getProperty(TRACE_FILE_KEY);
+
+        if (traceFile != null && !traceFile.isBlank()) {
+            setTraceFile(Path.of(traceFile));
+        }
+
+        setBooleanFromProperty(MANAGEMENT_KEY, SeleniumGlobals::setManagement);
+        setDoubleFromProperty(EARLY_WARNING_FRACTION_KEY, SeleniumGlobals::setEarlyWarningFraction);
+        setBooleanFromProperty(EARLY_WARNING_SCREENSHOT_KEY, SeleniumGlobals::setEarlyWarningScreenshot);
+
+        String adaptiveTimeoutsFile = System.getProperty(ADAPTIVE_TIMEOUTS_FILE_KEY);
+
+        if (adaptiveTimeoutsFile != null && !adaptiveTimeoutsFile.isBlank()) {
+            setAdaptiveTimeoutsFile(Path.of(adaptiveTimeoutsFile));
+        }
+
+        String pollingStrategy = System.getProperty(POLLING_STRATEGY_KEY);
+
+        if (pollingStrategy != null) {
+            setPollingStrategy(
+                switch (pollingStrategy) {
+                    case "default" -> PollingStrategy.defaultStrategy();
+                    case "exponential" -> PollingStrategy.exponential(0.1, 1.5, 0.2);
+                    case "adaptive" -> PollingStrategy.adaptive();
+                    default -> throw new IllegalArgumentException(
+                        "Unsupported value for " + POLLING_STRATEGY_KEY + ": " + pollingStrategy
+                    );
+                }
+            );
+        }
     }
 
     private SeleniumGlobals() {
@@ -363,6 +439,437 @@ public final class SeleniumGlobals {
         SeleniumGlobals.screenshotOutputType = Objects.requireNonNull(screenshotOutputType);
     }
 
+    /**
+     * Returns true if the elements of components get resolved by the {@link WebElementChainResolver}, which executes
+     * the selectors of the whole chain of parents with one script call.
+     *
+     * @return true if enabled
+     */
+    public static boolean isScriptedElementResolution() {
+        return scriptedElementResolution;
+    }
+
+    /**
+     * Enables or disables the resolution of elements by the {@link WebElementChainResolver}. The default value is
+     * false.
+     *
+     * @param scriptedElementResolution true to enable
+     */
+    public static void setScriptedElementResolution(boolean scriptedElementResolution) {
+        LOG.info("Setting scripted element resolution to: %s", scriptedElementResolution);
+
+        SeleniumGlobals.scriptedElementResolution = scriptedElementResolution;
+    }
+
+    /**
+     * Returns the {@link PollingStrategy} used by {@link SeleniumUtils#keepTrying(Callable)},
+     * {@link SeleniumUtils#retryOnFail(Runnable)} and all waits based on them, if no strategy is passed to the call.
+     *
+     * @return the strategy
+     */
+    public static PollingStrategy getPollingStrategy() {
+        return pollingStrategy;
+    }
+
+    /**
+     * Sets the {@link PollingStrategy} used by {@link SeleniumUtils#keepTrying(Callable)},
+     * {@link SeleniumUtils#retryOnFail(Runnable)} and all waits based on them. The default is
+     * {@link PollingStrategy#defaultStrategy()}.
+     *
+     * @param pollingStrategy the strategy
+     */
+    public static void setPollingStrategy(PollingStrategy pollingStrategy) {
+        LOG.info("Setting polling strategy to: %s", pollingStrategy);
+
+        SeleniumGlobals.pollingStrategy = Objects.requireNonNull(pollingStrategy);
+    }
+
+    /**
+     * Returns the {@link PollingStrategy} used by {@link SeleniumUtils#retryOnStale(Callable)}, if no strategy is
+     * passed to the call.
+     *
+     * @return the strategy
+     */
+    public static PollingStrategy getStalePollingStrategy() {
+        return stalePollingStrategy;
+    }
+
+    /**
+     * Sets the {@link PollingStrategy} used by {@link SeleniumUtils#retryOnStale(Callable)}. The default is
+     * {@link PollingStrategy#defaultStaleStrategy()}.
+     *
+     * @param stalePollingStrategy the strategy
+     */
+    public static void setStalePollingStrategy(PollingStrategy stalePollingStrategy) {
+        LOG.info("Setting stale polling strategy to: %s", stalePollingStrategy);
+
+        SeleniumGlobals.stalePollingStrategy = Objects.requireNonNull(stalePollingStrategy);
+    }
+
+    /**
+     * Returns the mode of the executor for background tasks.
+     *
+     * @return the mode
+     */
+    public static ExecutorMode getExecutorMode() {
+        return executorMode;
+    }
+
+    /**
+     * Sets the mode of the executor for background tasks. Replaces the current executor by a new one, created by
+     * {@link SeleniumExecutors#create(ExecutorMode)}. The default is {@link ExecutorMode#PLATFORM}.
+     *
+     * @param executorMode the mode
+     */
+    public static synchronized void setExecutorMode(ExecutorMode executorMode) {
+        LOG.info("Setting executor mode to: %s", executorMode);
+
+        SeleniumGlobals.executorMode = Objects.requireNonNull(executorMode);
+
+        replaceExecutorService(null, true);
+    }
+
+    /**
+     * Returns the executor, that runs the background tasks of the {@link SeleniumUtils}, like
+     * {@link SeleniumUtils#callWithTimeout(double, Callable)}, {@link SeleniumUtils#meanwhile(Callable)} and
+     * {@link SeleniumUtils#parallel(int, int, double, Callable)}.
+     *
+     * @return the executor
+     */
+    public static ExecutorService getExecutorService() {
+        ExecutorService currentExecutorService = executorService;
+
+        if (currentExecutorService != null) {
+            return currentExecutorService;
+        }
+
+        synchronized (SeleniumGlobals.class) {
+            if (executorService == null) {
+                replaceExecutorService(SeleniumExecutors.create(executorMode), true);
+            }
+
+            return executorService;
+        }
+    }
+
+    /**
+     * Sets the executor, that runs the background tasks of the {@link SeleniumUtils}. The executor must not limit the
+     * number of concurrent tasks, because tasks may wait for each other. It will not be shut down by this library.
+     *
+     * @param executorService the executor
+     */
+    public static synchronized void setExecutorService(ExecutorService executorService) {
+        LOG.info("Setting executor service to: %s", executorService);
+
+        replaceExecutorService(Objects.requireNonNull(executorService), false);
+    }
+
+    private static void replaceExecutorService(ExecutorService executorService, boolean owned) {
+        if (SeleniumGlobals.executorService != null && executorServiceOwned) {
+            // running tasks will be completed
+            SeleniumGlobals.executorService.shutdown();
+        }
+
+        SeleniumGlobals.executorService = executorService;
+        SeleniumGlobals.executorServiceOwned = owned;
+    }
+
+    /**
+     * Returns the store for screenshot files, used by the {@link #PERSISTENT_FILE}. If not set, it gets created with
+     * the settings of the System properties {@value #SCREENSHOT_DIRECTORY_KEY}, {@value #SCREENSHOT_MAX_COUNT_KEY}
+     * and {@value #SCREENSHOT_MAX_SIZE_IN_MB_KEY}. Malformed numbers are logged and replaced by the defaults. The
+     * default directory is shared by all processes of the user, parallel test processes should set distinct
+     * directories.
+     *
+     * @return the store
+     */
+    public static synchronized ScreenshotStore getScreenshotStore() {
+        if (screenshotStore == null) {
+            String directory = System.getProperty(SCREENSHOT_DIRECTORY_KEY);
+
+            screenshotStore = new ScreenshotStore(
+                directory != null && !directory.isBlank()
+                    ? Path.of(directory)
+                    : Path.of(System.getProperty("java.io.tmpdir"), "selenium-components-screenshots"),
+                (int) Math.min(Integer.MAX_VALUE, getLongFromProperty(SCREENSHOT_MAX_COUNT_KEY, 500)),
+                getLongFromProperty(SCREENSHOT_MAX_SIZE_IN_MB_KEY, 200) * 1024 * 1024
+            );
+        }
+
+        return screenshotStore;
+    }
+
+    /**
+     * Sets the store for screenshot files, used by the {@link #PERSISTENT_FILE}.
+     *
+     * @param screenshotStore the store
+     */
+    public static synchronized void setScreenshotStore(ScreenshotStore screenshotStore) {
+        LOG.info("Setting screenshot store to: %s", screenshotStore);
+
+        SeleniumGlobals.screenshotStore = Objects.requireNonNull(screenshotStore);
+    }
+
+    /**
+     * Returns true if Chromium based browsers take compressed screenshots by DevTools (see
+     * {@link DevToolsScreenshot}).
+     *
+     * @return true if enabled
+     */
+    public static boolean isDevToolsScreenshots() {
+        return devToolsScreenshots;
+    }
+
+    /**
+     * Enables or disables compressed screenshots by DevTools for Chromium based browsers. If disabled, the screenshots
+     * are taken as PNG and converted in Java. The default value is true.
+     *
+     * @param devToolsScreenshots true to enable
+     */
+    public static void setDevToolsScreenshots(boolean devToolsScreenshots) {
+        LOG.info("Setting DevTools screenshots to: %s", devToolsScreenshots);
+
+        SeleniumGlobals.devToolsScreenshots = devToolsScreenshots;
+    }
+
+    /**
+     * Returns the number of recent events kept by the {@link SeleniumFlightRecorder} of each
+     * {@link DefaultSeleniumEnvironment}.
+     *
+     * @return the size, 0 if disabled
+     */
+    public static int getFlightRecorderSize() {
+        return flightRecorderSize;
+    }
+
+    /**
+     * Sets the number of recent events kept by the {@link SeleniumFlightRecorder} of each
+     * {@link DefaultSeleniumEnvironment}. Affects environments created afterwards. The default is 0, e.g. 64 keeps
+     * the last 64 events.
+     *
+     * @param flightRecorderSize the size, 0 to disable the recorder
+     */
+    public static void setFlightRecorderSize(int flightRecorderSize) {
+        LOG.info("Setting flight recorder size to: %d", flightRecorderSize);
+
+        SeleniumGlobals.flightRecorderSize = Math.max(0, flightRecorderSize);
+    }
+
+    /**
+     * Returns the directory for the dumps of the {@link SeleniumFlightRecorder}.
+     *
+     * @return the directory, null if the events are added to the message of the failure
+     */
+    public static Path getFlightRecorderDirectory() {
+        return flightRecorderDirectory;
+    }
+
+    /**
+     * Sets the directory for the dumps of the {@link SeleniumFlightRecorder}. If set, the recorder gets dumped to a
+     * file on failures and the message of the failure contains the reference to the file.
+     *
+     * @param flightRecorderDirectory the directory, null to add the events to the message of the failure
+     */
+    public static void setFlightRecorderDirectory(Path flightRecorderDirectory) {
+        LOG.info("Setting flight recorder directory to: %s", flightRecorderDirectory);
+
+        SeleniumGlobals.flightRecorderDirectory = flightRecorderDirectory;
+    }
+
+    /**
+     * Returns true if the {@link SeleniumMetrics} are recorded.
+     *
+     * @return true if enabled
+     */
+    public static boolean isMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Enables or disables the {@link SeleniumMetrics}. The WebDriver commands are recorded by the drivers of
+     * {@link DefaultSeleniumEnvironment}s created afterwards. The default value is false.
+     *
+     * @param metrics true to enable
+     */
+    public static void setMetrics(boolean metrics) {
+        LOG.info("Setting metrics to: %s", metrics);
+
+        SeleniumGlobals.metrics = metrics;
+        SeleniumLogger.setEventListener(SeleniumMetrics.LISTENER, metrics);
+    }
+
+    /**
+     * Returns the file for the JSON export of the {@link SeleniumMetrics} at the end of the run.
+     *
+     * @return the file, null if the metrics are not exported automatically
+     */
+    public static Path getMetricsFile() {
+        return metricsFile;
+    }
+
+    /**
+     * Sets the file for the JSON export of the {@link SeleniumMetrics} at the end of the run.
+     *
+     * @param metricsFile the file, null to disable the export
+     */
+    public static void setMetricsFile(Path metricsFile) {
+        LOG.info("Setting metrics file to: %s", metricsFile);
+
+        SeleniumGlobals.metricsFile = metricsFile;
+    }
+
+    /**
+     * Returns true if the {@link SeleniumTraceRecorder} records a timeline, i.e. if the
+     * {@link #getTraceFile()} is set.
+     *
+     * @return true if enabled
+     */
+    public static boolean isTracing() {
+        return traceFile != null;
+    }
+
+    /**
+     * Returns the file for the timeline of the {@link SeleniumTraceRecorder}.
+     *
+     * @return the file, null if no timeline gets recorded
+     */
+    public static Path getTraceFile() {
+        return traceFile;
+    }
+
+    /**
+     * Sets the file for the timeline of the {@link SeleniumTraceRecorder}, that gets written at the end of the run.
+     * Enables the recording of the timeline. WebDriver commands are recorded by the drivers of
+     * {@link DefaultSeleniumEnvironment}s created afterwards.
+     *
+     * @param traceFile the file, null to disable the recording
+     */
+    public static void setTraceFile(Path traceFile) {
+        LOG.info("Setting trace file to: %s", traceFile);
+
+        SeleniumGlobals.traceFile = traceFile;
+        SeleniumLogger.setEventListener(SeleniumTraceRecorder.LISTENER, traceFile != null);
+    }
+
+    /**
+     * Returns true if the {@link SeleniumManagement} MBean is enabled.
+     *
+     * @return true if enabled
+     */
+    public static boolean isManagement() {
+        return management;
+    }
+
+    /**
+     * Enables or disables the {@link SeleniumManagement} MBean. It gets registered, when the next
+     * {@link DefaultSeleniumEnvironment} is created. The default value is false.
+     *
+     * @param management true to enable
+     */
+    public static void setManagement(boolean management) {
+        LOG.info("Setting management to: %s", management);
+
+        SeleniumGlobals.management = management;
+        SeleniumLogger.setEventListener(SeleniumManagement.LISTENER, management);
+    }
+
+    /**
+     * Returns true if an {@link EarlyWarningSnapshot} gets captured for slow waits.
+     *
+     * @return true if enabled
+     */
+    public static boolean isEarlyWarning() {
+        return earlyWarningFraction > 0;
+    }
+
+    /**
+     * Returns the fraction of the budget of a wait, after which the {@link EarlyWarningSnapshot} gets captured.
+     *
+     * @return the fraction, 0 if disabled
+     */
+    public static double getEarlyWarningFraction() {
+        return earlyWarningFraction;
+    }
+
+    /**
+     * Sets the fraction of the budget of a wait, after which the {@link EarlyWarningSnapshot} gets captured, e.g. 0.75.
+     * The default value is 0.
+     *
+     * @param earlyWarningFraction the fraction between 0 and 1, 0 to disable
+     */
+    public static void setEarlyWarningFraction(double earlyWarningFraction) {
+        if (Double.isNaN(earlyWarningFraction) || earlyWarningFraction < 0 || earlyWarningFraction >= 1) {
+            throw new IllegalArgumentException("Early warning fraction must be >= 0 and < 1: " + earlyWarningFraction);
+        }
+
+        LOG.info("Setting early warning fraction to: %,.2f", earlyWarningFraction);
+
+        SeleniumGlobals.earlyWarningFraction = earlyWarningFraction;
+        SeleniumLogger.setEventListener(EarlyWarningSnapshot.LISTENER, earlyWarningFraction > 0);
+    }
+
+    /**
+     * Returns true if the {@link EarlyWarningSnapshot} contains a screenshot of the subject of the wait.
+     *
+     * @return true if enabled
+     */
+    public static boolean isEarlyWarningScreenshot() {
+        return earlyWarningScreenshot;
+    }
+
+    /**
+     * Enables or disables the screenshot of the {@link EarlyWarningSnapshot}. The screenshot is taken with the
+     * {@link #getScreenshotOutputType()}. The default value is false.
+     *
+     * @param earlyWarningScreenshot true to enable
+     */
+    public static void setEarlyWarningScreenshot(boolean earlyWarningScreenshot) {
+        LOG.info("Setting early warning screenshot to: %s", earlyWarningScreenshot);
+
+        SeleniumGlobals.earlyWarningScreenshot = earlyWarningScreenshot;
+    }
+
+    /**
+     * Returns true if the {@link AdaptiveTimeouts} learn the timeouts of the waits, i.e. if the
+     * {@link #getAdaptiveTimeoutsFile()} is set.
+     *
+     * @return true if enabled
+     */
+    public static boolean isAdaptiveTimeouts() {
+        return adaptiveTimeoutsFile != null;
+    }
+
+    /**
+     * Returns the file, that keeps the durations of the waits for the {@link AdaptiveTimeouts} between runs.
+     *
+     * @return the file, null if the timeouts are not learned
+     */
+    public static Path getAdaptiveTimeoutsFile() {
+        return adaptiveTimeoutsFile;
+    }
+
+    /**
+     * Sets the file, that keeps the durations of the waits for the {@link AdaptiveTimeouts} between runs. Enables the
+     * learning of the timeouts. The durations are loaded, when the next wait is recorded, and written at the end of
+     * the run or when the file changes again.
+     *
+     * @param adaptiveTimeoutsFile the file, null to disable the learning
+     */
+    public static void setAdaptiveTimeoutsFile(Path adaptiveTimeoutsFile) {
+        LOG.info("Setting adaptive timeouts file to: %s", adaptiveTimeoutsFile);
+
+        SeleniumGlobals.adaptiveTimeoutsFile = adaptiveTimeoutsFile;
+        SeleniumLogger.setEventListener(AdaptiveTimeouts.LISTENER, adaptiveTimeoutsFile != null);
+    }
+
+    private static void setBooleanFromProperty(String key, Consumer<Boolean> setter) {
+        String value = System.getProperty(key);
+
+        if (value != null) {
+            setter.accept("".equals(value) || Boolean.parseBoolean(value));
+        }
+    }
+
     private static void setDoubleFromProperty(String key, Consumer<Double> setter) {
         String value = System.getProperty(key);
 
@@ -375,6 +882,22 @@ public final class SeleniumGlobals {
         }
     }
 
+    private static long getLongFromProperty(String key, long defaultValue) {
+        String value = System.getProperty(key);
+
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            LOG.warn("Failed to parse %s: %s, using the default: %d", key, value, defaultValue);
+
+            return defaultValue;
+        }
+    }
+
     private static <T extends Enum<T>> void setEnumFromProperty(String key, Class<T> enumType, Consumer<T> setter) {
         String value = System.getProperty(key);
 
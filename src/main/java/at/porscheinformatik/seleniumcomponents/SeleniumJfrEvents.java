@@ -0,0 +1,339 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events of the library. They make it possible to correlate GC and CPU samples of a profiled
+ * test run with the interactions, waits and navigations running at the same time. The events are emitted only, if a
+ * recording has enabled them, e.g. by
+ * <code>-XX:StartFlightRecording:filename=run.jfr,settings=profile</code>. Otherwise the overhead is a check of a
+ * flag, the descriptions of the components and the call lines are created only for committed events.<br>
+ * <br>
+ * Interactions and navigations are emitted by the {@link SeleniumLogger#event(SeleniumEvent.Type, String,
+ * SeleniumComponent, java.util.function.Supplier)}, waits by the {@link #LISTENER}, because it knows the number of
+ * polls. WebDriver commands are emitted by the drivers of the {@link DefaultSeleniumEnvironment}, if the command
+ * events are enabled, when the driver gets created (e.g. by a recording started with the JVM).
+ *
+ * @author agent
+ */
+public final class SeleniumJfrEvents {
+
+    private static final String CATEGORY = "Selenium Components";
+
+    /**
+     * Emits the waits, registered while a recording is running, see {@link #listenWhileRecording()}.
+     */
+    static final SeleniumEventListener LISTENER = new SeleniumEventListener() {
+        @Override
+        public void onEvent(SeleniumEvent event) {
+            // interactions and navigations are emitted by the logger itself
+        }
+
+        @Override
+        public SeleniumWaitListener onWaitStart(SeleniumWait wait) {
+            WaitEvent event = beginWait();
+
+            if (event == null) {
+                return null;
+            }
+
+            return new SeleniumWaitListener() {
+                @Override
+                public void onEnd(SeleniumWait wait, Throwable failure) {
+                    commitWait(event, wait, failure);
+                }
+            };
+        }
+    };
+
+    /**
+     * An interaction with a component, like a click.
+     */
+    @Name("at.porscheinformatik.seleniumcomponents.Interaction")
+    @Label("Selenium Interaction")
+    @Category(CATEGORY)
+    @Description("An interaction with a component, like a click or sendKeys")
+    @StackTrace(false)
+    public static final class InteractionEvent extends Event {
+
+        @Label("Action")
+        String action;
+
+        @Label("Component")
+        String component;
+
+        @Label("Call Line")
+        String callLine;
+
+        @Label("Successful")
+        boolean successful;
+
+        @Label("Failure")
+        String failure;
+    }
+
+    /**
+     * A wait of keepTrying, retryOnStale or callWithTimeout.
+     */
+    @Name("at.porscheinformatik.seleniumcomponents.Wait")
+    @Label("Selenium Wait")
+    @Category(CATEGORY)
+    @Description("A wait of keepTrying, retryOnStale or callWithTimeout")
+    @StackTrace(false)
+    public static final class WaitEvent extends Event {
+
+        @Label("Name")
+        String name;
+
+        @Label("Call Line")
+        String callLine;
+
+        @Label("Polls")
+        int polls;
+
+        @Label("Successful")
+        boolean successful;
+
+        @Label("Failure")
+        String failure;
+    }
+
+    /**
+     * The navigation to an URL.
+     */
+    @Name("at.porscheinformatik.seleniumcomponents.Navigation")
+    @Label("Selenium Navigation")
+    @Category(CATEGORY)
+    @Description("The navigation to an URL")
+    @StackTrace(false)
+    public static final class NavigationEvent extends Event {
+
+        @Label("URL")
+        String url;
+
+        @Label("Call Line")
+        String callLine;
+
+        @Label("Successful")
+        boolean successful;
+
+        @Label("Failure")
+        String failure;
+    }
+
+    /**
+     * A WebDriver command, that is sent to the browser.
+     */
+    @Name("at.porscheinformatik.seleniumcomponents.Command")
+    @Label("Selenium Command")
+    @Category(CATEGORY)
+    @Description("A WebDriver command, that is sent to the browser, like findElement or executeScript")
+    @StackTrace(false)
+    public static final class CommandEvent extends Event {
+
+        @Label("Name")
+        String name;
+
+        @Label("Call Line")
+        String callLine;
+
+        @Label("Successful")
+        boolean successful;
+
+        @Label("Failure")
+        String failure;
+    }
+
+    private SeleniumJfrEvents() {
+        super();
+    }
+
+    /**
+     * Registers the {@link #LISTENER} while a recording is running, thus the waits do not create an event just to
+     * check, if it is enabled. Called once by the {@link SeleniumGlobals}.
+     */
+    static void listenWhileRecording() {
+        FlightRecorder.addListener(
+            new FlightRecorderListener() {
+                @Override
+                public void recorderInitialized(FlightRecorder recorder) {
+                    updateListener(recorder);
+                }
+
+                @Override
+                public void recordingStateChanged(Recording recording) {
+                    updateListener(FlightRecorder.getFlightRecorder());
+                }
+            }
+        );
+    }
+
+    private static void updateListener(FlightRecorder recorder) {
+        boolean running = recorder
+            .getRecordings()
+            .stream()
+            .anyMatch(recording -> recording.getState() == RecordingState.RUNNING);
+
+        SeleniumLogger.setEventListener(LISTENER, running);
+    }
+
+    /**
+     * Returns true if a recording has enabled the events of the WebDriver commands.
+     *
+     * @return true if enabled
+     */
+    static boolean isCommandEnabled() {
+        return new CommandEvent().isEnabled();
+    }
+
+    /**
+     * Begins the event for an interaction or a navigation of the {@link SeleniumLogger}.
+     *
+     * @param type the type of the event
+     * @return the event, null if it is not enabled or if it is a wait
+     */
+    static Event begin(SeleniumEvent.Type type) {
+        Event event = switch (type) {
+            case INTERACTION -> new InteractionEvent();
+            case NAVIGATION -> new NavigationEvent();
+            case WAIT -> null;
+        };
+
+        if (event == null || !event.isEnabled()) {
+            return null;
+        }
+
+        event.begin();
+
+        return event;
+    }
+
+    /**
+     * Begins the event for a wait.
+     *
+     * @return the event, null if it is not enabled
+     */
+    private static WaitEvent beginWait() {
+        WaitEvent event = new WaitEvent();
+
+        if (!event.isEnabled()) {
+            return null;
+        }
+
+        event.begin();
+
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it, if it passes the threshold of the recording.
+     *
+     * @param event the event of {@link #begin(SeleniumEvent.Type)}, may be null
+     * @param name the name of the action or the URL
+     * @param component the component, may be null
+     * @param failure the exception, null if successful
+     */
+    static void commit(Event event, String name, SeleniumComponent component, Throwable failure) {
+        if (event == null) {
+            return;
+        }
+
+        event.end();
+
+        if (!event.shouldCommit()) {
+            return;
+        }
+
+        if (event instanceof InteractionEvent interactionEvent) {
+            interactionEvent.action = name;
+            interactionEvent.component = component != null ? component.describe() : null;
+            interactionEvent.callLine = ThreadUtils.describeCallLine();
+            interactionEvent.successful = failure == null;
+            interactionEvent.failure = describe(failure);
+        } else if (event instanceof NavigationEvent navigationEvent) {
+            navigationEvent.url = name;
+            navigationEvent.callLine = ThreadUtils.describeCallLine();
+            navigationEvent.successful = failure == null;
+            navigationEvent.failure = describe(failure);
+        }
+
+        event.commit();
+    }
+
+    /**
+     * Ends the wait and commits it, if it passes the threshold of the recording.
+     *
+     * @param event the event of {@link #beginWait()}
+     * @param wait the wait
+     * @param failure the exception, null if successful
+     */
+    private static void commitWait(WaitEvent event, SeleniumWait wait, Throwable failure) {
+        event.end();
+
+        if (!event.shouldCommit()) {
+            return;
+        }
+
+        event.name = wait.getName();
+        event.callLine = wait.getCallLine();
+        event.polls = wait.getPolls();
+        event.successful = failure == null;
+        event.failure = describe(failure);
+        event.commit();
+    }
+
+    /**
+     * Begins the event for a WebDriver command.
+     *
+     * @return the event, null if it is not enabled
+     */
+    static CommandEvent beginCommand() {
+        CommandEvent event = new CommandEvent();
+
+        if (!event.isEnabled()) {
+            return null;
+        }
+
+        event.begin();
+
+        return event;
+    }
+
+    /**
+     * Ends the command and commits it, if it passes the threshold of the recording.
+     *
+     * @param event the event of {@link #beginCommand()}, may be null
+     * @param name the name of the command, like "findElement"
+     * @param failure the exception, null if successful
+     */
+    static void commitCommand(CommandEvent event, String name, Throwable failure) {
+        if (event == null) {
+            return;
+        }
+
+        event.end();
+
+        if (!event.shouldCommit()) {
+            return;
+        }
+
+        event.name = name;
+        event.callLine = ThreadUtils.describeCallLine();
+        event.successful = failure == null;
+        event.failure = describe(failure);
+        event.commit();
+    }
+
+    private static String describe(Throwable failure) {
+        return failure != null ? failure.getClass().getSimpleName() + ": " + failure.getMessage() : null;
+    }
+}
@@ -1,17 +1,28 @@
 package at.porscheinformatik.seleniumcomponents;
 
 import java.text.MessageFormat;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import jdk.jfr.Event;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * A themed logger for this library. What out! The args use the {@link String#format(String, Object...)} instead of the
- * {@link MessageFormat}.
+ * {@link MessageFormat}.<br>
+ * <br>
+ * The levels are checked before formatting any message. Use the {@link Supplier} variants or pass
+ * {@link #lazy(Supplier)} and {@link #describe(SeleniumComponent)} as args to avoid expensive calculations, if the
+ * message does not get logged. Besides the log, the logger passes {@link SeleniumEvent}s to the registered
+ * {@link SeleniumEventListener}s.
  *
  * @author ham
  */
 public class SeleniumLogger {
 
+    private static final CopyOnWriteArrayList<SeleniumEventListener> EVENT_LISTENERS = new CopyOnWriteArrayList<>();
+
     private static boolean enabled = true;
 
     private final Logger logger;
@@ -30,7 +41,83 @@ public class SeleniumLogger {
     }
 
     /**
-     * Logs an interaction. The log contains the original call line.
+     * Registers a listener for the {@link SeleniumEvent}s of all loggers.
+     *
+     * @param listener the listener
+     */
+    public static void addEventListener(SeleniumEventListener listener) {
+        EVENT_LISTENERS.add(listener);
+    }
+
+    /**
+     * Removes a listener for the {@link SeleniumEvent}s.
+     *
+     * @param listener the listener
+     */
+    public static void removeEventListener(SeleniumEventListener listener) {
+        EVENT_LISTENERS.remove(listener);
+    }
+
+    /**
+     * Registers or removes the listener of a feature of the library, when the feature gets enabled or disabled. The
+     * listener gets registered once, at most.
+     *
+     * @param listener the listener
+     * @param registered true to register, false to remove the listener
+     */
+    static void setEventListener(SeleniumEventListener listener, boolean registered) {
+        if (registered) {
+            EVENT_LISTENERS.addIfAbsent(listener);
+        } else {
+            EVENT_LISTENERS.remove(listener);
+        }
+    }
+
+    /**
+     * @return the registered listeners, including the ones of the enabled features of the library
+     */
+    static List<SeleniumEventListener> getEventListeners() {
+        return EVENT_LISTENERS;
+    }
+
+    /**
+     * Returns true if there is at least one {@link SeleniumEventListener}. Without listeners, no events get created.
+     *
+     * @return true if there are listeners
+     */
+    public static boolean hasEventListeners() {
+        return !EVENT_LISTENERS.isEmpty();
+    }
+
+    /**
+     * Returns an argument for the log methods, that calls the supplier only if the message gets formatted.
+     *
+     * @param supplier the supplier for the argument
+     * @return the argument
+     */
+    public static Object lazy(Supplier<?> supplier) {
+        return new Object() {
+            @Override
+            public String toString() {
+                return String.valueOf(supplier.get());
+            }
+        };
+    }
+
+    /**
+     * Returns an argument for the log methods, that describes the component only if the message gets formatted.
+     *
+     * @param component the component
+     * @return the argument
+     */
+    public static Object describe(SeleniumComponent component) {
+        return lazy(component::describe);
+    }
+
+    /**
+     * Logs an interaction. The log contains the original call line. The message is formatted in any case, because it
+     * gets returned, use {@link #interaction(SeleniumComponent, String, Runnable, String, Object...)} if the message is
+     * not needed.
      *
      * @param description the description
      * @param args some arguments used for the {@link String#format(String, Object...)} call.
@@ -39,11 +126,152 @@ public class SeleniumLogger {
     public String interaction(String description, Object... args) {
         String message = String.format(description, args);
 
-        info(message + " | at " + ThreadUtils.describeCallLine());
+        if (enabled && logger.isInfoEnabled()) {
+            logger.info("[S] " + message + " | at " + ThreadUtils.describeCallLine());
+        }
 
         return message;
     }
 
+    /**
+     * Logs an interaction with the component, performs the action and passes an {@link SeleniumEvent.Type#INTERACTION}
+     * event with the duration to the listeners. The log contains the original call line. The message is only formatted,
+     * if it gets logged, use {@link #describe(SeleniumComponent)} as argument for the description of the component.
+     *
+     * @param component the component
+     * @param name the name of the action for the event, like "click"
+     * @param action the action
+     * @param description the description
+     * @param args some arguments used for the {@link String#format(String, Object...)} call.
+     */
+    public void interaction(
+        SeleniumComponent component,
+        String name,
+        Runnable action,
+        String description,
+        Object... args
+    ) {
+        interaction(
+            component,
+            name,
+            () -> {
+                action.run();
+
+                return null;
+            },
+            description,
+            args
+        );
+    }
+
+    /**
+     * Logs an interaction with the component, performs the action and passes an {@link SeleniumEvent.Type#INTERACTION}
+     * event with the duration to the listeners. The log contains the original call line. The message is only formatted,
+     * if it gets logged, use {@link #describe(SeleniumComponent)} as argument for the description of the component.
+     *
+     * @param <Any> the type of the result
+     * @param component the component
+     * @param name the name of the action for the event, like "click"
+     * @param action the action
+     * @param description the description
+     * @param args some arguments used for the {@link String#format(String, Object...)} call.
+     * @return the result of the action
+     */
+    public <Any> Any interaction(
+        SeleniumComponent component,
+        String name,
+        Supplier<Any> action,
+        String description,
+        Object... args
+    ) {
+        if (enabled && logger.isInfoEnabled()) {
+            logger.info("[S] " + String.format(description, args) + " | at " + ThreadUtils.describeCallLine());
+        }
+
+        return event(SeleniumEvent.Type.INTERACTION, name, component, action);
+    }
+
+    /**
+     * Performs the action and passes an event with the duration to the listeners. If the action fails, the event
+     * contains the exception. Just performs the action, if there are no listeners.
+     *
+     * @param type the type of the event
+     * @param name the name of the action
+     * @param component the component, may be null
+     * @param action the action
+     */
+    public void event(SeleniumEvent.Type type, String name, SeleniumComponent component, Runnable action) {
+        event(
+            type,
+            name,
+            component,
+            () -> {
+                action.run();
+
+                return null;
+            }
+        );
+    }
+
+    /**
+     * Performs the action and passes an event with the duration to the listeners. If the action fails, the event
+     * contains the exception. Interactions and navigations are emitted as {@link SeleniumJfrEvents}, too, if a Java
+     * Flight Recording has enabled them. Just performs the action, if there are no listeners and no recording.
+     *
+     * @param <Any> the type of the result
+     * @param type the type of the event
+     * @param name the name of the action
+     * @param component the component, may be null
+     * @param action the action
+     * @return the result of the action
+     */
+    public <Any> Any event(SeleniumEvent.Type type, String name, SeleniumComponent component, Supplier<Any> action) {
+        Event jfrEvent = SeleniumJfrEvents.begin(type);
+
+        if (EVENT_LISTENERS.isEmpty() && jfrEvent == null) {
+            return action.get();
+        }
+
+        long timestampMillis = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        Any result;
+
+        try {
+            result = action.get();
+        } catch (RuntimeException | Error e) {
+            SeleniumJfrEvents.commit(jfrEvent, name, component, e);
+
+            if (!EVENT_LISTENERS.isEmpty()) {
+                event(new SeleniumEvent(type, name, component, timestampMillis, System.nanoTime() - startNanos, e));
+            }
+
+            throw e;
+        }
+
+        SeleniumJfrEvents.commit(jfrEvent, name, component, null);
+
+        if (!EVENT_LISTENERS.isEmpty()) {
+            event(new SeleniumEvent(type, name, component, timestampMillis, System.nanoTime() - startNanos, null));
+        }
+
+        return result;
+    }
+
+    /**
+     * Passes the event to the listeners. A failing listener gets logged, but does not affect the others.
+     *
+     * @param event the event
+     */
+    public void event(SeleniumEvent event) {
+        for (SeleniumEventListener listener : EVENT_LISTENERS) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                warn("Event listener %s failed", e, listener);
+            }
+        }
+    }
+
     /**
      * Logs a debug hint.
      *
@@ -86,6 +314,24 @@ public class SeleniumLogger {
         }
     }
 
+    public boolean isTraceEnabled() {
+        return enabled && logger.isTraceEnabled();
+    }
+
+    public boolean isDebugEnabled() {
+        return enabled && logger.isDebugEnabled();
+    }
+
+    public boolean isInfoEnabled() {
+        return enabled && logger.isInfoEnabled();
+    }
+
+    public void trace(Supplier<String> message) {
+        if (enabled && logger.isTraceEnabled()) {
+            logger.trace("[S] " + message.get());
+        }
+    }
+
     public void trace(String description, Object... args) {
         if (enabled && logger.isTraceEnabled()) {
             logger.trace("[S] " + String.format(description, args));
@@ -98,6 +344,12 @@ public class SeleniumLogger {
         }
     }
 
+    public void debug(Supplier<String> message) {
+        if (enabled && logger.isDebugEnabled()) {
+            logger.debug("[S] " + message.get());
+        }
+    }
+
     public void debug(String description, Object... args) {
         if (enabled && logger.isDebugEnabled()) {
             logger.debug("[S] " + String.format(description, args));
@@ -110,6 +362,12 @@ public class SeleniumLogger {
         }
     }
 
+    public void info(Supplier<String> message) {
+        if (enabled && logger.isInfoEnabled()) {
+            logger.info("[S] " + message.get());
+        }
+    }
+
     public void info(String description, Object... args) {
         if (enabled && logger.isInfoEnabled()) {
             logger.info("[S] " + String.format(description, args));
@@ -122,6 +380,12 @@ public class SeleniumLogger {
         }
     }
 
+    public void warn(Supplier<String> message) {
+        if (enabled && logger.isWarnEnabled()) {
+            logger.warn("[S] " + message.get());
+        }
+    }
+
     public void warn(String description, Object... args) {
         if (enabled && logger.isWarnEnabled()) {
             logger.warn("[S] " + String.format(description, args));
@@ -134,6 +398,12 @@ public class SeleniumLogger {
         }
     }
 
+    public void error(Supplier<String> message) {
+        if (enabled && logger.isErrorEnabled()) {
+            logger.error("[S] " + message.get());
+        }
+    }
+
     public void error(String description, Object... args) {
         if (enabled && logger.isErrorEnabled()) {
             logger.error("[S] " + String.format(description, args));
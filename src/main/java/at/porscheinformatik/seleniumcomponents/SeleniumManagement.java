@@ -0,0 +1,320 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * A JMX MBean for long running test suites, enabled by {@link SeleniumGlobals#setManagement(boolean)}. It gets
+ * registered as {@value #OBJECT_NAME}, when the first {@link DefaultSeleniumEnvironment} is created. It lists the
+ * active environments, the waits currently in progress (description, call line, elapsed time vs. budget and number of
+ * polls) and the rates of the WebDriver commands. The timeouts, the time multiplier and the debug flag of the
+ * {@link SeleniumGlobals} can be adjusted at runtime, e.g. by JConsole or VisualVM.
+ *
+ * @author agent
+ */
+public final class SeleniumManagement implements SeleniumManagementMXBean {
+
+    /**
+     * The name of the MBean.
+     */
+    public static final String OBJECT_NAME = "at.porscheinformatik.seleniumcomponents:type=SeleniumManagement";
+
+    /**
+     * Lists the keepTrying waits in progress, registered by the {@link SeleniumGlobals} while the management is
+     * enabled.
+     */
+    static final SeleniumEventListener LISTENER = new SeleniumEventListener() {
+        @Override
+        public void onEvent(SeleniumEvent event) {
+            // only the waits are of interest
+        }
+
+        @Override
+        public SeleniumWaitListener onWaitStart(SeleniumWait wait) {
+            return SeleniumGlobals.isManagement() && wait.getType() == SeleniumWait.Type.KEEP_TRYING
+                ? startWait(wait)
+                : null;
+        }
+    };
+
+    private static final SeleniumLogger LOG = new SeleniumLogger(SeleniumManagement.class);
+
+    private static final int RATE_WINDOW_IN_SECONDS = 60;
+
+    private static final AtomicBoolean REGISTERED = new AtomicBoolean();
+    private static final Map<SeleniumEnvironment, Long> ENVIRONMENTS = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final ConcurrentMap<Long, PendingWait> PENDING_WAITS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, RateCounter> COMMAND_RATES = new ConcurrentHashMap<>();
+    private static final RateCounter TOTAL_COMMAND_RATE = new RateCounter();
+    private static final AtomicInteger WAIT_ID = new AtomicInteger();
+
+    /**
+     * A wait in progress. It gets removed, when the wait ends.
+     */
+    public static final class PendingWait implements SeleniumWaitListener {
+
+        private final long id;
+        private final SeleniumWait wait;
+        private final Supplier<String> callLine;
+        private final String threadName;
+        private final AtomicInteger polls = new AtomicInteger();
+
+        private PendingWait(long id, SeleniumWait wait) {
+            super();
+
+            this.id = id;
+            this.wait = wait;
+
+            // described on demand, by the thread of the MBean
+            callLine = ThreadUtils.captureCallLine();
+            threadName = Thread.currentThread().getName();
+        }
+
+        /**
+         * @return the start of the wait in epoch millis
+         */
+        public long getStartMillis() {
+            return wait.getStartMillis();
+        }
+
+        /**
+         * @return the number of polls
+         */
+        public int getPolls() {
+            return polls.get();
+        }
+
+        @Override
+        public void onPoll(SeleniumWait wait, long startNanos, long endNanos, boolean successful) {
+            polls.incrementAndGet();
+        }
+
+        @Override
+        public void onEnd(SeleniumWait wait, Throwable failure) {
+            PENDING_WAITS.remove(id);
+        }
+
+        @Override
+        public String toString() {
+            long startMillis = wait.getStartMillis();
+
+            return String.format(
+                "%s | at %s | %,.1f of %,.1f seconds | %d polls | thread %s",
+                wait.getName(),
+                callLine.get(),
+                (System.currentTimeMillis() - startMillis) / 1000d,
+                (wait.getEndMillis() - startMillis) / 1000d,
+                polls.get(),
+                threadName
+            );
+        }
+    }
+
+    /**
+     * Counts events in buckets of one second for the last minute.
+     */
+    private static final class RateCounter {
+
+        private static final int COUNT_BITS = 32;
+        private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+        /**
+         * The second in the upper and the count in the lower bits of each bucket, thus both change atomically.
+         */
+        private final AtomicLongArray buckets = new AtomicLongArray(RATE_WINDOW_IN_SECONDS);
+
+        void increment() {
+            long second = System.currentTimeMillis() / 1000;
+
+            // a bucket of a second, that left the window, starts again
+            buckets.updateAndGet(
+                (int) (second % RATE_WINDOW_IN_SECONDS),
+                bucket -> bucket >>> COUNT_BITS == second ? bucket + 1 : second << COUNT_BITS | 1
+            );
+        }
+
+        double ratePerSecond() {
+            long currentSecond = System.currentTimeMillis() / 1000;
+            long sum = 0;
+
+            for (int i = 0; i < RATE_WINDOW_IN_SECONDS; i++) {
+                long bucket = buckets.get(i);
+                long second = bucket >>> COUNT_BITS;
+
+                // the current second is incomplete
+                if (second < currentSecond && currentSecond - second < RATE_WINDOW_IN_SECONDS) {
+                    sum += bucket & COUNT_MASK;
+                }
+            }
+
+            return sum / (double) (RATE_WINDOW_IN_SECONDS - 1);
+        }
+    }
+
+    private SeleniumManagement() {
+        super();
+    }
+
+    /**
+     * Registers the MBean at the platform MBean server, if not already registered.
+     */
+    public static void register() {
+        if (!REGISTERED.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(
+                new SeleniumManagement(),
+                new ObjectName(OBJECT_NAME)
+            );
+        } catch (JMException e) {
+            LOG.warn("Failed to register MBean %s", e, OBJECT_NAME);
+        }
+    }
+
+    /**
+     * Adds the environment to the active ones and registers the MBean. The environments are held weakly.
+     *
+     * @param environment the environment
+     */
+    static void registerEnvironment(SeleniumEnvironment environment) {
+        register();
+
+        ENVIRONMENTS.put(environment, System.currentTimeMillis());
+    }
+
+    /**
+     * Removes the environment from the active ones.
+     *
+     * @param environment the environment
+     */
+    static void unregisterEnvironment(SeleniumEnvironment environment) {
+        ENVIRONMENTS.remove(environment);
+    }
+
+    /**
+     * Registers a wait in progress of the current thread.
+     *
+     * @param wait the wait
+     * @return the pending wait, it gets removed, when the wait ends
+     */
+    static PendingWait startWait(SeleniumWait wait) {
+        PendingWait pendingWait = new PendingWait(WAIT_ID.incrementAndGet(), wait);
+
+        PENDING_WAITS.put(pendingWait.id, pendingWait);
+
+        return pendingWait;
+    }
+
+    /**
+     * Counts a WebDriver command for the rates.
+     *
+     * @param name the name of the command
+     */
+    static void recordCommand(String name) {
+        TOTAL_COMMAND_RATE.increment();
+        COMMAND_RATES.computeIfAbsent(name, key -> new RateCounter()).increment();
+    }
+
+    @Override
+    public String[] getActiveEnvironments() {
+        List<String> descriptions = new ArrayList<>();
+
+        synchronized (ENVIRONMENTS) {
+            ENVIRONMENTS.forEach((environment, startMillis) ->
+                descriptions.add(
+                    String.format(
+                        "%s | running for %,.0f seconds",
+                        environment,
+                        (System.currentTimeMillis() - startMillis) / 1000d
+                    )
+                )
+            );
+        }
+
+        return descriptions.toArray(String[]::new);
+    }
+
+    @Override
+    public String[] getPendingWaits() {
+        return PENDING_WAITS.values()
+            .stream()
+            .sorted(Comparator.comparingLong(PendingWait::getStartMillis))
+            .map(PendingWait::toString)
+            .toArray(String[]::new);
+    }
+
+    @Override
+    public int getPendingWaitCount() {
+        return PENDING_WAITS.size();
+    }
+
+    @Override
+    public double getCommandsPerSecond() {
+        return TOTAL_COMMAND_RATE.ratePerSecond();
+    }
+
+    @Override
+    public Map<String, Double> getCommandRatesPerSecond() {
+        Map<String, Double> rates = new TreeMap<>();
+
+        COMMAND_RATES.forEach((name, rate) -> rates.put(name, rate.ratePerSecond()));
+
+        return rates;
+    }
+
+    @Override
+    public boolean isDebug() {
+        return SeleniumGlobals.isDebug();
+    }
+
+    @Override
+    public void setDebug(boolean debug) {
+        SeleniumGlobals.setDebug(debug);
+    }
+
+    @Override
+    public double getTimeMultiplier() {
+        return SeleniumGlobals.getTimeMultiplier();
+    }
+
+    @Override
+    public void setTimeMultiplier(double timeMultiplier) {
+        SeleniumGlobals.setTimeMultiplier(timeMultiplier);
+    }
+
+    @Override
+    public double getShortTimeoutInSeconds() {
+        return SeleniumGlobals.getShortTimeoutInSeconds();
+    }
+
+    @Override
+    public void setShortTimeoutInSeconds(double shortTimeoutInSeconds) {
+        SeleniumGlobals.setShortTimeoutInSeconds(shortTimeoutInSeconds);
+    }
+
+    @Override
+    public double getLongTimeoutInSeconds() {
+        return SeleniumGlobals.getLongTimeoutInSeconds();
+    }
+
+    @Override
+    public void setLongTimeoutInSeconds(double longTimeoutInSeconds) {
+        SeleniumGlobals.setLongTimeoutInSeconds(longTimeoutInSeconds);
+    }
+}
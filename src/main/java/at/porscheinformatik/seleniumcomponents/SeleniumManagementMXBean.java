@@ -0,0 +1,76 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.util.Map;
+
+/**
+ * The JMX interface of the {@link SeleniumManagement}. Shows the active environments, the waits in progress and the
+ * rates of the WebDriver commands and makes the timeouts adjustable at runtime.
+ *
+ * @author agent
+ */
+public interface SeleniumManagementMXBean {
+    /**
+     * @return the descriptions of the active environments
+     */
+    String[] getActiveEnvironments();
+
+    /**
+     * @return the descriptions of the waits in progress, the longest running first
+     */
+    String[] getPendingWaits();
+
+    /**
+     * @return the number of waits in progress
+     */
+    int getPendingWaitCount();
+
+    /**
+     * @return the number of WebDriver commands per second, averaged over the last minute
+     */
+    double getCommandsPerSecond();
+
+    /**
+     * @return the number of WebDriver commands per second by name, averaged over the last minute
+     */
+    Map<String, Double> getCommandRatesPerSecond();
+
+    /**
+     * @return true if debugging is enabled, see {@link SeleniumGlobals#isDebug()}
+     */
+    boolean isDebug();
+
+    /**
+     * @param debug the debug mode, see {@link SeleniumGlobals#setDebug(boolean)}
+     */
+    void setDebug(boolean debug);
+
+    /**
+     * @return the multiplier for timeouts, see {@link SeleniumGlobals#getTimeMultiplier()}
+     */
+    double getTimeMultiplier();
+
+    /**
+     * @param timeMultiplier the multiplier for timeouts, see {@link SeleniumGlobals#setTimeMultiplier(double)}
+     */
+    void setTimeMultiplier(double timeMultiplier);
+
+    /**
+     * @return the short timeout, see {@link SeleniumGlobals#getShortTimeoutInSeconds()}
+     */
+    double getShortTimeoutInSeconds();
+
+    /**
+     * @param shortTimeoutInSeconds the short timeout, see {@link SeleniumGlobals#setShortTimeoutInSeconds(double)}
+     */
+    void setShortTimeoutInSeconds(double shortTimeoutInSeconds);
+
+    /**
+     * @return the long timeout, see {@link SeleniumGlobals#getLongTimeoutInSeconds()}
+     */
+    double getLongTimeoutInSeconds();
+
+    /**
+     * @param longTimeoutInSeconds the long timeout, see {@link SeleniumGlobals#setLongTimeoutInSeconds(double)}
+     */
+    void setLongTimeoutInSeconds(double longTimeoutInSeconds);
+}
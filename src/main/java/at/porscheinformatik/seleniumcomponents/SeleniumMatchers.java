@@ -6,6 +6,7 @@ package at.porscheinformatik.seleniumcomponents;
 import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.hamcrest.BaseMatcher;
@@ -101,7 +102,9 @@ public final class SeleniumMatchers {
         return new GenericSeleniumComponentMatcher<>(
             "A component, that is visible",
             SeleniumComponent::isVisible,
-            Matchers.equalTo(true)
+            Matchers.equalTo(true),
+            ElementCondition.displayed(),
+            "isVisible"
         );
     }
 
@@ -121,7 +124,9 @@ public final class SeleniumMatchers {
         return new GenericSeleniumComponentMatcher<>(
             "A component, that is not visible",
             component -> SeleniumGlobals.ignoreDebug(component::isVisible),
-            Matchers.equalTo(false)
+            Matchers.equalTo(false),
+            ElementCondition.displayed().not(),
+            "isVisible"
         );
     }
 
@@ -130,10 +135,12 @@ public final class SeleniumMatchers {
      * @return matcher that checks that the center of the component is within the viewport of the browser
      */
     public static <ComponentT extends ActiveSeleniumComponent> Matcher<ComponentT> isInViewport() {
-        return new GenericSeleniumComponentMatcher<>(
+        return new ComponentStateMatcher<>(
             "A component, that is within the viewport",
             ActiveSeleniumComponent::isInViewport,
-            Matchers.equalTo(true)
+            ElementState::isVisibleInViewport,
+            null,
+            "isInViewport"
         );
     }
 
@@ -142,10 +149,14 @@ public final class SeleniumMatchers {
      * @return matcher that checks if the component is clickable
      */
     public static <ComponentT extends ActiveSeleniumComponent> Matcher<ComponentT> isClickable() {
-        return new GenericSeleniumComponentMatcher<>(
+        return new ComponentStateMatcher<>(
             "A component, that is clickable",
             ActiveSeleniumComponent::isClickable,
-            Matchers.equalTo(true)
+            ElementState::isClickable,
+            ElementCondition.clickable(),
+            "isClickable",
+            "isVisible",
+            "isEnabled"
         );
     }
 
@@ -154,10 +165,12 @@ public final class SeleniumMatchers {
      * @return matcher that checks if the component is selected
      */
     public static <ComponentT extends ActiveSeleniumComponent> Matcher<ComponentT> isSelected() {
-        return new GenericSeleniumComponentMatcher<>(
+        return new ComponentStateMatcher<>(
             "A component, that is selected",
             ActiveSeleniumComponent::isSelected,
-            Matchers.equalTo(true)
+            ElementState::selected,
+            ElementCondition.selected(),
+            "isSelected"
         );
     }
 
@@ -166,10 +179,14 @@ public final class SeleniumMatchers {
      * @return matcher that checks if the component is editable
      */
     public static <ComponentT extends ActiveSeleniumComponent> Matcher<ComponentT> isEditable() {
-        return new GenericSeleniumComponentMatcher<>(
+        return new ComponentStateMatcher<>(
             "A component, that is editable",
             ActiveSeleniumComponent::isEditable,
-            Matchers.equalTo(true)
+            ElementState::isClickable,
+            ElementCondition.clickable(),
+            "isEditable",
+            "isVisible",
+            "isEnabled"
         );
     }
 
@@ -178,10 +195,12 @@ public final class SeleniumMatchers {
      * @return matcher that checks if the component is enabled
      */
     public static <ComponentT extends ActiveSeleniumComponent> Matcher<ComponentT> isEnabled() {
-        return new GenericSeleniumComponentMatcher<>(
+        return new ComponentStateMatcher<>(
             "A component, that is enabled",
             ActiveSeleniumComponent::isEnabled,
-            Matchers.equalTo(true)
+            ElementState::enabled,
+            ElementCondition.enabled(),
+            "isEnabled"
         );
     }
 
@@ -190,10 +209,13 @@ public final class SeleniumMatchers {
      * @return matcher that checks if the component is disabled
      */
     public static <ComponentT extends ActiveSeleniumComponent> Matcher<ComponentT> isDisabled() {
-        return new GenericSeleniumComponentMatcher<>(
+        return new ComponentStateMatcher<>(
             "A component, that is disabled",
             ActiveSeleniumComponent::isDisabled,
-            Matchers.equalTo(true)
+            state -> !state.enabled(),
+            ElementCondition.enabled().not(),
+            "isDisabled",
+            "isEnabled"
         );
     }
 
@@ -217,7 +239,8 @@ public final class SeleniumMatchers {
         return new GenericSeleniumComponentMatcher<>(
             "A component that contains \"" + text + "\" as text",
             SeleniumUtils::getText,
-            Matchers.containsStringIgnoringCase(text)
+            Matchers.containsStringIgnoringCase(text),
+            ElementCondition.containsText(text)
         );
     }
 
@@ -232,6 +255,20 @@ public final class SeleniumMatchers {
     //            SeleniumUtils::getTagName, Matchers.equalTo(tagName));
     //    }
 
+    /**
+     * A matcher, whose condition can be awaited within the browser by the {@link ElementConditionWaiter}.
+     */
+    interface AwaitableMatcher {
+        /**
+         * Returns the condition of the browser, that corresponds to this matcher.
+         *
+         * @param item the component
+         * @return the condition, null if the state of the component cannot be awaited within the browser (e.g. because
+         * the component overrides the predicate)
+         */
+        ElementCondition getCondition(Object item);
+    }
+
     private static class ComponentListHasItemsMatcher<ComponentT extends SeleniumComponent>
         extends BaseMatcher<SeleniumComponentList<ComponentT>> {
 
@@ -374,11 +411,100 @@ public final class SeleniumMatchers {
         }
     }
 
-    private static class GenericSeleniumComponentMatcher<T extends SeleniumComponent, V> extends BaseMatcher<T> {
+    /**
+     * Matches the state of a component. If the predicates of the component are not overridden, it uses one
+     * {@link ActiveSeleniumComponent#probeState()} call and describes the whole state on mismatch.
+     */
+    private static class ComponentStateMatcher<T extends ActiveSeleniumComponent>
+        extends BaseMatcher<T>
+        implements AwaitableMatcher {
+
+        private final String expectation;
+        private final Predicate<T> componentPredicate;
+        private final Predicate<ElementState> statePredicate;
+        private final ElementCondition condition;
+        private final String[] predicates;
+
+        private ElementState state;
+        private Boolean value;
+        private Throwable exception;
+
+        ComponentStateMatcher(
+            String expectation,
+            Predicate<T> componentPredicate,
+            Predicate<ElementState> statePredicate,
+            ElementCondition condition,
+            String... predicates
+        ) {
+            super();
+            this.expectation = expectation;
+            this.componentPredicate = componentPredicate;
+            this.statePredicate = statePredicate;
+            this.condition = condition;
+            this.predicates = predicates;
+        }
+
+        @Override
+        public ElementCondition getCondition(Object item) {
+            if (condition != null && ElementState.hasDefaultPredicates(item.getClass(), predicates)) {
+                return condition;
+            }
+
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean matches(Object item) {
+            state = null;
+            value = null;
+            exception = null;
+
+            if (!(item instanceof ActiveSeleniumComponent component)) {
+                return false;
+            }
+
+            try {
+                if (ElementState.hasDefaultPredicates(component.getClass(), predicates)) {
+                    state = component.probeState();
+                    value = statePredicate.test(state);
+                } else {
+                    value = componentPredicate.test((T) component);
+                }
+            } catch (Throwable e) {
+                exception = e;
+
+                return false;
+            }
+
+            return value;
+        }
+
+        @Override
+        public void describeTo(Description description) {
+            description.appendText(expectation);
+
+            if (state != null) {
+                description.appendText(", but the state was : ").appendValue(state);
+            } else if (value != null) {
+                description.appendText(", but the accessor returned : ").appendValue(value);
+            }
+
+            if (exception != null) {
+                description.appendText(", \nbut the accessor caused a ").appendText(Utils.getStackTrace(exception));
+            }
+        }
+    }
+
+    private static class GenericSeleniumComponentMatcher<T extends SeleniumComponent, V>
+        extends BaseMatcher<T>
+        implements AwaitableMatcher {
 
         private final String expectation;
         private final Function<T, V> valueAccessor;
         private final Matcher<V> valueMatchcher;
+        private final ElementCondition condition;
+        private final String[] predicates;
 
         private V value;
         private boolean valueAvailable;
@@ -388,11 +514,32 @@ public final class SeleniumMatchers {
             String expectation,
             Function<T, V> valueAccessor,
             Matcher<V> valueMatchcher
+        ) {
+            this(expectation, valueAccessor, valueMatchcher, null);
+        }
+
+        GenericSeleniumComponentMatcher(
+            String expectation,
+            Function<T, V> valueAccessor,
+            Matcher<V> valueMatchcher,
+            ElementCondition condition,
+            String... predicates
         ) {
             super();
             this.expectation = expectation;
             this.valueAccessor = valueAccessor;
             this.valueMatchcher = valueMatchcher;
+            this.condition = condition;
+            this.predicates = predicates;
+        }
+
+        @Override
+        public ElementCondition getCondition(Object item) {
+            if (condition != null && ElementState.hasDefaultPredicates(item.getClass(), predicates)) {
+                return condition;
+            }
+
+            return null;
         }
 
         @SuppressWarnings("unchecked")
@@ -0,0 +1,317 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+
+/**
+ * A registry for metrics of a test run, enabled by {@link SeleniumGlobals#setMetrics(boolean)}. It records:
+ * <ul>
+ * <li>the WebDriver commands per type (findElement, executeScript, getAttribute, ...), recorded by the driver
+ * decorated by {@link #decorate(WebDriver)},</li>
+ * <li>the {@link SeleniumUtils#keepTrying(double, PollingStrategy, Callable)} waits per call site, with the number of
+ * polls and failures,</li>
+ * <li>the retries of {@link SeleniumUtils#retryOnStale(PollingStrategy, Callable)} and</li>
+ * <li>the latency of the interactions (click, sendKeys, ...) per component class.</li>
+ * </ul>
+ * Latencies are kept in {@link LatencyHistogram}s. The snapshot can be exported as JSON, either by
+ * {@link #writeJson(Path)} or automatically at the end of the run, if {@link SeleniumGlobals#getMetricsFile()} is
+ * set.
+ *
+ * @author agent
+ */
+public final class SeleniumMetrics {
+
+    /**
+     * Records the interactions and the waits, registered by the {@link SeleniumGlobals} while the metrics are enabled.
+     */
+    static final SeleniumEventListener LISTENER = new SeleniumEventListener() {
+        @Override
+        public void onEvent(SeleniumEvent event) {
+            SeleniumMetrics.onEvent(event);
+        }
+
+        @Override
+        public SeleniumWaitListener onWaitStart(SeleniumWait wait) {
+            return isEnabled() && wait.getType() == SeleniumWait.Type.KEEP_TRYING ? waitAt(wait.getCallLine()) : null;
+        }
+    };
+
+    private static final SeleniumLogger LOG = new SeleniumLogger(SeleniumMetrics.class);
+
+    private static final ConcurrentMap<String, Command> COMMANDS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Wait> WAITS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, LatencyHistogram> INTERACTIONS = new ConcurrentHashMap<>();
+    private static final LongAdder STALE_RETRIES = new LongAdder();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(SeleniumMetrics::writeJsonOnExit, "Selenium Metrics Export"));
+    }
+
+    /**
+     * The metrics of one type of WebDriver commands.
+     */
+    public static final class Command {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+
+        /**
+         * @return the latency of the commands
+         */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        /**
+         * @return the number of failed commands
+         */
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = latency.toMap();
+
+            map.put("errors", getErrors());
+
+            return map;
+        }
+    }
+
+    /**
+     * The metrics of the waits of one call site.
+     */
+    public static final class Wait implements SeleniumWaitListener {
+
+        private final LatencyHistogram elapsed = new LatencyHistogram();
+        private final LongAdder polls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        /**
+         * @return the time spent waiting
+         */
+        public LatencyHistogram getElapsed() {
+            return elapsed;
+        }
+
+        /**
+         * @return the number of calls of the callables
+         */
+        public long getPolls() {
+            return polls.sum();
+        }
+
+        /**
+         * @return the number of waits, that timed out or gave up
+         */
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        @Override
+        public void onPoll(SeleniumWait wait, long startNanos, long endNanos, boolean successful) {
+            polls.increment();
+        }
+
+        @Override
+        public void onEnd(SeleniumWait wait, Throwable failure) {
+            elapsed.record(System.nanoTime() - wait.getStartNanos());
+
+            if (failure != null) {
+                failures.increment();
+            }
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+
+            map.put("waits", elapsed.getCount());
+            map.put("polls", getPolls());
+            map.put("failures", getFailures());
+            map.put("elapsed", elapsed.toMap());
+
+            return map;
+        }
+    }
+
+    private SeleniumMetrics() {
+        super();
+    }
+
+    /**
+     * Returns true if metrics are enabled, see {@link SeleniumGlobals#isMetrics()}.
+     *
+     * @return true if enabled
+     */
+    public static boolean isEnabled() {
+        return SeleniumGlobals.isMetrics();
+    }
+
+    /**
+     * Decorates the driver, so that it records all commands. The decorated driver implements the same interfaces as
+     * the original one (e.g. JavascriptExecutor, TakesScreenshot, HasCdp). The decorated driver records the commands
+     * for the {@link SeleniumTraceRecorder}, too. A driver, that is decorated already, is returned as it is.
+     *
+     * @param driver the driver
+     * @return the decorated driver
+     */
+    public static WebDriver decorate(WebDriver driver) {
+        return CommandTimingListener.decorate(driver, false);
+    }
+
+    /**
+     * Records a WebDriver command.
+     *
+     * @param name the name of the command, like "findElement"
+     * @param durationNanos the duration
+     * @param successful true if the command succeeded
+     */
+    public static void recordCommand(String name, long durationNanos, boolean successful) {
+        Command command = COMMANDS.computeIfAbsent(name, key -> new Command());
+
+        command.latency.record(durationNanos);
+
+        if (!successful) {
+            command.errors.increment();
+        }
+    }
+
+    /**
+     * Returns the metrics of the waits of the call site.
+     *
+     * @param callSite the call site
+     * @return the metrics
+     */
+    static Wait waitAt(String callSite) {
+        return WAITS.computeIfAbsent(callSite, key -> new Wait());
+    }
+
+    /**
+     * Counts a retry of {@link SeleniumUtils#retryOnStale(PollingStrategy, Callable)}.
+     */
+    static void recordStaleRetry() {
+        STALE_RETRIES.increment();
+    }
+
+    private static void onEvent(SeleniumEvent event) {
+        if (!isEnabled() || event.type() != SeleniumEvent.Type.INTERACTION || event.component() == null) {
+            return;
+        }
+
+        INTERACTIONS.computeIfAbsent(
+            event.component().getClass().getName(),
+            key -> new LatencyHistogram()
+        ).record(event.durationNanos());
+    }
+
+    /**
+     * @return the metrics of the commands by name
+     */
+    public static Map<String, Command> getCommands() {
+        return new TreeMap<>(COMMANDS);
+    }
+
+    /**
+     * @return the metrics of the waits by call site
+     */
+    public static Map<String, Wait> getWaits() {
+        return new TreeMap<>(WAITS);
+    }
+
+    /**
+     * @return the latency of the interactions by class name of the component
+     */
+    public static Map<String, LatencyHistogram> getInteractions() {
+        return new TreeMap<>(INTERACTIONS);
+    }
+
+    /**
+     * @return the number of retries of {@link SeleniumUtils#retryOnStale(PollingStrategy, Callable)}
+     */
+    public static long getStaleRetries() {
+        return STALE_RETRIES.sum();
+    }
+
+    /**
+     * Removes all metrics.
+     */
+    public static void reset() {
+        COMMANDS.clear();
+        WAITS.clear();
+        INTERACTIONS.clear();
+        STALE_RETRIES.reset();
+    }
+
+    /**
+     * Creates a snapshot of all metrics, suitable for a JSON export.
+     *
+     * @return the snapshot
+     */
+    public static Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        Map<String, Object> commands = new LinkedHashMap<>();
+        Map<String, Object> waits = new LinkedHashMap<>();
+        Map<String, Object> interactions = new LinkedHashMap<>();
+
+        getCommands().forEach((name, command) -> commands.put(name, command.toMap()));
+        getWaits().forEach((callSite, wait) -> waits.put(callSite, wait.toMap()));
+        getInteractions().forEach((className, latency) -> interactions.put(className, latency.toMap()));
+
+        snapshot.put("timestampMillis", System.currentTimeMillis());
+        snapshot.put("commands", commands);
+        snapshot.put("waits", waits);
+        snapshot.put("staleRetries", getStaleRetries());
+        snapshot.put("interactions", interactions);
+
+        return snapshot;
+    }
+
+    /**
+     * @return the snapshot as JSON
+     */
+    public static String toJson() {
+        return new Json().toJson(snapshot());
+    }
+
+    /**
+     * Writes the snapshot as JSON to the file.
+     *
+     * @param file the file, the parent directories get created if missing
+     * @return the file
+     * @throws IOException on occasion
+     */
+    public static Path writeJson(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        return Files.writeString(file, toJson(), StandardCharsets.UTF_8);
+    }
+
+    private static void writeJsonOnExit() {
+        Path file = SeleniumGlobals.getMetricsFile();
+
+        if (file == null) {
+            return;
+        }
+
+        try {
+            writeJson(file);
+        } catch (IOException e) {
+            LOG.warn("Failed to write metrics to %s", e, file);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+/**
+ * Records a timeline of the test run in the Chrome Trace Event Format, viewable in Perfetto (ui.perfetto.dev) or
+ * chrome://tracing. Enabled by {@link SeleniumGlobals#setTraceFile(Path)}, the trace gets written to this file at the
+ * end of the run.<br>
+ * <br>
+ * Each thread gets its own track (usually a thread runs the tests of one environment). The track contains nested
+ * spans for opened pages, interactions with components, assertThatSoon and keepTrying waits with their polls and the
+ * WebDriver commands of the drivers of {@link DefaultSeleniumEnvironment}s. This shows, where serial waits stack up.
+ * The trace keeps at most {@value #MAX_EVENTS} spans, further spans are counted, but dropped.
+ *
+ * @author agent
+ */
+public final class SeleniumTraceRecorder {
+
+    /**
+     * Records the events and the polls of the waits, registered by the {@link SeleniumGlobals} while the trace file is
+     * set.
+     */
+    static final SeleniumEventListener LISTENER = new SeleniumEventListener() {
+        @Override
+        public void onEvent(SeleniumEvent event) {
+            SeleniumTraceRecorder.onEvent(event);
+        }
+
+        @Override
+        public SeleniumWaitListener onWaitStart(SeleniumWait wait) {
+            return isEnabled() && wait.getType() == SeleniumWait.Type.KEEP_TRYING ? POLLS : null;
+        }
+    };
+
+    private static final SeleniumLogger LOG = new SeleniumLogger(SeleniumTraceRecorder.class);
+
+    /**
+     * The maximum number of recorded spans.
+     */
+    public static final int MAX_EVENTS = 1_000_000;
+
+    private static final long BASE_NANOS = System.nanoTime();
+    private static final int PROCESS_ID = 1;
+
+    private static final ConcurrentLinkedQueue<Span> SPANS = new ConcurrentLinkedQueue<>();
+    private static final ConcurrentMap<Long, String> THREAD_NAMES = new ConcurrentHashMap<>();
+    private static final AtomicInteger SIZE = new AtomicInteger();
+    private static final LongAdder DROPPED = new LongAdder();
+
+    /**
+     * Records each poll of a keepTrying wait as span.
+     */
+    private static final SeleniumWaitListener POLLS = new SeleniumWaitListener() {
+        @Override
+        public void onPoll(SeleniumWait wait, long startNanos, long endNanos, boolean successful) {
+            record("poll", "poll", startNanos, endNanos, null);
+        }
+    };
+
+    static {
+        Runtime.getRuntime().addShutdownHook(
+            new Thread(SeleniumTraceRecorder::writeJsonOnExit, "Selenium Trace Export")
+        );
+    }
+
+    /**
+     * One span of the timeline.
+     *
+     * @param name the name
+     * @param category the category, like "interaction" or "command"
+     * @param startNanos the start, relative to the start of the recorder
+     * @param durationNanos the duration
+     * @param threadId the id of the thread
+     * @param args additional arguments, may be null
+     */
+    public record Span(
+        String name,
+        String category,
+        long startNanos,
+        long durationNanos,
+        long threadId,
+        Map<String, Object> args
+    ) {}
+
+    private SeleniumTraceRecorder() {
+        super();
+    }
+
+    /**
+     * Returns true if the timeline gets recorded, see {@link SeleniumGlobals#isTracing()}.
+     *
+     * @return true if enabled
+     */
+    public static boolean isEnabled() {
+        return SeleniumGlobals.isTracing();
+    }
+
+    /**
+     * Performs the action and records it as span of the current thread.
+     *
+     * @param <Any> the type of the result
+     * @param name the name
+     * @param category the category
+     * @param args additional arguments, may be null
+     * @param action the action
+     * @return the result of the action
+     */
+    public static <Any> Any span(String name, String category, Map<String, Object> args, Supplier<Any> action) {
+        long startNanos = System.nanoTime();
+        Throwable failure = null;
+
+        try {
+            return action.get();
+        } catch (RuntimeException | Error e) {
+            failure = e;
+
+            throw e;
+        } finally {
+            record(name, category, startNanos, System.nanoTime(), withFailure(args, failure));
+        }
+    }
+
+    /**
+     * Records a span of the current thread.
+     *
+     * @param name the name
+     * @param category the category
+     * @param startNanos the start, by {@link System#nanoTime()}
+     * @param endNanos the end, by {@link System#nanoTime()}
+     * @param args additional arguments, may be null
+     */
+    public static void record(String name, String category, long startNanos, long endNanos, Map<String, Object> args) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        if (SIZE.incrementAndGet() > MAX_EVENTS) {
+            SIZE.decrementAndGet();
+            DROPPED.increment();
+
+            return;
+        }
+
+        Thread thread = Thread.currentThread();
+        long threadId = thread.getId();
+
+        THREAD_NAMES.putIfAbsent(threadId, thread.getName());
+        SPANS.add(new Span(name, category, startNanos - BASE_NANOS, endNanos - startNanos, threadId, args));
+    }
+
+    private static void onEvent(SeleniumEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        // the listener is called right after the action, the start gets derived from the duration
+        long endNanos = System.nanoTime();
+        boolean navigation = event.type() == SeleniumEvent.Type.NAVIGATION;
+        Map<String, Object> args = new LinkedHashMap<>();
+
+        if (event.component() != null) {
+            args.put("component", event.describeComponent());
+        }
+
+        if (navigation) {
+            args.put("url", event.name());
+        }
+
+        record(
+            navigation ? "url" : event.name(),
+            event.type().name().toLowerCase(),
+            endNanos - event.durationNanos(),
+            endNanos,
+            withFailure(args, event.failure())
+        );
+    }
+
+    /**
+     * @return the recorded spans, in the order they have been finished
+     */
+    public static List<Span> getSpans() {
+        return new ArrayList<>(SPANS);
+    }
+
+    /**
+     * @return the number of spans dropped, because the trace was full
+     */
+    public static long getDropped() {
+        return DROPPED.sum();
+    }
+
+    /**
+     * Removes all spans.
+     */
+    public static void clear() {
+        SPANS.clear();
+        SIZE.set(0);
+        DROPPED.reset();
+    }
+
+    /**
+     * Writes the trace as JSON in the Chrome Trace Event Format to the file.
+     *
+     * @param file the file, the parent directories get created if missing
+     * @return the file
+     * @throws IOException on occasion
+     */
+    public static Path writeJson(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        try (
+            Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            JsonOutput out = new Json().newOutput(writer)
+        ) {
+            out.setPrettyPrint(false);
+            out.beginObject();
+            out.name("displayTimeUnit").write("ms");
+            out.name("traceEvents").beginArray();
+
+            out.write(metadata("process_name", 0, "selenium-components"));
+
+            THREAD_NAMES.forEach((threadId, threadName) -> out.write(metadata("thread_name", threadId, threadName)));
+
+            for (Span span : SPANS) {
+                out.write(toTraceEvent(span));
+            }
+
+            out.endArray();
+            out.name("otherData").write(Map.of("droppedSpans", getDropped()));
+            out.endObject();
+        }
+
+        return file;
+    }
+
+    private static Map<String, Object> toTraceEvent(Span span) {
+        Map<String, Object> event = new LinkedHashMap<>();
+
+        event.put("name", span.name());
+        event.put("cat", span.category());
+        event.put("ph", "X");
+        event.put("ts", span.startNanos() / 1000d);
+        event.put("dur", span.durationNanos() / 1000d);
+        event.put("pid", PROCESS_ID);
+        event.put("tid", span.threadId());
+
+        if (span.args() != null && !span.args().isEmpty()) {
+            event.put("args", span.args());
+        }
+
+        return event;
+    }
+
+    private static Map<String, Object> metadata(String name, long threadId, String value) {
+        Map<String, Object> event = new LinkedHashMap<>();
+
+        event.put("name", name);
+        event.put("ph", "M");
+        event.put("pid", PROCESS_ID);
+        event.put("tid", threadId);
+        event.put("args", Map.of("name", value));
+
+        return event;
+    }
+
+    private static Map<String, Object> withFailure(Map<String, Object> args, Throwable failure) {
+        if (failure == null) {
+            return args;
+        }
+
+        Map<String, Object> result = args != null ? new LinkedHashMap<>(args) : new LinkedHashMap<>();
+
+        result.put("failure", failure.getClass().getSimpleName() + ": " + failure.getMessage());
+
+        return result;
+    }
+
+    private static void writeJsonOnExit() {
+        Path file = SeleniumGlobals.getTraceFile();
+
+        if (file == null) {
+            return;
+        }
+
+        try {
+            writeJson(file);
+        } catch (IOException e) {
+            LOG.warn("Failed to write trace to %s", e, file);
+        }
+    }
+}
@@ -1,21 +1,22 @@
 package at.porscheinformatik.seleniumcomponents;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.openqa.selenium.StaleElementReferenceException;
 
 /**
@@ -27,18 +28,6 @@ public final class SeleniumUtils {
 
     private static final SeleniumLogger LOG = new SeleniumLogger(SeleniumUtils.class);
 
-    private static final AtomicInteger POOL_THREAD_ID = new AtomicInteger(1);
-    private static final ExecutorService POOL_THREAD_POOL = Executors.newCachedThreadPool(runnable -> {
-        Thread thread = new Thread(
-            runnable,
-            Utils.toClassName(SeleniumUtils.class) + " Pool Thread #" + POOL_THREAD_ID.getAndIncrement()
-        );
-
-        thread.setDaemon(true);
-
-        return thread;
-    });
-
     private SeleniumUtils() {
         super();
     }
@@ -191,6 +180,26 @@ public final class SeleniumUtils {
         }
     }
 
+    /**
+     * Calls the {@link Supplier} with a {@link SeleniumWaitContext}, that has already expired. While the call is
+     * running, all {@link #keepTrying(double, Callable, double)} calls (and all methods based on it) of the current
+     * thread try once and do not wait. Used to find elements without waiting for them, e.g. by
+     * {@link WebElementContainer#findNow()}.
+     *
+     * @param <Any> the type of the result
+     * @param supplier the supplier
+     * @return the result of the supplier
+     */
+    public static <Any> Any withoutWaiting(Supplier<Any> supplier) {
+        SeleniumWaitContext context = SeleniumWaitContext.open(System.currentTimeMillis());
+
+        try {
+            return supplier.get();
+        } finally {
+            context.close();
+        }
+    }
+
     /**
      * Waits some seconds. The seconds will be scaled by the {@link SeleniumGlobals#getTimeMultiplier()}.
      *
@@ -274,7 +283,7 @@ public final class SeleniumUtils {
      * @throws SeleniumTimeoutException on timeout
      */
     public static void retryOnFail(Runnable runnable) throws SeleniumException {
-        retryOnFail(SeleniumGlobals.getShortTimeoutInSeconds(), runnable, 0.1);
+        retryOnFail(SeleniumGlobals.getShortTimeoutInSeconds(), SeleniumGlobals.getPollingStrategy(), runnable);
     }
 
     /**
@@ -291,7 +300,7 @@ public final class SeleniumUtils {
      * @throws SeleniumTimeoutException on timeout
      */
     public static void retryOnFail(double timeoutInSeconds, Runnable runnable) throws SeleniumException {
-        retryOnFail(timeoutInSeconds, runnable, 0.1);
+        retryOnFail(timeoutInSeconds, SeleniumGlobals.getPollingStrategy(), runnable);
     }
 
     /**
@@ -307,15 +316,27 @@ public final class SeleniumUtils {
      */
     public static void retryOnFail(double timeoutInSeconds, Runnable runnable, double delayInSeconds)
         throws SeleniumFailException {
-        keepTrying(
-            timeoutInSeconds,
-            () -> {
-                runnable.run();
+        retryOnFail(timeoutInSeconds, PollingStrategy.exponential(delayInSeconds, 1.2, 0), runnable);
+    }
 
-                return true;
-            },
-            delayInSeconds
-        );
+    /**
+     * Keeps calling the {@link Runnable} until it does not throw an exception. If the timeout &lt;= 0 or NaN, it calls
+     * the {@link Runnable} at least once and the timeout will be ignored. The timeout will be scaled by the
+     * {@link SeleniumGlobals#getTimeMultiplier()}. If the call throws an exception at the end the exception will be
+     * wrapped by a {@link SeleniumException} and gets thrown this way.
+     *
+     * @param timeoutInSeconds the timeout (will be scaled by the {@link SeleniumGlobals#getTimeMultiplier()})
+     * @param strategy the strategy for the delays between the calls
+     * @param runnable the {@link Runnable}
+     * @throws SeleniumFailException if the call fails to produce a value in time
+     */
+    public static void retryOnFail(double timeoutInSeconds, PollingStrategy strategy, Runnable runnable)
+        throws SeleniumFailException {
+        keepTrying(timeoutInSeconds, strategy, () -> {
+            runnable.run();
+
+            return true;
+        });
     }
 
     /**
@@ -333,7 +354,7 @@ public final class SeleniumUtils {
      * @throws SeleniumTimeoutException on timeout
      */
     public static <Any> Any keepTrying(Callable<Any> callable) throws SeleniumException {
-        return keepTrying(SeleniumGlobals.getShortTimeoutInSeconds(), callable, 0.1);
+        return keepTrying(SeleniumGlobals.getShortTimeoutInSeconds(), SeleniumGlobals.getPollingStrategy(), callable);
     }
 
     /**
@@ -352,7 +373,7 @@ public final class SeleniumUtils {
      * @throws SeleniumTimeoutException on timeout
      */
     public static <Any> Any keepTrying(double timeoutInSeconds, Callable<Any> callable) throws SeleniumException {
-        return keepTrying(timeoutInSeconds, callable, 0.1);
+        return keepTrying(timeoutInSeconds, SeleniumGlobals.getPollingStrategy(), callable);
     }
 
     /**
@@ -371,56 +392,213 @@ public final class SeleniumUtils {
      */
     public static <Any> Any keepTrying(double timeoutInSeconds, Callable<Any> callable, double delayInSeconds)
         throws SeleniumFailException {
+        return keepTrying(timeoutInSeconds, PollingStrategy.exponential(delayInSeconds, 1.2, 0), callable);
+    }
+
+    /**
+     * Keeps calling the {@link Callable} until it does not throw an exception, returns an {@link Optional} with a value
+     * or another non-null value. If the timeout &lt;= 0 or NaN, it calls the {@link Callable} at least once and the
+     * timeout will be ignored. The timeout will be scaled by the {@link SeleniumGlobals#getTimeMultiplier()}. If the
+     * call throws an exception at the end the exception will be wrapped by a {@link SeleniumException} and gets thrown
+     * this way.
+     *
+     * @param <Any> the expected return type
+     * @param timeoutInSeconds the timeout (will be scaled by the {@link SeleniumGlobals#getTimeMultiplier()})
+     * @param strategy the strategy for the delays between the calls
+     * @param callable the {@link Callable}
+     * @return the result or the call
+     * @throws SeleniumFailException if the call fails to produce a value in time
+     */
+    public static <Any> Any keepTrying(double timeoutInSeconds, PollingStrategy strategy, Callable<Any> callable)
+        throws SeleniumFailException {
+        return keepTrying(timeoutInSeconds, strategy, callable, null);
+    }
+
+    /**
+     * Same as {@link #keepTrying(double, PollingStrategy, Callable)}, but captures an {@link EarlyWarningSnapshot} of
+     * the subject, if the wait is slow and if it is the outermost wait of the current thread.
+     *
+     * @param <Any> the expected return type
+     * @param timeoutInSeconds the timeout (will be scaled by the {@link SeleniumGlobals#getTimeMultiplier()})
+     * @param strategy the strategy for the delays between the calls
+     * @param callable the {@link Callable}
+     * @param subject the supplier of the subject of the wait, called between two polls, may be null
+     * @return the result or the call
+     * @throws SeleniumFailException if the call fails to produce a value in time
+     */
+    static <Any> Any keepTrying(
+        double timeoutInSeconds,
+        PollingStrategy strategy,
+        Callable<Any> callable,
+        Supplier<SeleniumComponent> subject
+    ) throws SeleniumFailException {
         double scaledTimeoutInSeconds = scaleTimeout(timeoutInSeconds);
-        double maxDelayInSeconds = scaledTimeoutInSeconds / 20;
+        long startMillis = System.currentTimeMillis();
+
+        // an enclosing wait may have less time left than this one
+        long endMillis = SeleniumWaitContext.limitDeadlineMillis((long) (startMillis + scaledTimeoutInSeconds * 1000));
 
-        if ((long) (scaledTimeoutInSeconds * 1000) <= 0) {
+        if ((long) (scaledTimeoutInSeconds * 1000) <= 0 || endMillis <= startMillis) {
             return tryOnce(callable);
         }
 
+        SeleniumWait wait = SeleniumWait.start(
+            SeleniumWait.Type.KEEP_TRYING,
+            scaledTimeoutInSeconds,
+            startMillis,
+            endMillis,
+            subject
+        );
+        // the listeners may have limited the deadline
+        long limitedEndMillis = wait != null ? wait.getEndMillis() : endMillis;
+        Callable<Any> observedCallable = wait != null ? wait.observe(callable, SeleniumUtils::isResult) : callable;
+        SeleniumFailException failure = null;
+        SeleniumWaitContext context = SeleniumWaitContext.open(limitedEndMillis);
+
         try {
-            Any result = null;
-            long endMillis = (long) (System.currentTimeMillis() + scaledTimeoutInSeconds * 1000);
+            return LOG.event(SeleniumEvent.Type.WAIT, "keepTrying", null, () ->
+                poll(
+                    strategy,
+                    startMillis,
+                    limitedEndMillis,
+                    observedCallable,
+                    e -> true,
+                    SeleniumUtils::isResult,
+                    (e, timedOut) ->
+                        timedOut && e == null
+                            ? new SeleniumFailException(
+                                LOG.hintAt(
+                                    "Keep trying timed out (%,.1f seconds)",
+                                    (limitedEndMillis - startMillis) / 1000d
+                                )
+                            )
+                            : new SeleniumFailException(LOG.hintAt("Keep trying failed"), e)
+                )
+            );
+        } catch (SeleniumFailException e) {
+            failure = e;
 
-            while (true) {
-                long nextTickMillis = (long) (System.currentTimeMillis() + delayInSeconds * 1000);
+            throw failure;
+        } catch (Throwable e) {
+            failure = new SeleniumFailException(LOG.hintAt("Keep trying failed"), e);
 
-                // slowly increase the delay to reduce resource usage
-                delayInSeconds = Math.min(delayInSeconds * 1.2, maxDelayInSeconds);
+            throw failure;
+        } finally {
+            context.close();
 
-                try {
-                    result = callable.call();
-                } catch (Throwable e) {
-                    if (System.currentTimeMillis() > endMillis) {
-                        throw new SeleniumFailException(LOG.hintAt("Keep trying failed"), e);
-                    }
-                }
+            if (wait != null) {
+                wait.end(failure);
+            }
+        }
+    }
+
+    /**
+     * Passes the wait of {@link #callWithTimeout(double, Callable)} or
+     * {@link #retryOnStale(PollingStrategy, Callable)} to the {@link SeleniumEventListener}s. Just performs the action,
+     * if there is no wait.
+     */
+    private static <Any> Any observeWait(SeleniumWait wait, Supplier<Any> action) {
+        if (wait == null) {
+            return action.get();
+        }
+
+        Throwable failure = null;
+
+        try {
+            return action.get();
+        } catch (RuntimeException | Error e) {
+            failure = e;
+
+            throw e;
+        } finally {
+            wait.end(failure);
+        }
+    }
+
+    /**
+     * Creates the exception, if {@link #poll(PollingStrategy, long, long, Callable, Predicate, Predicate, Failure)}
+     * gives up.
+     */
+    @FunctionalInterface
+    private interface Failure {
+        /**
+         * @param exception the exception of the last call, null if the last call returned a result, that was not
+         * accepted
+         * @param timedOut true if the deadline has been reached, false if the strategy gave up or if the exception
+         * cannot be retried
+         * @return the exception to throw
+         */
+        RuntimeException create(Throwable exception, boolean timedOut);
+    }
 
-                if (result instanceof Optional) {
-                    if (((Optional<?>) result).isPresent()) {
-                        return result;
+    /**
+     * The loop of all retry helpers. Calls the {@link Callable} until it returns an accepted result, the deadline is
+     * reached or the strategy gives up. Exceptions, that cannot be retried, are passed to the failure immediately
+     * (errors are thrown as they are).
+     */
+    private static <Any> Any poll(
+        PollingStrategy strategy,
+        long startMillis,
+        long endMillis,
+        Callable<Any> callable,
+        Predicate<Throwable> retryable,
+        Predicate<Any> accepted,
+        Failure failure
+    ) {
+        PollingStrategy.Poll poll = strategy.start(endMillis - startMillis);
+        int attempt = 0;
+
+        while (true) {
+            Throwable exception = null;
+
+            attempt++;
+
+            try {
+                Any result = callable.call();
+
+                if (accepted.test(result)) {
+                    if (attempt > 1) {
+                        poll.succeeded(System.currentTimeMillis() - startMillis);
                     }
-                } else if (result != null) {
+
                     return result;
                 }
+            } catch (Throwable e) {
+                if (!retryable.test(e)) {
+                    if (e instanceof Error error) {
+                        throw error;
+                    }
 
-                long currentMillis = System.currentTimeMillis();
-
-                if (currentMillis > endMillis) {
-                    throw new SeleniumFailException(
-                        LOG.hintAt("Keep trying timed out (%,.1f seconds)", scaledTimeoutInSeconds)
-                    );
+                    throw failure.create(e, false);
                 }
 
-                waitUntil(nextTickMillis);
+                exception = e;
             }
-        } catch (SeleniumFailException e) {
-            throw e;
-        } catch (Throwable e) {
-            throw new SeleniumFailException(LOG.hintAt("Keep trying failed"), e);
+
+            long currentMillis = System.currentTimeMillis();
+
+            if (currentMillis >= endMillis) {
+                throw failure.create(exception, true);
+            }
+
+            long delayMillis = poll.nextDelayMillis();
+
+            if (delayMillis < 0) {
+                throw failure.create(exception, false);
+            }
+
+            waitUntil(Math.min(currentMillis + delayMillis, endMillis));
         }
     }
 
+    private static boolean isResult(Object result) {
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent();
+        }
+
+        return result != null;
+    }
+
     private static <Any> Any tryOnce(Callable<Any> callable) {
         Any result;
 
@@ -456,8 +634,40 @@ public final class SeleniumUtils {
     public static <Any> Any callWithTimeout(double timeoutInSeconds, Callable<Any> callable)
         throws SeleniumException, SeleniumInterruptedException, SeleniumTimeoutException {
         double scaledTimeoutInSeconds = scaleTimeout(timeoutInSeconds);
+        long startMillis = System.currentTimeMillis();
+        SeleniumWait wait = SeleniumWait.start(
+            SeleniumWait.Type.CALL_WITH_TIMEOUT,
+            scaledTimeoutInSeconds,
+            startMillis,
+            Double.isFinite(scaledTimeoutInSeconds) && scaledTimeoutInSeconds > 0
+                ? (long) (startMillis + scaledTimeoutInSeconds * 1000)
+                : Long.MAX_VALUE,
+            null
+        );
 
-        Future<Any> future = POOL_THREAD_POOL.submit(ThreadUtils.persistCallLine(callable));
+        if (wait == null) {
+            return submitWithTimeout(scaledTimeoutInSeconds, callable);
+        }
+
+        return observeWait(wait, () -> {
+            long startNanos = System.nanoTime();
+            boolean successful = false;
+
+            try {
+                Any result = submitWithTimeout(scaledTimeoutInSeconds, callable);
+
+                successful = true;
+
+                return result;
+            } finally {
+                // the call runs in another thread, the listeners get it in the thread of the wait
+                wait.polled(startNanos, System.nanoTime(), successful);
+            }
+        });
+    }
+
+    private static <Any> Any submitWithTimeout(double scaledTimeoutInSeconds, Callable<Any> callable) {
+        Future<Any> future = SeleniumGlobals.getExecutorService().submit(ThreadUtils.persistCallLine(callable));
 
         try {
             if (
@@ -526,7 +736,7 @@ public final class SeleniumUtils {
     ) {
         Callable<Any> parallelTask = ThreadUtils.persistCallLine(callable);
 
-        return POOL_THREAD_POOL.submit(() -> {
+        return SeleniumGlobals.getExecutorService().submit(() -> {
             Any result = null;
 
             try {
@@ -548,16 +758,16 @@ public final class SeleniumUtils {
     }
 
     /**
-     * Calls the {@link Callable} "iterationCount" times. Uses "threadCount" threads for this task. The total timeout is
-     * estimated by the iteration count and the thread count. The timeout will be scaled by the
-     * {@link SeleniumGlobals#getTimeMultiplier()}.
+     * Calls the {@link Callable} "iterationCount" times. Uses "threadCount" threads for this task. The timeout is
+     * increased with the thread count, because the calls compete for resources. The first failure or timeout cancels
+     * all other calls. The timeout will be scaled by the {@link SeleniumGlobals#getTimeMultiplier()}.
      *
      * @param <Any> the expected return type
      * @param iterationCount the iterationCount
      * @param threadCount the threadCount
      * @param timeoutPerCallableInSeconds the timeout for one (!) call
      * @param callable the {@link Callable}
-     * @return a list of results
+     * @return a list of results, in the order of the iterations
      * @throws SeleniumException wrapper for exceptions
      * @throws SeleniumInterruptedException on process interruption
      * @throws SeleniumTimeoutException on timeout
@@ -568,43 +778,87 @@ public final class SeleniumUtils {
         double timeoutPerCallableInSeconds,
         Callable<Any> callable
     ) throws SeleniumException, SeleniumInterruptedException, SeleniumTimeoutException {
-        Semaphore semaphore = new Semaphore(threadCount);
-        Callable<Any> worker = () -> {
-            try {
-                return callable.call();
-            } finally {
-                semaphore.release();
-            }
-        };
+        List<Any> results = new ArrayList<>(Collections.nCopies(iterationCount, null));
 
         // increase the timeout for each callable if multiple callables are executed in parallel
-        timeoutPerCallableInSeconds = timeoutPerCallableInSeconds * (1 + Math.log10(threadCount));
-
-        // the total timeout shrinks with the thread count
-        double totalTimeoutInSeconds = (timeoutPerCallableInSeconds * iterationCount) / threadCount;
-
-        return callWithTimeout(totalTimeoutInSeconds, () -> {
-            List<Future<Any>> futures = new ArrayList<>();
+        parallel(
+            iterationCount,
+            threadCount,
+            timeoutPerCallableInSeconds * (1 + Math.log10(Math.max(1, threadCount))),
+            callable,
+            result -> results.set(result.index(), result.value())
+        );
 
-            for (int i = 0; i < iterationCount; i += 1) {
-                try {
-                    // make sure, that not too many callables are executed parallel
-                    semaphore.acquire();
-                } catch (InterruptedException e) {
-                    throw new SeleniumInterruptedException("Adding callables to thread pool got interrupted");
-                }
+        return results;
+    }
 
-                futures.add(POOL_THREAD_POOL.submit(worker));
+    /**
+     * Calls the {@link Callable} "iterationCount" times. Executes at most "threadCount" calls at once. Passes the
+     * results to the consumer in the order of completion, the consumer gets called in the current thread. Each call
+     * has its own deadline, starting when the call starts. The first failure or timeout (and any exception of the
+     * consumer) cancels all other calls. The timeout will be scaled by the
+     * {@link SeleniumGlobals#getTimeMultiplier()}.
+     *
+     * @param <Any> the expected return type
+     * @param iterationCount the iterationCount
+     * @param threadCount the threadCount
+     * @param timeoutPerCallableInSeconds the timeout for each call
+     * @param callable the {@link Callable}
+     * @param consumer the consumer for the results, including the index and the duration of each call
+     * @throws SeleniumException wrapper for exceptions
+     * @throws SeleniumInterruptedException on process interruption
+     * @throws SeleniumTimeoutException on timeout
+     */
+    public static <Any> void parallel(
+        int iterationCount,
+        int threadCount,
+        double timeoutPerCallableInSeconds,
+        Callable<Any> callable,
+        Consumer<ParallelResult<Any>> consumer
+    ) throws SeleniumException, SeleniumInterruptedException, SeleniumTimeoutException {
+        try (
+            ParallelExecution<Any> execution = new ParallelExecution<>(
+                iterationCount,
+                threadCount,
+                scaleTimeout(timeoutPerCallableInSeconds),
+                callable
+            )
+        ) {
+            while (execution.hasNext()) {
+                consumer.accept(execution.next());
             }
+        }
+    }
 
-            List<Any> results = new ArrayList<>();
-
-            for (Future<Any> future : futures) {
-                results.add(future.get());
-            }
+    /**
+     * Calls the {@link Callable} "iterationCount" times, like
+     * {@link #parallel(int, int, double, Callable, Consumer)}, but returns the results as {@link Stream} in the order
+     * of completion. The calls start with the terminal operation of the stream. The stream should be closed (e.g. with
+     * a try-with-resources statement), to cancel the remaining calls, if it does not get consumed completely.
+     *
+     * @param <Any> the expected return type
+     * @param iterationCount the iterationCount
+     * @param threadCount the threadCount
+     * @param timeoutPerCallableInSeconds the timeout for each call
+     * @param callable the {@link Callable}
+     * @return the stream of results, fails with a {@link SeleniumException} on the first failure or timeout
+     */
+    public static <Any> Stream<ParallelResult<Any>> parallelStream(
+        int iterationCount,
+        int threadCount,
+        double timeoutPerCallableInSeconds,
+        Callable<Any> callable
+    ) {
+        ParallelExecution<Any> execution = new ParallelExecution<>(
+            iterationCount,
+            threadCount,
+            scaleTimeout(timeoutPerCallableInSeconds),
+            callable
+        );
 
-            return results;
-        });
+        return StreamSupport
+            .stream(Spliterators.spliterator(execution, iterationCount, Spliterator.NONNULL), false)
+            .onClose(execution::close);
     }
 
     private static double scaleTime(double time) {
@@ -622,74 +876,79 @@ public final class SeleniumUtils {
     /**
      * Sometimes it is possible that we want to perform a operation on an element. But some JavaScript is currently
      * messing around with the DOM. Then we have a stale element and an exception is thrown. We can retry to perform the
-     * operation on the element again and it should work.
+     * operation on the element again and it should work. Uses the {@link SeleniumGlobals#getStalePollingStrategy()}
+     * and does not retry after the deadline of the current {@link SeleniumWaitContext}.
      *
      * @param <Any> type of return value
      * @param callable the operation to perform
      * @return the operations result
      */
     public static <Any> Any retryOnStale(Callable<Any> callable) {
-        int attempts = 3;
+        return retryOnStale(
+            SeleniumGlobals.isDebug() ? PollingStrategy.fixed(0.1) : SeleniumGlobals.getStalePollingStrategy(),
+            callable
+        );
+    }
 
-        while (true) {
-            long nextTickMillis = System.currentTimeMillis() + 100;
+    /**
+     * Sometimes it is possible that we want to perform a operation on an element. But some JavaScript is currently
+     * messing around with the DOM. Then we have a stale element and an exception is thrown. We can retry to perform the
+     * operation on the element again and it should work. Does not retry after the deadline of the current
+     * {@link SeleniumWaitContext}.
+     *
+     * @param <Any> type of return value
+     * @param strategy the strategy for the delays between the calls and the number of attempts
+     * @param callable the operation to perform
+     * @return the operations result
+     */
+    public static <Any> Any retryOnStale(PollingStrategy strategy, Callable<Any> callable) {
+        long startMillis = System.currentTimeMillis();
+        long endMillis = SeleniumWaitContext.currentDeadlineMillis();
+        SeleniumWait wait = SeleniumWait.start(SeleniumWait.Type.RETRY_ON_STALE, Double.NaN, startMillis, endMillis, null);
+
+        return observeWait(wait, () ->
+            poll(
+                strategy,
+                startMillis,
+                wait != null ? wait.getEndMillis() : endMillis,
+                wait != null ? wait.observe(callable, result -> true) : callable,
+                e -> {
+                    if (!(e instanceof StaleElementReferenceException)) {
+                        return false;
+                    }
 
-            try {
-                return callable.call();
-            } catch (StaleElementReferenceException e) {
-                if (!SeleniumGlobals.isDebug()) {
-                    attempts--;
-                }
+                    AbstractSeleniumComponent.invalidateCachedElements();
 
-                if (attempts <= 0) {
-                    throw e;
-                }
+                    if (SeleniumGlobals.isMetrics()) {
+                        SeleniumMetrics.recordStaleRetry();
+                    }
 
-                LOG.trace("Element is stale, retrying ...");
+                    LOG.trace("Element is stale, retrying ...");
 
-                waitUntil(nextTickMillis);
-            } catch (RuntimeException e) {
-                throw e;
-            } catch (Exception e) {
-                throw new SeleniumException(LOG.hintAt("Call failed in retryOnStale()"), e);
-            }
-        }
+                    return true;
+                },
+                result -> true,
+                (e, timedOut) ->
+                    e instanceof RuntimeException runtimeException
+                        ? runtimeException
+                        : new SeleniumException(LOG.hintAt("Call failed in retryOnStale()"), e)
+            )
+        );
     }
 
     /**
      * Sometimes it is possible that we want to perform a operation on an element. But some JavaScript is currently
      * messing around with the DOM. Then we have a stale element and an exception is thrown. We can retry to perform the
-     * operation on the element again and it should work.
+     * operation on the element again and it should work. Uses the {@link SeleniumGlobals#getStalePollingStrategy()}
+     * and does not retry after the deadline of the current {@link SeleniumWaitContext}.
      *
      * @param runnable the operation to perform
      */
     public static void retryOnStale(Runnable runnable) {
-        int attempts = 3;
-
-        while (true) {
-            long nextTickMillis = System.currentTimeMillis() + 100;
+        retryOnStale(() -> {
+            runnable.run();
 
-            try {
-                runnable.run();
-
-                return;
-            } catch (StaleElementReferenceException e) {
-                if (!SeleniumGlobals.isDebug()) {
-                    attempts--;
-                }
-
-                if (attempts <= 0) {
-                    throw e;
-                }
-
-                LOG.trace("Element is stale, retrying ...");
-
-                waitUntil(nextTickMillis);
-            } catch (RuntimeException e) {
-                throw e;
-            } catch (Exception e) {
-                throw new SeleniumException(LOG.hintAt("Call failed in retryOnStale()"), e);
-            }
-        }
+            return null;
+        });
     }
 }
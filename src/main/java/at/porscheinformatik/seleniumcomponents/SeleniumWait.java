@@ -0,0 +1,292 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A wait of {@link SeleniumUtils#keepTrying(double, PollingStrategy, Callable)},
+ * {@link SeleniumUtils#retryOnStale(PollingStrategy, Callable)} or
+ * {@link SeleniumUtils#callWithTimeout(double, Callable)}, passed to
+ * {@link SeleniumEventListener#onWaitStart(SeleniumWait)}. The metrics, the trace, the management, the Java Flight
+ * Recorder events, the early warning snapshots and the adaptive timeouts observe the waits this way. The wait is used
+ * by its thread, only.
+ *
+ * @author agent
+ */
+public final class SeleniumWait {
+
+    private static final SeleniumLogger LOG = new SeleniumLogger(SeleniumWait.class);
+
+    /**
+     * The type of a wait.
+     */
+    public enum Type {
+        /**
+         * A wait of {@link SeleniumUtils#keepTrying(double, PollingStrategy, Callable)}.
+         */
+        KEEP_TRYING("keepTrying"),
+
+        /**
+         * The retries of {@link SeleniumUtils#retryOnStale(PollingStrategy, Callable)}.
+         */
+        RETRY_ON_STALE("retryOnStale"),
+
+        /**
+         * A call of {@link SeleniumUtils#callWithTimeout(double, Callable)}.
+         */
+        CALL_WITH_TIMEOUT("callWithTimeout");
+
+        private final String methodName;
+
+        Type(String methodName) {
+            this.methodName = methodName;
+        }
+
+        /**
+         * @return the name of the method, like "keepTrying"
+         */
+        public String getMethodName() {
+            return methodName;
+        }
+    }
+
+    private final Type type;
+    private final double timeoutInSeconds;
+    private final long startMillis;
+    private final long startNanos;
+    private final boolean outermost;
+    private final Supplier<SeleniumComponent> subject;
+    private final List<SeleniumWaitListener> listeners = new ArrayList<>();
+
+    // read by the management
+    private volatile long endMillis;
+    private String callLine;
+    private int polls = 0;
+
+    private SeleniumWait(
+        Type type,
+        double timeoutInSeconds,
+        long startMillis,
+        long endMillis,
+        Supplier<SeleniumComponent> subject
+    ) {
+        super();
+
+        this.type = type;
+        this.timeoutInSeconds = timeoutInSeconds;
+        this.startMillis = startMillis;
+        this.endMillis = endMillis;
+        this.subject = subject;
+
+        startNanos = System.nanoTime();
+        outermost = !SeleniumWaitContext.isWaiting();
+    }
+
+    /**
+     * Starts the wait and passes it to the {@link SeleniumEventListener}s. Must be called before the wait opens its
+     * {@link SeleniumWaitContext}. The listeners may limit the deadline, the wait must use {@link #getEndMillis()}
+     * afterwards. Without listeners, no wait gets created.
+     *
+     * @param type the type
+     * @param timeoutInSeconds the configured timeout, scaled by the {@link SeleniumGlobals#getTimeMultiplier()}
+     * @param startMillis the start in epoch millis
+     * @param endMillis the deadline in epoch millis
+     * @param subject the supplier of the subject of the wait, may be null
+     * @return the wait, must be ended, null if there are no listeners
+     */
+    static SeleniumWait start(
+        Type type,
+        double timeoutInSeconds,
+        long startMillis,
+        long endMillis,
+        Supplier<SeleniumComponent> subject
+    ) {
+        if (!SeleniumLogger.hasEventListeners()) {
+            return null;
+        }
+
+        SeleniumWait wait = new SeleniumWait(type, timeoutInSeconds, startMillis, endMillis, subject);
+
+        for (SeleniumEventListener listener : SeleniumLogger.getEventListeners()) {
+            try {
+                SeleniumWaitListener waitListener = listener.onWaitStart(wait);
+
+                if (waitListener != null) {
+                    wait.listeners.add(waitListener);
+                }
+            } catch (RuntimeException e) {
+                LOG.warn("Event listener %s failed", e, listener);
+            }
+        }
+
+        return wait;
+    }
+
+    /**
+     * @return the type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the name of the method, like "keepTrying"
+     */
+    public String getName() {
+        return type.getMethodName();
+    }
+
+    /**
+     * @return the configured timeout in seconds, scaled by the {@link SeleniumGlobals#getTimeMultiplier()}, NaN if
+     * the wait has no timeout of its own
+     */
+    public double getTimeoutInSeconds() {
+        return timeoutInSeconds;
+    }
+
+    /**
+     * @return the start in epoch millis
+     */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    /**
+     * @return the start by {@link System#nanoTime()}
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * @return the deadline in epoch millis
+     */
+    public long getEndMillis() {
+        return endMillis;
+    }
+
+    /**
+     * Limits the deadline of the wait. Only effective, when called by
+     * {@link SeleniumEventListener#onWaitStart(SeleniumWait)}.
+     *
+     * @param endMillis the deadline in epoch millis
+     */
+    public void limitEndMillis(long endMillis) {
+        this.endMillis = Math.min(this.endMillis, endMillis);
+    }
+
+    /**
+     * @return true if the wait is not nested in another wait of the same thread
+     */
+    public boolean isOutermost() {
+        return outermost;
+    }
+
+    /**
+     * Returns the subject of the wait, e.g. the tested component of
+     * {@link SeleniumAsserts#assertThatSoon(FailableSupplier, org.hamcrest.Matcher)}.
+     *
+     * @return the subject, null if unknown
+     */
+    public SeleniumComponent getSubject() {
+        return subject != null ? subject.get() : null;
+    }
+
+    /**
+     * Returns the call line of the wait. It is described once per wait and shared by all listeners.
+     *
+     * @return the call line, see {@link ThreadUtils#describeCallLine()}
+     */
+    public String getCallLine() {
+        if (callLine == null) {
+            callLine = ThreadUtils.describeCallLine();
+        }
+
+        return callLine;
+    }
+
+    /**
+     * @return the number of calls of the callable, so far
+     */
+    public int getPolls() {
+        return polls;
+    }
+
+    /**
+     * Wraps the callable of the wait, that it passes each call to the listeners. Returns the callable itself, if there
+     * are no listeners.
+     *
+     * @param <Any> the type of the result
+     * @param callable the callable
+     * @param isResult tells, if the result of the call ends the wait
+     * @return the callable
+     */
+    <Any> Callable<Any> observe(Callable<Any> callable, Predicate<Any> isResult) {
+        if (listeners.isEmpty()) {
+            return callable;
+        }
+
+        return () -> {
+            long pollStartNanos = System.nanoTime();
+            boolean successful = false;
+
+            try {
+                Any result = callable.call();
+
+                successful = isResult.test(result);
+
+                return result;
+            } finally {
+                polled(pollStartNanos, System.nanoTime(), successful);
+            }
+        };
+    }
+
+    /**
+     * Passes a call of the callable to the listeners.
+     *
+     * @param pollStartNanos the start of the call, by {@link System#nanoTime()}
+     * @param pollEndNanos the end of the call, by {@link System#nanoTime()}
+     * @param successful true if the call produced a result
+     */
+    void polled(long pollStartNanos, long pollEndNanos, boolean successful) {
+        polls++;
+
+        for (SeleniumWaitListener listener : listeners) {
+            try {
+                listener.onPoll(this, pollStartNanos, pollEndNanos, successful);
+            } catch (RuntimeException e) {
+                LOG.warn("Wait listener %s failed", e, listener);
+            }
+        }
+    }
+
+    /**
+     * Ends the wait and passes it to the listeners.
+     *
+     * @param failure the failure, that gets thrown by the wait, null if successful
+     */
+    void end(Throwable failure) {
+        for (SeleniumWaitListener listener : listeners) {
+            try {
+                listener.onEnd(this, failure);
+            } catch (RuntimeException e) {
+                LOG.warn("Wait listener %s failed", e, listener);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%s (%,.1f of %,.1f seconds, %d polls)",
+            getName(),
+            (System.currentTimeMillis() - startMillis) / 1000d,
+            (endMillis - startMillis) / 1000d,
+            polls
+        );
+    }
+}
@@ -0,0 +1,120 @@
+package at.porscheinformatik.seleniumcomponents;
+
+/**
+ * Carries the deadline of the outermost wait of the current thread. Waits nest (e.g.
+ * {@link SeleniumAsserts#assertThatSoon(FailableSupplier, org.hamcrest.Matcher)} calls a component, that waits for its
+ * element), and without a common deadline, the worst case duration would be the product of all timeouts. Each wait
+ * opens a context with its own deadline, but the effective deadline is never later than the one of the enclosing
+ * context. Contexts must be closed in the reverse order, they have been opened, best with a try-with-resources
+ * statement:
+ *
+ * <pre>
+ * try (SeleniumWaitContext context = SeleniumWaitContext.open(endMillis)) {
+ *     // wait until context.getDeadlineMillis()
+ * }
+ * </pre>
+ *
+ * @author agent
+ */
+public final class SeleniumWaitContext implements AutoCloseable {
+
+    private static final ThreadLocal<SeleniumWaitContext> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Opens a new context for the current thread. The deadline of the context is the specified deadline or the
+     * deadline of the enclosing context, whichever comes first.
+     *
+     * @param deadlineMillis the deadline in epoch millis
+     * @return the context, must be closed
+     */
+    public static SeleniumWaitContext open(long deadlineMillis) {
+        SeleniumWaitContext parent = CURRENT.get();
+        SeleniumWaitContext context = new SeleniumWaitContext(
+            parent,
+            parent != null ? Math.min(parent.deadlineMillis, deadlineMillis) : deadlineMillis
+        );
+
+        CURRENT.set(context);
+
+        return context;
+    }
+
+    /**
+     * Returns true if there is a wait in progress in the current thread.
+     *
+     * @return true if a context is open
+     */
+    public static boolean isWaiting() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Returns the deadline of the current context.
+     *
+     * @return the deadline in epoch millis, {@link Long#MAX_VALUE} if there is no wait in progress
+     */
+    public static long currentDeadlineMillis() {
+        SeleniumWaitContext context = CURRENT.get();
+
+        return context != null ? context.deadlineMillis : Long.MAX_VALUE;
+    }
+
+    /**
+     * Limits the specified deadline to the deadline of the current context.
+     *
+     * @param deadlineMillis the deadline in epoch millis
+     * @return the deadline, that is not later than the one of the current context
+     */
+    public static long limitDeadlineMillis(long deadlineMillis) {
+        return Math.min(deadlineMillis, currentDeadlineMillis());
+    }
+
+    /**
+     * Returns true if the deadline of the current context has passed. Returns false if there is no wait in progress.
+     *
+     * @return true if expired
+     */
+    public static boolean isExpired() {
+        return System.currentTimeMillis() >= currentDeadlineMillis();
+    }
+
+    private final SeleniumWaitContext parent;
+    private final long deadlineMillis;
+
+    private SeleniumWaitContext(SeleniumWaitContext parent, long deadlineMillis) {
+        super();
+        this.parent = parent;
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    /**
+     * @return the deadline of this context in epoch millis
+     */
+    public long getDeadlineMillis() {
+        return deadlineMillis;
+    }
+
+    /**
+     * @return the remaining milliseconds until the deadline, never less than 0
+     */
+    public long getRemainingMillis() {
+        return Math.max(0, deadlineMillis - System.currentTimeMillis());
+    }
+
+    /**
+     * Closes the context and restores the enclosing one.
+     */
+    @Override
+    public void close() {
+        if (parent != null) {
+            CURRENT.set(parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SeleniumWaitContext [remaining=%,d ms]", getRemainingMillis());
+    }
+}
@@ -0,0 +1,27 @@
+package at.porscheinformatik.seleniumcomponents;
+
+/**
+ * Observes one {@link SeleniumWait}, returned by {@link SeleniumEventListener#onWaitStart(SeleniumWait)}. It is called
+ * synchronously in the thread of the wait. It should be fast, interactions with components delay the wait.
+ *
+ * @author agent
+ */
+public interface SeleniumWaitListener {
+    /**
+     * Called after each call of the callable of the wait.
+     *
+     * @param wait the wait
+     * @param startNanos the start of the call, by {@link System#nanoTime()}
+     * @param endNanos the end of the call, by {@link System#nanoTime()}
+     * @param successful true if the call produced a result
+     */
+    default void onPoll(SeleniumWait wait, long startNanos, long endNanos, boolean successful) {}
+
+    /**
+     * Called when the wait ends. The listener may add suppressed exceptions to the failure, before it gets thrown.
+     *
+     * @param wait the wait
+     * @param failure the failure of the wait, null if successful
+     */
+    default void onEnd(SeleniumWait wait, Throwable failure) {}
+}
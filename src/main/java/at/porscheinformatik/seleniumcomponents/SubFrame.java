@@ -23,6 +23,7 @@ public class SubFrame implements AutoCloseable {
     public void close() {
         try {
             environment.getDriver().switchTo().defaultContent();
+            environment.nextGeneration();
         } catch (Exception e) {
             LOG.info("Failed to switch to default content. The browser may have died already", e);
         }
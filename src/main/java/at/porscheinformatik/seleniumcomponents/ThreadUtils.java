@@ -1,9 +1,13 @@
 package at.porscheinformatik.seleniumcomponents;
 
-import java.util.ArrayList;
+import java.lang.StackWalker.StackFrame;
+import java.util.AbstractList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
@@ -14,9 +18,81 @@ import java.util.regex.Pattern;
  */
 public final class ThreadUtils {
 
+    private static final String UNKNOWN_CALL_LINE = "(?:?)";
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
     private static final ThreadLocal<Supplier<String>> PARENT_THREAD_CALL_LINE_SUPPLIER = new ThreadLocal<>();
-    private static final List<Pattern> INCLUDED_CALL_ELEMENTS = new ArrayList<>();
-    private static final List<Pattern> EXCLUDED_CALL_ELEMENTS = new ArrayList<>();
+    private static final CallElementPatterns INCLUDED_CALL_ELEMENTS = new CallElementPatterns();
+    private static final CallElementPatterns EXCLUDED_CALL_ELEMENTS = new CallElementPatterns();
+
+    /**
+     * Caches the decision of the patterns by class name and method name. The stack frames return the same name
+     * instances for the same method, thus a lookup needs no allocation. Replaced, when the patterns change.
+     */
+    private static volatile Map<String, Map<String, Boolean>> callElementCache = new ConcurrentHashMap<>();
+
+    /**
+     * The patterns of the call elements. Modifications replace the cache of the decisions.
+     */
+    private static final class CallElementPatterns extends AbstractList<Pattern> {
+
+        private final CopyOnWriteArrayList<Pattern> patterns = new CopyOnWriteArrayList<>();
+
+        boolean addIfAbsent(Pattern pattern) {
+            if (!patterns.addIfAbsent(Objects.requireNonNull(pattern))) {
+                return false;
+            }
+
+            callElementCache = new ConcurrentHashMap<>();
+
+            return true;
+        }
+
+        boolean matchesAny(String methodName) {
+            for (Pattern pattern : patterns) {
+                if (pattern.matcher(methodName).matches()) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        public Pattern get(int index) {
+            return patterns.get(index);
+        }
+
+        @Override
+        public int size() {
+            return patterns.size();
+        }
+
+        @Override
+        public Pattern set(int index, Pattern pattern) {
+            Pattern previousPattern = patterns.set(index, Objects.requireNonNull(pattern));
+
+            callElementCache = new ConcurrentHashMap<>();
+
+            return previousPattern;
+        }
+
+        @Override
+        public void add(int index, Pattern pattern) {
+            patterns.add(index, Objects.requireNonNull(pattern));
+
+            callElementCache = new ConcurrentHashMap<>();
+        }
+
+        @Override
+        public Pattern remove(int index) {
+            Pattern pattern = patterns.remove(index);
+
+            callElementCache = new ConcurrentHashMap<>();
+
+            return pattern;
+        }
+    }
 
     private ThreadUtils() {
         super();
@@ -30,11 +106,7 @@ public final class ThreadUtils {
      * @param pattern the pattern
      */
     public static void includeCallElement(Pattern pattern) {
-        if (INCLUDED_CALL_ELEMENTS.contains(pattern)) {
-            return;
-        }
-
-        INCLUDED_CALL_ELEMENTS.add(Objects.requireNonNull(pattern));
+        INCLUDED_CALL_ELEMENTS.addIfAbsent(pattern);
     }
 
     /**
@@ -55,11 +127,7 @@ public final class ThreadUtils {
      * @param pattern the pattern
      */
     public static void excludeCallElement(Pattern pattern) {
-        if (EXCLUDED_CALL_ELEMENTS.contains(pattern)) {
-            return;
-        }
-
-        EXCLUDED_CALL_ELEMENTS.add(Objects.requireNonNull(pattern));
+        EXCLUDED_CALL_ELEMENTS.addIfAbsent(pattern);
     }
 
     /**
@@ -75,19 +143,19 @@ public final class ThreadUtils {
     /**
      * When redirecting a call to another thread the {@link #describeCallLine()} method cannot determine the call line
      * anymore. This method can be used to create a callable (wrapper) that stores a supplier for the call line to avoid
-     * this issue.
+     * this issue. The call frame gets captured, when calling this method, it gets formatted only if needed.
      *
      * @param <T> the type of result
      * @param callable the callable
      * @return the enhanced callable
      */
     public static <T> Callable<T> persistCallLine(Callable<T> callable) {
-        Thread parentThread = Thread.currentThread();
+        Supplier<String> callLineSupplier = captureCallLine();
 
         return () -> {
             Supplier<String> callLineSupplierBackup = PARENT_THREAD_CALL_LINE_SUPPLIER.get();
 
-            PARENT_THREAD_CALL_LINE_SUPPLIER.set(() -> describeCallLine(parentThread));
+            PARENT_THREAD_CALL_LINE_SUPPLIER.set(callLineSupplier);
 
             try {
                 return callable.call();
@@ -103,75 +171,77 @@ public final class ThreadUtils {
      * @return the call line
      */
     public static String describeCallLine() {
-        return describeCallLine(Thread.currentThread());
+        return captureCallLine().get();
     }
 
-    private static String describeCallLine(Thread thread) {
-        String result = toCallLine(findCallElement(thread, INCLUDED_CALL_ELEMENTS, EXCLUDED_CALL_ELEMENTS));
-
-        if ("(?:?)".equals(result)) {
-            Supplier<String> supplier = PARENT_THREAD_CALL_LINE_SUPPLIER.get();
-
-            if (supplier != null) {
-                result = supplier.get();
-            }
+    /**
+     * Captures the call line of the current thread. The line gets formatted, when the supplier is called.
+     *
+     * @return the supplier for the call line
+     */
+    static Supplier<String> captureCallLine() {
+        // the walk stops at the first matching frame, the rest of the stack is never materialized
+        StackFrame frame = STACK_WALKER.walk(frames ->
+            frames.filter(ThreadUtils::isCallFrame).findFirst().orElse(null)
+        );
+
+        if (frame != null) {
+            return () -> toCallLine(frame);
         }
 
-        return result;
+        Supplier<String> supplier = PARENT_THREAD_CALL_LINE_SUPPLIER.get();
+
+        return supplier != null ? supplier : () -> UNKNOWN_CALL_LINE;
     }
 
-    private static StackTraceElement findCallElement(
-        Thread thread,
-        List<Pattern> includedCallElements,
-        List<Pattern> excludedCallElements
-    ) {
-        StackTraceElement[] stackTrace = thread.getStackTrace();
+    private static boolean isCallFrame(StackFrame frame) {
+        String className = frame.getClassName();
+        String methodName = frame.getMethodName();
+        Map<String, Map<String, Boolean>> cache = callElementCache;
+        Map<String, Boolean> methodCache = cache.get(className);
 
-        outerLoop: for (StackTraceElement element : stackTrace) {
-            String methodName = element.getClassName() + "." + element.getMethodName();
+        if (methodCache == null) {
+            methodCache = new ConcurrentHashMap<>();
 
-            if (methodName.startsWith(SeleniumUtils.class.getName())) {
-                // skip myself
-                continue;
+            Map<String, Boolean> existingMethodCache = cache.putIfAbsent(className, methodCache);
+
+            if (existingMethodCache != null) {
+                methodCache = existingMethodCache;
             }
+        }
 
-            if (includedCallElements != null && includedCallElements.size() > 0) {
-                boolean hit = false;
+        Boolean result = methodCache.get(methodName);
 
-                for (Pattern pattern : includedCallElements) {
-                    if (pattern.matcher(methodName).matches()) {
-                        hit = true;
-                        break;
-                    }
-                }
+        if (result == null) {
+            result = isCallElement(className + "." + methodName);
 
-                if (!hit) {
-                    continue;
-                }
-            }
+            methodCache.put(methodName, result);
+        }
 
-            for (Pattern pattern : excludedCallElements) {
-                if (pattern.matcher(methodName).matches()) {
-                    continue outerLoop;
-                }
-            }
+        return result;
+    }
+
+    private static boolean isCallElement(String methodName) {
+        if (methodName.startsWith(SeleniumUtils.class.getName())) {
+            // skip myself
+            return false;
+        }
 
-            return element;
+        if (!INCLUDED_CALL_ELEMENTS.isEmpty() && !INCLUDED_CALL_ELEMENTS.matchesAny(methodName)) {
+            return false;
         }
 
-        return null;
+        return !EXCLUDED_CALL_ELEMENTS.matchesAny(methodName);
     }
 
-    private static String toCallLine(StackTraceElement element) {
-        return element != null
-            ? element.getClassName() +
-            "." +
-            element.getMethodName() +
-            "(" +
-            element.getFileName() +
-            ":" +
-            element.getLineNumber() +
-            ")"
-            : "(?:?)";
+    private static String toCallLine(StackFrame frame) {
+        return frame.getClassName() +
+        "." +
+        frame.getMethodName() +
+        "(" +
+        frame.getFileName() +
+        ":" +
+        frame.getLineNumber() +
+        ")";
     }
 }
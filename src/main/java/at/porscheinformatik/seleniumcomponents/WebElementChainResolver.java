@@ -0,0 +1,166 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Resolves the {@link WebElement} of a component by executing the selectors of the component and all its parents in
+ * one script. Without this resolver each parent, that cannot be combined with its child, needs at least one roundtrip
+ * to the browser. The resolver walks up the chain of parents until it reaches the root (or a parent, that cannot be
+ * resolved by a script) and executes all CSS and XPath queries of the chain at once. Parents, that override
+ * {@link SeleniumComponent#element()} or {@link SeleniumComponent#searchContext()}, cannot be resolved by a script.
+ *
+ * @author agent
+ */
+public final class WebElementChainResolver {
+
+    private static final String CSS = "css selector";
+    private static final String XPATH = "xpath";
+
+    private static final String SCRIPT = """
+        var context = arguments[0] || document, levels = arguments[1];
+        for (var i = 0; i < levels.length; i++) {
+            var level = levels[i], element;
+            if (level[0] === 'css') {
+                element = context.querySelector(level[1]);
+            } else {
+                element = document.evaluate(level[1], context, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null)
+                    .singleNodeValue;
+            }
+            if (!element || element.nodeType !== 1) return i;
+            context = element;
+        }
+        return context;""";
+
+    private record Level(AbstractSeleniumComponent component, List<String> query) {}
+
+    // components, that resolve their element or the context of their children in their own way, end the script
+    private static final ClassValue<Boolean> PLAIN_COMPONENTS = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return (
+                    type.getMethod("element").getDeclaringClass() == AbstractSeleniumComponent.class &&
+                    type.getMethod("searchContext").getDeclaringClass() == WebElementContainer.class
+                );
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private WebElementChainResolver() {
+        super();
+    }
+
+    /**
+     * Returns true if the selector of the component is a plain CSS or XPath query and the driver supports scripts.
+     *
+     * @param component the component
+     * @return true if the component can be resolved by this resolver
+     */
+    public static boolean isResolvable(AbstractSeleniumComponent component) {
+        return toLevel(component) != null && component.environment().getDriver() instanceof JavascriptExecutor;
+    }
+
+    /**
+     * Resolves the element of the component with one script call. For parents, that cannot be resolved by a script, the
+     * {@link SeleniumComponent#searchContext()} gets called, and the script starts there. This method does not wait
+     * for the element to appear.
+     *
+     * @param component the component
+     * @return the element, never null
+     * @throws NoSuchElementException if one level of the chain does not match, the message names this level
+     * @throws IllegalArgumentException if the selector of the component cannot be resolved by a script
+     */
+    public static WebElement resolve(AbstractSeleniumComponent component)
+        throws NoSuchElementException, IllegalArgumentException {
+        List<Level> levels = new ArrayList<>();
+        SeleniumComponent current = component;
+        Level level = toLevel(component);
+
+        if (level == null) {
+            throw new IllegalArgumentException("The selector cannot be resolved by a script: " + component.describe());
+        }
+
+        while (level != null) {
+            levels.add(level);
+            current = level.component().parent();
+
+            if (
+                !(current instanceof AbstractSeleniumComponent parent) ||
+                parent.isElementCached() ||
+                !PLAIN_COMPONENTS.get(parent.getClass())
+            ) {
+                break;
+            }
+
+            level = toLevel(parent);
+        }
+
+        Collections.reverse(levels);
+
+        SearchContext context = current.searchContext();
+
+        if (!(context instanceof WebDriver) && !(context instanceof WebElement)) {
+            // e.g. a shadow root, the script cannot start there
+            for (Level each : levels) {
+                context = each.component().getSelector().find(context);
+            }
+
+            return (WebElement) context;
+        }
+
+        WebDriver driver = component.environment().getDriver();
+        Object result = ((JavascriptExecutor) driver).executeScript(
+            SCRIPT,
+            context instanceof WebElement ? context : null,
+            levels.stream().map(Level::query).toList()
+        );
+
+        if (result instanceof WebElement element) {
+            return element;
+        }
+
+        SeleniumComponent failedComponent =
+            result instanceof Number index ? levels.get(index.intValue()).component() : component;
+
+        throw new NoSuchElementException(String.format("No element found for: %s", failedComponent.describe()));
+    }
+
+    private static Level toLevel(AbstractSeleniumComponent component) {
+        List<String> query = toQuery(component.getSelector());
+
+        return query != null ? new Level(component, query) : null;
+    }
+
+    /**
+     * Converts the selector to a query, that can be passed to a script.
+     *
+     * @param selector the selector
+     * @return a list with the type ("css" or "xpath") and the query, null if not supported
+     */
+    static List<String> toQuery(WebElementSelector selector) {
+        By by = selector.toBy();
+
+        if (!(by instanceof By.Remotable remotable)) {
+            return null;
+        }
+
+        By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+        String query = String.valueOf(parameters.value());
+
+        return switch (parameters.using()) {
+            case CSS -> List.of("css", query);
+            case XPATH -> List.of("xpath", query);
+            default -> null;
+        };
+    }
+}
@@ -21,6 +21,32 @@ public interface WebElementContainer {
      */
     WebElement element() throws NoSuchElementException;
 
+    /**
+     * Selects and returns the {@link WebElement} of this container from the DOM without waiting for it (or any of its
+     * parents) to become available. Use it for checking the state of a component, where a missing element is a valid
+     * answer.
+     *
+     * @return the element, or null if this container does not represent an element
+     * @throws NoSuchElementException if the element is not available right now
+     */
+    default WebElement findNow() throws NoSuchElementException {
+        return SeleniumUtils.withoutWaiting(this::element);
+    }
+
+    /**
+     * Selects and returns the {@link WebElement} of this container from the DOM without waiting for it (or any of its
+     * parents) to become available.
+     *
+     * @return the element, or null if the element is not available right now
+     */
+    default WebElement tryElement() {
+        try {
+            return findNow();
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+
     /**
      * Returns the {@link SearchContext} for this component. By default, this is the {@link #element()} itself.
      *
@@ -69,6 +69,11 @@ public interface WebElementSelector {
                 return context.findElements(by);
             }
 
+            @Override
+            public By toBy() {
+                return by;
+            }
+
             @Override
             public String toString() {
                 return description;
@@ -323,7 +328,7 @@ public interface WebElementSelector {
      * @return the selector
      */
     static WebElementSelector selectByXPath(String xpath) {
-        return WebElementSelector.selectBy(String.format("{%s}", xpath), By.xpath(xpath));
+        return new XPathWebElementSelector(xpath);
     }
 
     /**
@@ -549,6 +554,18 @@ public interface WebElementSelector {
      */
     List<WebElement> findAll(SearchContext context);
 
+    /**
+     * Returns the Selenium selector, if this selector is a plain query, that gets executed relative to the search
+     * context without any further logic. Such selectors can be resolved in the browser, e.g. by the
+     * {@link WebElementChainResolver}.
+     *
+     * @return the Selenium selector, null if the selector is not a plain query
+     */
+    @Nullable
+    default By toBy() {
+        return null;
+    }
+
     /**
      * Returns a description of the selector based on the context
      *
@@ -574,6 +591,12 @@ public interface WebElementSelector {
      * @return the new selector instance
      */
     default WebElementSelector descendant(WebElementSelector selector) {
+        WebElementSelector combinedSelector = XPathWebElementSelector.descendant(this, selector);
+
+        if (combinedSelector != null) {
+            return combinedSelector;
+        }
+
         // I could never imagine a situation for needing the following in Java
         WebElementSelector that = this;
 
@@ -634,6 +657,10 @@ public interface WebElementSelector {
     }
 
     /**
+     * Combines this selector with the specified child selector to one selector, that needs just one lookup. CSS
+     * selectors get combined to CSS selectors, XPath selectors to XPath selectors. If CSS and XPath selectors are
+     * mixed, the CSS selectors get translated to XPath.
+     *
      * @param selector the selector, that should be combined with this selector
      * @return the combined selector or null if one of the selectors is not combinable
      */
@@ -0,0 +1,451 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+/**
+ * A selector based on one or more relative XPath queries. It can be combined with other XPath selectors and with
+ * {@link CombinableWebElementSelector}s, as long as their CSS queries can be translated to XPath. Multiple queries are
+ * combined as union.
+ *
+ * @author agent
+ */
+public class XPathWebElementSelector implements WebElementSelector {
+
+    private final String[] xpaths;
+
+    private By by;
+
+    public XPathWebElementSelector(String... xpaths) {
+        this.xpaths = xpaths;
+    }
+
+    /**
+     * Translates a simple CSS selector to a relative XPath query. Supports type, universal, id, class and attribute
+     * selectors, combined by descendant and child combinators. Selector lists (separated by commas) are not supported,
+     * split them first.
+     *
+     * @param css the CSS selector
+     * @return the XPath query, null if the CSS selector is not supported
+     */
+    public static String fromCss(String css) {
+        return new CssTranslator(css.trim()).translate();
+    }
+
+    @Override
+    public WebElement find(SearchContext context) {
+        return context.findElement(byXPath());
+    }
+
+    @Override
+    public List<WebElement> findAll(SearchContext context) {
+        return context.findElements(byXPath());
+    }
+
+    @Override
+    public By toBy() {
+        return byXPath();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("{%s}", toXPathString());
+    }
+
+    public String toXPathString() {
+        return Arrays.stream(xpaths).collect(Collectors.joining(" | "));
+    }
+
+    @Override
+    public WebElementSelector combine(WebElementSelector child) {
+        return combine(xpaths, toXPaths(child));
+    }
+
+    static XPathWebElementSelector combine(String[] parentXPaths, String[] childXPaths) {
+        if (parentXPaths == null || childXPaths == null) {
+            return null;
+        }
+
+        for (String parentXPath : parentXPaths) {
+            if (!isCombinable(parentXPath)) {
+                return null;
+            }
+        }
+
+        return append(parentXPaths, childXPaths);
+    }
+
+    /**
+     * Combines the selectors of {@link WebElementSelector#descendant(WebElementSelector)}, if one of them is an XPath
+     * selector. The chained selectors search the child in the first match of the parent, thus the parent gets limited
+     * to its first match. Two CSS selectors cannot express this and stay chained.
+     *
+     * @param parent the parent selector
+     * @param child the child selector
+     * @return the combined selector, null if not combinable
+     */
+    static XPathWebElementSelector descendant(WebElementSelector parent, WebElementSelector child) {
+        if (!(parent instanceof XPathWebElementSelector) && !(child instanceof XPathWebElementSelector)) {
+            return null;
+        }
+
+        String[] parentXPaths = toXPaths(parent);
+        String[] childXPaths = toXPaths(child);
+
+        if (parentXPaths == null || childXPaths == null) {
+            return null;
+        }
+
+        return append(new String[] { "(" + String.join(" | ", parentXPaths) + ")[1]" }, childXPaths);
+    }
+
+    private static String[] toXPaths(WebElementSelector selector) {
+        if (selector instanceof XPathWebElementSelector xPathWebElementSelector) {
+            return xPathWebElementSelector.xpaths;
+        }
+
+        if (selector instanceof CombinableWebElementSelector combinableWebElementSelector) {
+            return combinableWebElementSelector.toXPaths();
+        }
+
+        return null;
+    }
+
+    private static XPathWebElementSelector append(String[] parentXPaths, String[] childXPaths) {
+        List<String> combinedXPaths = new ArrayList<>();
+
+        for (String parentXPath : parentXPaths) {
+            for (String childXPath : childXPaths) {
+                if (".".equals(childXPath)) {
+                    combinedXPaths.add(parentXPath);
+                } else if (childXPath.startsWith("./") && isCombinable(childXPath)) {
+                    combinedXPaths.add(parentXPath + childXPath.substring(1));
+                } else {
+                    return null;
+                }
+            }
+        }
+
+        return new XPathWebElementSelector(combinedXPaths.toArray(String[]::new));
+    }
+
+    /**
+     * A query is combinable if it is relative to the context, is no union on the top level and contains no index, like
+     * "[2]", "[last()]" or "[position() &gt; 1]".
+     */
+    private static boolean isCombinable(String xpath) {
+        if (!xpath.startsWith(".") && !xpath.startsWith("(.")) {
+            return false;
+        }
+
+        Deque<Integer> predicateStarts = new ArrayDeque<>();
+        int depth = 0;
+        char quote = 0;
+
+        for (int i = 0; i < xpath.length(); i++) {
+            char ch = xpath.charAt(i);
+
+            if (quote != 0) {
+                if (ch == quote) {
+                    quote = 0;
+                }
+            } else if (ch == '\'' || ch == '"') {
+                quote = ch;
+            } else if (ch == '[') {
+                predicateStarts.push(i);
+                depth++;
+            } else if (ch == ']') {
+                if (predicateStarts.isEmpty() || isIndex(xpath.substring(predicateStarts.pop() + 1, i))) {
+                    return false;
+                }
+
+                depth--;
+            } else if (ch == '(') {
+                depth++;
+            } else if (ch == ')') {
+                depth--;
+            } else if (ch == '|' && depth == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isIndex(String predicate) {
+        String trimmedPredicate = predicate.trim();
+
+        return (
+            !trimmedPredicate.isEmpty() && trimmedPredicate.chars().allMatch(Character::isDigit) ||
+            trimmedPredicate.contains("position()") ||
+            trimmedPredicate.contains("last()")
+        );
+    }
+
+    private By byXPath() {
+        if (by == null) {
+            by = By.xpath(toXPathString());
+        }
+
+        return by;
+    }
+
+    /**
+     * A minimal parser for simple CSS selectors.
+     */
+    private static final class CssTranslator {
+
+        private final String css;
+
+        private int index = 0;
+
+        CssTranslator(String css) {
+            this.css = css;
+        }
+
+        String translate() {
+            StringBuilder builder = new StringBuilder(".");
+            String axis = "//";
+
+            while (true) {
+                String step = readCompound();
+
+                if (step == null) {
+                    return null;
+                }
+
+                builder.append(axis).append(step);
+
+                boolean whitespace = skipWhitespace();
+
+                if (index >= css.length()) {
+                    return builder.toString();
+                }
+
+                char ch = css.charAt(index);
+
+                if (ch == '>') {
+                    index++;
+                    skipWhitespace();
+                    axis = "/";
+                } else if (whitespace && ch != '+' && ch != '~' && ch != ',') {
+                    axis = "//";
+                } else {
+                    return null;
+                }
+            }
+        }
+
+        private String readCompound() {
+            String tagName = "*";
+            StringBuilder predicates = new StringBuilder();
+            int start = index;
+
+            if (index < css.length() && css.charAt(index) == '*') {
+                index++;
+            } else {
+                String identifier = readIdentifier();
+
+                if (identifier != null) {
+                    tagName = identifier;
+                }
+            }
+
+            while (index < css.length()) {
+                char ch = css.charAt(index);
+
+                if (ch == '#') {
+                    index++;
+
+                    String id = readIdentifier();
+
+                    if (id == null) {
+                        return null;
+                    }
+
+                    predicates.append("[@id=").append(toLiteral(id)).append("]");
+                } else if (ch == '.') {
+                    index++;
+
+                    String className = readIdentifier();
+
+                    if (className == null) {
+                        return null;
+                    }
+
+                    predicates
+                        .append("[contains(concat(' ', normalize-space(@class), ' '), ")
+                        .append(toLiteral(" " + className + " "))
+                        .append(")]");
+                } else if (ch == '[') {
+                    index++;
+
+                    String predicate = readAttribute();
+
+                    if (predicate == null) {
+                        return null;
+                    }
+
+                    predicates.append(predicate);
+                } else {
+                    break;
+                }
+            }
+
+            if (index == start) {
+                return null;
+            }
+
+            return tagName + predicates;
+        }
+
+        private String readAttribute() {
+            skipWhitespace();
+
+            String name = readIdentifier();
+
+            if (name == null) {
+                return null;
+            }
+
+            skipWhitespace();
+
+            if (index >= css.length()) {
+                return null;
+            }
+
+            if (css.charAt(index) == ']') {
+                index++;
+
+                return "[@" + name + "]";
+            }
+
+            String operator;
+
+            if (css.startsWith("=", index)) {
+                operator = "=";
+            } else if (index + 1 < css.length() && css.charAt(index + 1) == '=') {
+                operator = css.substring(index, index + 2);
+            } else {
+                return null;
+            }
+
+            index += operator.length();
+            skipWhitespace();
+
+            String value = readValue();
+
+            if (value == null) {
+                return null;
+            }
+
+            skipWhitespace();
+
+            if (index >= css.length() || css.charAt(index) != ']') {
+                return null;
+            }
+
+            index++;
+
+            String attribute = "@" + name;
+            String literal = toLiteral(value);
+
+            if (value.isEmpty() && List.of("^=", "$=", "*=", "~=").contains(operator)) {
+                // like in CSS, these operators match nothing with an empty value
+                return "[false()]";
+            }
+
+            return switch (operator) {
+                case "=" -> "[" + attribute + "=" + literal + "]";
+                case "^=" -> "[starts-with(" + attribute + ", " + literal + ")]";
+                case "*=" -> "[contains(" + attribute + ", " + literal + ")]";
+                case "$=" -> String.format(
+                    "[substring(%s, string-length(%s) - %d) = %s]",
+                    attribute,
+                    attribute,
+                    value.length() - 1,
+                    literal
+                );
+                case "~=" -> String.format(
+                    "[contains(concat(' ', normalize-space(%s), ' '), %s)]",
+                    attribute,
+                    toLiteral(" " + value + " ")
+                );
+                default -> null;
+            };
+        }
+
+        private String readValue() {
+            if (index >= css.length()) {
+                return null;
+            }
+
+            char quote = css.charAt(index);
+
+            if (quote != '\'' && quote != '"') {
+                return readIdentifier();
+            }
+
+            int end = css.indexOf(quote, index + 1);
+
+            if (end < 0) {
+                return null;
+            }
+
+            String value = css.substring(index + 1, end);
+
+            if (value.indexOf('\\') >= 0) {
+                return null;
+            }
+
+            index = end + 1;
+
+            return value;
+        }
+
+        private String readIdentifier() {
+            int start = index;
+
+            while (index < css.length()) {
+                char ch = css.charAt(index);
+
+                if (Character.isLetterOrDigit(ch) || ch == '-' || ch == '_' || ch > 127) {
+                    index++;
+                } else {
+                    break;
+                }
+            }
+
+            return index > start ? css.substring(start, index) : null;
+        }
+
+        private boolean skipWhitespace() {
+            int start = index;
+
+            while (index < css.length() && Character.isWhitespace(css.charAt(index))) {
+                index++;
+            }
+
+            return index > start;
+        }
+
+        private static String toLiteral(String value) {
+            if (value.indexOf('\'') < 0) {
+                return "'" + value + "'";
+            }
+
+            if (value.indexOf('"') < 0) {
+                return "\"" + value + "\"";
+            }
+
+            return "concat('" + value.replace("'", "', \"'\", '") + "')";
+        }
+    }
+}
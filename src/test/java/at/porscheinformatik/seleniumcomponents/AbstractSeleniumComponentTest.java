@@ -0,0 +1,179 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Tests for the element cache of {@link AbstractSeleniumComponent}.
+ *
+ * @author agent
+ */
+public class AbstractSeleniumComponentTest {
+
+    @Test
+    public void cachedElementIsResolvedOnce() {
+        AtomicInteger resolutions = new AtomicInteger();
+        AbstractSeleniumComponent component = component(new AtomicLong(), resolutions, new AtomicInteger());
+
+        assertThat(component.element().getText(), is("text 1"));
+        assertThat(component.element().getText(), is("text 2"));
+        assertThat(resolutions.get(), is(2));
+
+        component.setElementCached(true);
+
+        WebElement element = component.element();
+
+        assertThat(component.element(), sameInstance(element));
+        assertThat(element.getText(), is("text 3"));
+        assertThat(element, equalTo(((CachedWebElement) element).getWrappedElement()));
+        assertThat(resolutions.get(), is(3));
+    }
+
+    @Test
+    public void navigationInvalidatesCachedElement() {
+        AtomicLong generation = new AtomicLong();
+        AtomicInteger resolutions = new AtomicInteger();
+        AbstractSeleniumComponent component = component(generation, resolutions, new AtomicInteger());
+
+        component.setElementCached(true);
+
+        WebElement element = component.element();
+
+        component.environment().nextGeneration();
+
+        assertThat(component.element(), not(sameInstance(element)));
+        assertThat(resolutions.get(), is(2));
+    }
+
+    @Test
+    public void staleElementInvalidatesCachedElement() {
+        AtomicInteger resolutions = new AtomicInteger();
+        // the elements up to this resolution are stale
+        AtomicInteger staleResolutions = new AtomicInteger();
+        AbstractSeleniumComponent component = component(new AtomicLong(), resolutions, staleResolutions);
+
+        component.setElementCached(true);
+
+        WebElement element = component.element();
+
+        staleResolutions.set(1);
+
+        // outside of retryOnStale, the handle drops itself
+        assertThrows(StaleElementReferenceException.class, () -> component.element().getText());
+        assertThat(component.element(), not(sameInstance(element)));
+        assertThat(resolutions.get(), is(2));
+
+        // a stale handle within retryOnStale gets resolved again
+        staleResolutions.set(2);
+
+        assertThat(SeleniumUtils.retryOnStale(() -> component.element().getText()), is("text 1"));
+        assertThat(resolutions.get(), is(3));
+    }
+
+    @Test
+    public void staleScriptInvalidatesEnvironment() {
+        AtomicLong generation = new AtomicLong();
+        AtomicInteger resolutions = new AtomicInteger();
+        AbstractSeleniumComponent component = component(generation, resolutions, new AtomicInteger());
+        AtomicBoolean stale = new AtomicBoolean(true);
+
+        component.setElementCached(true);
+
+        // e.g. a script, the element has been passed to
+        SeleniumUtils.retryOnStale(() -> {
+            component.element();
+
+            if (stale.getAndSet(false)) {
+                throw new StaleElementReferenceException("stale");
+            }
+        });
+
+        assertThat(generation.get(), is(1L));
+        assertThat(resolutions.get(), is(2));
+    }
+
+    private static AbstractSeleniumComponent component(
+        AtomicLong generation,
+        AtomicInteger resolutions,
+        AtomicInteger staleResolutions
+    ) {
+        SeleniumEnvironment environment = (SeleniumEnvironment) Proxy.newProxyInstance(
+            AbstractSeleniumComponentTest.class.getClassLoader(),
+            new Class<?>[] { SeleniumEnvironment.class },
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "getGeneration" -> generation.get();
+                    case "nextGeneration" -> generation.incrementAndGet();
+                    default -> null;
+                }
+        );
+        AtomicInteger texts = new AtomicInteger();
+        WebElement parentElement = (WebElement) Proxy.newProxyInstance(
+            AbstractSeleniumComponentTest.class.getClassLoader(),
+            new Class<?>[] { WebElement.class },
+            (proxy, method, args) -> {
+                if (!"findElement".equals(method.getName())) {
+                    return null;
+                }
+
+                return element(resolutions.incrementAndGet(), staleResolutions, texts);
+            }
+        );
+        SeleniumComponent parent = new SeleniumComponent() {
+            @Override
+            public SeleniumComponent parent() {
+                return null;
+            }
+
+            @Override
+            public SeleniumEnvironment environment() {
+                return environment;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public WebElement element() {
+                return parentElement;
+            }
+
+            @Override
+            public String describe() {
+                return "parent";
+            }
+        };
+
+        return new AbstractSeleniumComponent(parent, WebElementSelector.selectByCss("li")) {};
+    }
+
+    private static WebElement element(int resolution, AtomicInteger staleResolutions, AtomicInteger texts) {
+        return (WebElement) Proxy.newProxyInstance(
+            AbstractSeleniumComponentTest.class.getClassLoader(),
+            new Class<?>[] { WebElement.class },
+            (proxy, method, args) -> {
+                if (resolution <= staleResolutions.get()) {
+                    throw new StaleElementReferenceException("stale");
+                }
+
+                return switch (method.getName()) {
+                    case "getText" -> "text " + texts.incrementAndGet();
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> null;
+                };
+            }
+        );
+    }
+}
@@ -0,0 +1,147 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link AdaptiveTimeouts}.
+ *
+ * @author agent
+ */
+public class AdaptiveTimeoutsTest {
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    public void disable() {
+        SeleniumGlobals.setAdaptiveTimeoutsFile(null);
+        AdaptiveTimeouts.loadIfChanged();
+        AdaptiveTimeouts.clear();
+    }
+
+    @Test
+    public void percentile() {
+        AdaptiveTimeouts.Site site = new AdaptiveTimeouts.Site();
+
+        assertThat(site.percentileMillis(), is(0L));
+
+        site.recordSuccess(7);
+
+        assertThat(site.percentileMillis(), is(7L));
+
+        // 1 to 100 in reverse: the 95th of 100 samples
+        for (int i = 100; i > 0; i--) {
+            site.recordSuccess(i);
+        }
+
+        assertThat(site.getCount(), is(AdaptiveTimeouts.MAX_SAMPLES));
+        assertThat(site.percentileMillis(), is(95L));
+
+        // 20 samples: the 19th
+        AdaptiveTimeouts.Site smallSite = new AdaptiveTimeouts.Site();
+
+        for (int i = 1; i <= 20; i++) {
+            smallSite.recordSuccess(i * 10);
+        }
+
+        assertThat(smallSite.percentileMillis(), is(190L));
+    }
+
+    @Test
+    public void limitTimeout() {
+        AdaptiveTimeouts.Site site = new AdaptiveTimeouts.Site();
+
+        for (int i = 1; i < AdaptiveTimeouts.MIN_SAMPLES; i++) {
+            site.recordSuccess(200);
+        }
+
+        // not enough samples
+        assertThat(site.limitTimeout(10), is(10d));
+
+        site.recordSuccess(200);
+
+        // 200 ms * 2 + 0.5 seconds
+        assertThat(site.limitTimeout(10), is(closeTo(0.9, 0.0001)));
+        assertThat(site.limitTimeout(0.5), is(0.5));
+        assertThat(site.limitTimeout(Double.POSITIVE_INFINITY), is(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    public void failureUsesConfiguredTimeoutUntilNextSuccess() {
+        AdaptiveTimeouts.Site site = new AdaptiveTimeouts.Site();
+
+        for (int i = 0; i < AdaptiveTimeouts.MIN_SAMPLES; i++) {
+            site.recordSuccess(100);
+        }
+
+        site.recordFailure();
+
+        assertThat(site.isFailed(), is(true));
+        assertThat(site.limitTimeout(10), is(10d));
+
+        site.recordSuccess(300);
+
+        assertThat(site.isFailed(), is(false));
+        assertThat(site.limitTimeout(10), is(closeTo(1.1, 0.0001)));
+    }
+
+    @Test
+    public void writeAndLoad() throws IOException {
+        AdaptiveTimeouts.Site site = AdaptiveTimeouts.siteAt("Test.java:1");
+
+        site.recordSuccess(10);
+        site.recordSuccess(20);
+        site.recordFailure();
+        AdaptiveTimeouts.siteAt("Test.java:2").recordSuccess(30);
+
+        Path file = AdaptiveTimeouts.writeJson(directory.resolve("nested/timeouts.json"));
+        String json = AdaptiveTimeouts.toJson();
+
+        assertThat(Files.readString(file), is(json));
+        assertThat(Files.exists(file.resolveSibling("timeouts.json.tmp")), is(false));
+
+        AdaptiveTimeouts.clear();
+        AdaptiveTimeouts.load(file);
+
+        assertThat(AdaptiveTimeouts.getSites().keySet(), contains("Test.java:1", "Test.java:2"));
+        assertThat(AdaptiveTimeouts.getSites().get("Test.java:1").getCount(), is(2));
+        assertThat(AdaptiveTimeouts.getSites().get("Test.java:1").isFailed(), is(true));
+        assertThat(AdaptiveTimeouts.toJson(), is(json));
+    }
+
+    @Test
+    public void changedFileGetsLoaded() throws IOException {
+        Path first = directory.resolve("first.json");
+        Path second = directory.resolve("second.json");
+
+        AdaptiveTimeouts.siteAt("Test.java:1").recordSuccess(10);
+        AdaptiveTimeouts.writeJson(first);
+        AdaptiveTimeouts.clear();
+
+        SeleniumGlobals.setAdaptiveTimeoutsFile(first);
+
+        assertThat(AdaptiveTimeouts.siteAt("Test.java:1").getCount(), is(1));
+
+        AdaptiveTimeouts.siteAt("Test.java:2").recordSuccess(20);
+
+        // the durations get written to the previous file, the new one does not exist yet
+        SeleniumGlobals.setAdaptiveTimeoutsFile(second);
+
+        assertThat(AdaptiveTimeouts.getSites(), is(anEmptyMap()));
+        assertThat(Files.readString(first), containsString("Test.java:2"));
+
+        AdaptiveTimeouts.siteAt("Test.java:3").recordSuccess(30);
+        SeleniumGlobals.setAdaptiveTimeoutsFile(null);
+        AdaptiveTimeouts.loadIfChanged();
+
+        assertThat(Files.readString(second), allOf(containsString("Test.java:3"), not(containsString("Test.java:1"))));
+    }
+}
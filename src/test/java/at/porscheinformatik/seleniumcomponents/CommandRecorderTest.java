@@ -0,0 +1,130 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Tests for {@link CommandRecorder}, {@link RecordingWebDriverFactory} and
+ * {@link SeleniumAsserts#assertMaxRoundTrips(SeleniumEnvironment, int, FailableSupplier)}.
+ *
+ * @author agent
+ */
+public class CommandRecorderTest {
+
+    @Test
+    public void recordsRoundTrips() {
+        WebDriver driver = recordingDriver();
+
+        try (CommandRecorder recorder = CommandRecorder.start()) {
+            driver.getTitle();
+            ((JavascriptExecutor) driver).executeScript("return 'abc';", "de");
+
+            // answered locally
+            ((HasCapabilities) driver).getCapabilities();
+            driver.toString();
+
+            try (CommandRecorder nestedRecorder = CommandRecorder.start()) {
+                driver.getCurrentUrl();
+
+                assertThat(nestedRecorder.getRoundTrips(), is(1));
+            }
+
+            List<CommandRecorder.Command> commands = recorder.getCommands();
+
+            assertThat(
+                commands.stream().map(CommandRecorder.Command::name).toList(),
+                contains("getTitle", "executeScript", "getCurrentUrl")
+            );
+            // arguments: script and array with one string, result: a string
+            assertThat(
+                commands.get(1).payloadSize(),
+                is(CommandRecorder.estimateSize(new Object[] { "return 'abc';", new Object[] { "de" } }) + 5)
+            );
+            assertThat(recorder.getTotalPayloadSize(), greaterThan(commands.get(1).payloadSize()));
+        }
+
+        try (CommandRecorder recorder = CommandRecorder.start()) {
+            assertThat(recorder.getRoundTrips(), is(0));
+        }
+    }
+
+    @Test
+    public void decoratesOnce() {
+        WebDriver driver = recordingDriver();
+
+        SeleniumGlobals.setMetrics(true);
+
+        try {
+            assertThat(CommandTimingListener.decorateIfEnabled(driver), sameInstance(driver));
+        } finally {
+            SeleniumGlobals.setMetrics(false);
+            SeleniumMetrics.reset();
+        }
+
+        WebDriver timedDriver = CommandTimingListener.decorate(driver(), false);
+
+        assertThat(RecordingWebDriverFactory.isRecording(timedDriver), is(false));
+        assertThat(RecordingWebDriverFactory.isRecording(driver()), is(false));
+        assertThat(RecordingWebDriverFactory.isRecording(driver), is(true));
+    }
+
+    @Test
+    public void assertMaxRoundTrips() {
+        WebDriver driver = recordingDriver();
+        SeleniumEnvironment environment = environment(driver);
+
+        assertThat(
+            SeleniumAsserts.assertMaxRoundTrips(environment, 2, () -> driver.getTitle() + driver.getCurrentUrl()),
+            is("getTitlegetCurrentUrl")
+        );
+
+        AssertionError error = assertThrows(AssertionError.class, () ->
+            SeleniumAsserts.assertMaxRoundTrips(environment, 1, () -> {
+                driver.getTitle();
+                driver.getTitle();
+            })
+        );
+
+        assertThat(error.getMessage(), containsString("Expected at most 1 round trips, but were 2 round trips"));
+        assertThrows(IllegalStateException.class, () ->
+            SeleniumAsserts.assertMaxRoundTrips(environment(driver()), 1, () -> {})
+        );
+    }
+
+    private static WebDriver recordingDriver() {
+        return new RecordingWebDriverFactory(sessionName -> driver()).createWebDriver("test");
+    }
+
+    private static WebDriver driver() {
+        return (WebDriver) Proxy.newProxyInstance(
+            CommandRecorderTest.class.getClassLoader(),
+            new Class<?>[] { WebDriver.class, JavascriptExecutor.class, HasCapabilities.class },
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "getCapabilities" -> (Capabilities) new ImmutableCapabilities();
+                    case "executeScript" -> "abc";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> method.getName();
+                }
+        );
+    }
+
+    private static SeleniumEnvironment environment(WebDriver driver) {
+        return (SeleniumEnvironment) Proxy.newProxyInstance(
+            CommandRecorderTest.class.getClassLoader(),
+            new Class<?>[] { SeleniumEnvironment.class },
+            (proxy, method, args) -> "getDriver".equals(method.getName()) ? driver : null
+        );
+    }
+}
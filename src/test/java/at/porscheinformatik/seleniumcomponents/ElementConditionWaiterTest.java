@@ -0,0 +1,169 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Tests for {@link ElementConditionWaiter}.
+ *
+ * @author agent
+ */
+public class ElementConditionWaiterTest {
+
+    // the arguments of the asynchronous script calls
+    private final List<Object[]> scripts = new ArrayList<>();
+
+    private final AtomicBoolean displayed = new AtomicBoolean();
+
+    @Test
+    public void displayedByIsDisplayedAtom() {
+        SeleniumComponent component = component(true, arguments -> true);
+
+        assertThat(ElementConditionWaiter.await(component, ElementCondition.displayed(), 500), is(true));
+        assertThat(scripts, hasSize(1));
+        assertThat((String) scripts.get(0)[0], containsString(ElementState.IS_DISPLAYED_ATOM));
+        assertThat((String) scripts.get(0)[0], containsString("isDisplayed(elem)"));
+        assertThat(scripts.get(0)[2], is(List.of("displayed", "", false)));
+    }
+
+    @Test
+    public void timeoutIsLimited() {
+        SeleniumComponent component = component(true, arguments -> false);
+
+        assertThat(ElementConditionWaiter.await(component, ElementCondition.enabled().not(), 300), is(false));
+        assertThat(ElementConditionWaiter.await(component, ElementCondition.enabled(), 60_000), is(false));
+        assertThat(scripts.get(0)[3], is(300L));
+        // at most one second per script call
+        assertThat(scripts.get(1)[3], is(1000L));
+    }
+
+    @Test
+    public void noWaitWithoutTime() {
+        SeleniumComponent component = component(true, arguments -> true);
+
+        assertThat(ElementConditionWaiter.await(component, ElementCondition.displayed(), 0), is(false));
+        assertThat(ElementConditionWaiter.await(component, ElementCondition.displayed(), -1), is(false));
+        assertThat(scripts, empty());
+    }
+
+    @Test
+    public void noWaitWithoutScripts() {
+        SeleniumComponent component = component(false, arguments -> true);
+
+        assertThat(ElementConditionWaiter.await(component, ElementCondition.displayed(), 500), is(false));
+        assertThat(scripts, empty());
+    }
+
+    @Test
+    public void failedScriptIsNoHint() {
+        SeleniumComponent component = component(true, arguments -> {
+            throw new WebDriverException("script timeout");
+        });
+
+        assertThat(ElementConditionWaiter.await(component, ElementCondition.displayed(), 500), is(false));
+        assertThat(scripts, hasSize(1));
+    }
+
+    @Test
+    public void assertionAwaitsCondition() {
+        SeleniumComponent component = component(true, arguments -> {
+            displayed.set(true);
+
+            return true;
+        });
+
+        assertThat(SeleniumAsserts.assertThatSoon(5, () -> component, SeleniumMatchers.isVisible()), is(component));
+        // no polling, the state change has been awaited in the browser
+        assertThat(scripts, hasSize(1));
+        assertThat(scripts.get(0)[2], is(List.of("displayed", "", false)));
+    }
+
+    @Test
+    public void assertionChecksHint() {
+        // the browser claims the condition, but the element is not displayed
+        SeleniumComponent component = component(true, arguments -> true);
+
+        assertThrows(AssertionError.class, () ->
+            SeleniumAsserts.assertThatSoon(0.5, () -> component, SeleniumMatchers.isVisible())
+        );
+        assertThat(scripts, not(empty()));
+    }
+
+    private SeleniumComponent component(boolean scripting, Function<Object[], Object> script) {
+        Class<?>[] interfaces = scripting
+            ? new Class<?>[] { WebDriver.class, JavascriptExecutor.class }
+            : new Class<?>[] { WebDriver.class };
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(
+            ElementConditionWaiterTest.class.getClassLoader(),
+            interfaces,
+            (proxy, method, args) -> {
+                if (!"executeAsyncScript".equals(method.getName())) {
+                    return null;
+                }
+
+                Object[] arguments = new Object[1 + ((Object[]) args[1]).length];
+
+                arguments[0] = args[0];
+                System.arraycopy(args[1], 0, arguments, 1, arguments.length - 1);
+                scripts.add(arguments);
+
+                return script.apply(arguments);
+            }
+        );
+        SeleniumEnvironment environment = (SeleniumEnvironment) Proxy.newProxyInstance(
+            ElementConditionWaiterTest.class.getClassLoader(),
+            new Class<?>[] { SeleniumEnvironment.class },
+            (proxy, method, args) -> "getDriver".equals(method.getName()) ? driver : null
+        );
+        WebElement element = (WebElement) Proxy.newProxyInstance(
+            ElementConditionWaiterTest.class.getClassLoader(),
+            new Class<?>[] { WebElement.class },
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "isDisplayed" -> displayed.get();
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> null;
+                }
+        );
+
+        return new SeleniumComponent() {
+            @Override
+            public SeleniumComponent parent() {
+                return null;
+            }
+
+            @Override
+            public SeleniumEnvironment environment() {
+                return environment;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public WebElement element() {
+                return element;
+            }
+
+            @Override
+            public String describe() {
+                return "component";
+            }
+        };
+    }
+}
@@ -0,0 +1,250 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebElement;
+
+/**
+ * Tests for {@link ElementSnapshot} and {@link SeleniumComponentListFactory#findAll(ElementProjection)}.
+ *
+ * @author agent
+ */
+public class ElementSnapshotTest {
+
+    @Test
+    public void projectionArgument() {
+        ElementProjection projection = ElementProjection.textAndState().withAttributes("value", "href");
+
+        assertThat(
+            projection.toArgument(),
+            is(
+                Map.of(
+                    "text",
+                    true,
+                    "displayed",
+                    true,
+                    "enabled",
+                    true,
+                    "selected",
+                    false,
+                    "attributes",
+                    List.copyOf(projection.getAttributes())
+                )
+            )
+        );
+        assertThat(projection.getAttributes(), containsInAnyOrder("value", "href"));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void accessorsAnswerFromSnapshot() {
+        AtomicInteger calls = new AtomicInteger();
+        WebElement element = element(calls, "live");
+        ElementSnapshot snapshot = new ElementSnapshot(
+            element,
+            ElementProjection.textAndState().withAttributes("href"),
+            values(element, "cached", Map.of("href", "/a"))
+        );
+
+        assertThat(snapshot.getTagName(), is("li"));
+        assertThat(snapshot.getText(), is("cached"));
+        assertThat(snapshot.isDisplayed(), is(true));
+        assertThat(snapshot.isEnabled(), is(false));
+        assertThat(snapshot.getAttribute("href"), is("/a"));
+        assertThat(calls.get(), is(0));
+
+        // not part of the projection
+        assertThat(snapshot.isSelected(), is(false));
+        assertThat(snapshot.getAttribute("title"), is("live"));
+        assertThat(calls.get(), is(2));
+
+        snapshot.click();
+
+        assertThat(snapshot.isSnapshot(), is(false));
+        assertThat(snapshot.getText(), is("live"));
+    }
+
+    @Test
+    public void textMatchesLiveText() {
+        // the innerText keeps the non-breaking spaces and the spaces around the lines, Selenium does not
+        WebElement element = element(new AtomicInteger(), "Total: 1 000 EUR\nPaid");
+        ElementSnapshot snapshot = new ElementSnapshot(
+            element,
+            ElementProjection.textAndState(),
+            values(element, " Total:\u00a01\u00a0000 EUR \r\n  Paid\n", Map.of())
+        );
+
+        assertThat(snapshot.getText(), is(element.getText()));
+
+        assertThat(ElementSnapshot.toVisibleText(null), nullValue());
+        assertThat(ElementSnapshot.toVisibleText("\n\ta\n\n b \n"), is("a\n\nb"));
+        // a non-breaking space does not get trimmed
+        assertThat(ElementSnapshot.toVisibleText("\u00a0a\u00a0"), is(" a "));
+    }
+
+    @Test
+    public void equalsIsSymmetric() {
+        RemoteWebElement element = new RemoteWebElement();
+        RemoteWebElement sameElement = new RemoteWebElement();
+
+        element.setId("1");
+        sameElement.setId("1");
+
+        ElementSnapshot snapshot = new ElementSnapshot(element, ElementProjection.of(), Map.of("tagName", "li"));
+
+        assertThat(snapshot.equals(sameElement), is(true));
+        assertThat(sameElement.equals(snapshot), is(true));
+        assertThat(snapshot.hashCode(), is(sameElement.hashCode()));
+        assertThat(snapshot.equals(new ElementSnapshot(sameElement, ElementProjection.of(), Map.of())), is(true));
+    }
+
+    @Test
+    public void findAllPassesProjectionToScript() {
+        AtomicInteger calls = new AtomicInteger();
+        WebElement parentElement = element(calls, "parent");
+        WebElement childElement = element(calls, "child");
+        List<String> scripts = new ArrayList<>();
+        List<Object[]> scriptArguments = new ArrayList<>();
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] { WebDriver.class, JavascriptExecutor.class },
+            (proxy, method, args) -> {
+                if ("executeScript".equals(method.getName())) {
+                    scripts.add((String) args[0]);
+                    scriptArguments.add((Object[]) args[1]);
+
+                    return List.of(values(childElement, "cached", Map.of()));
+                }
+
+                return null;
+            }
+        );
+        ElementProjection projection = ElementProjection.textAndState();
+
+        SeleniumComponentList<SeleniumComponent> list = listFactory(driver, parentElement).findAll(projection);
+
+        assertThat(scripts.get(0), containsString(ElementState.IS_DISPLAYED_ATOM));
+        assertThat(scriptArguments, hasSize(1));
+        assertThat(scriptArguments.get(0)[0], sameInstance(parentElement));
+        assertThat(scriptArguments.get(0)[1], is(List.of("css", "li")));
+        assertThat(scriptArguments.get(0)[2], nullValue());
+        assertThat(scriptArguments.get(0)[3], is(projection.toArgument()));
+        assertThat(list.size(), is(1));
+        assertThat(list.get(0).element(), instanceOf(ElementSnapshot.class));
+        assertThat(list.get(0).element().getText(), is("cached"));
+    }
+
+    @Test
+    public void findAllWithoutScripts() {
+        AtomicInteger calls = new AtomicInteger();
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] { WebDriver.class },
+            (proxy, method, args) -> null
+        );
+
+        SeleniumComponentList<SeleniumComponent> list = listFactory(driver, element(calls, "parent")).findAll(
+            ElementProjection.textAndState()
+        );
+
+        assertThat(list.size(), is(2));
+        assertThat(list.get(0).element(), not(instanceOf(ElementSnapshot.class)));
+    }
+
+    private static SeleniumComponentListFactory<SeleniumComponent> listFactory(
+        WebDriver driver,
+        WebElement parentElement
+    ) {
+        SeleniumEnvironment environment = (SeleniumEnvironment) Proxy.newProxyInstance(
+            ElementSnapshotTest.class.getClassLoader(),
+            new Class<?>[] { SeleniumEnvironment.class },
+            (proxy, method, args) -> "getDriver".equals(method.getName()) ? driver : null
+        );
+        SeleniumComponent parent = new SeleniumComponent() {
+            @Override
+            public SeleniumComponent parent() {
+                return null;
+            }
+
+            @Override
+            public SeleniumEnvironment environment() {
+                return environment;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public WebElement element() {
+                return parentElement;
+            }
+
+            @Override
+            public String describe() {
+                return "parent";
+            }
+
+            @Override
+            public String toString() {
+                return describe();
+            }
+        };
+
+        return SeleniumComponentListFactory.of(
+            parent,
+            WebElementSelector.selectByCss("li"),
+            (componentParent, selector) -> new AbstractSeleniumComponent(componentParent, selector) {}
+        );
+    }
+
+    private static Map<String, Object> values(WebElement element, String text, Map<String, Object> attributes) {
+        return Map.of(
+            "element",
+            element,
+            "tagName",
+            "li",
+            "text",
+            text,
+            "displayed",
+            true,
+            "enabled",
+            false,
+            "selected",
+            false,
+            "attributes",
+            attributes
+        );
+    }
+
+    private static WebElement element(AtomicInteger calls, String value) {
+        return (WebElement) Proxy.newProxyInstance(
+            ElementSnapshotTest.class.getClassLoader(),
+            new Class<?>[] { WebElement.class },
+            (proxy, method, args) -> {
+                calls.incrementAndGet();
+
+                return switch (method.getName()) {
+                    case "findElements" -> List.of(element(calls, "first"), element(calls, "second"));
+                    case "getText", "getAttribute" -> value;
+                    case "isSelected" -> false;
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> value;
+                    default -> null;
+                };
+            }
+        );
+    }
+}
@@ -0,0 +1,95 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Tests for {@link ElementState}.
+ *
+ * @author agent
+ */
+public class ElementStateTest {
+
+    @Test
+    public void displayedByIsDisplayedAtom() {
+        AtomicInteger isDisplayedCalls = new AtomicInteger();
+        List<String> scripts = new ArrayList<>();
+        WebDriver driver = driver(scripts, false);
+
+        ElementState state = ElementState.probe(driver, element(isDisplayedCalls));
+
+        assertThat(ElementState.IS_DISPLAYED_ATOM, startsWith("function(){"));
+        assertThat(scripts, hasSize(1));
+        assertThat(scripts.get(0), containsString(ElementState.IS_DISPLAYED_ATOM));
+        assertThat(scripts.get(0), containsString("isDisplayed(elem)"));
+        assertThat(scripts.get(0), not(containsString("checkVisibility")));
+        assertThat(state.displayed(), is(false));
+        assertThat(state.isClickable(), is(false));
+        assertThat(isDisplayedCalls.get(), is(0));
+    }
+
+    @Test
+    public void displayedByElementWithoutAtomResult() {
+        AtomicInteger isDisplayedCalls = new AtomicInteger();
+        WebDriver driver = driver(new ArrayList<>(), null);
+
+        ElementState state = ElementState.probe(driver, element(isDisplayedCalls));
+
+        assertThat(state.displayed(), is(true));
+        assertThat(state.isClickable(), is(true));
+        assertThat(isDisplayedCalls.get(), is(1));
+    }
+
+    private static WebDriver driver(List<String> scripts, Boolean displayed) {
+        return (WebDriver) Proxy.newProxyInstance(
+            ElementStateTest.class.getClassLoader(),
+            new Class<?>[] { WebDriver.class, JavascriptExecutor.class },
+            (proxy, method, args) -> {
+                if (!"executeScript".equals(method.getName())) {
+                    return null;
+                }
+
+                scripts.add((String) args[0]);
+
+                Map<String, Object> values = new HashMap<>();
+
+                values.put("displayed", displayed);
+                values.put("enabled", true);
+                values.put("selected", false);
+                values.put("width", 10L);
+                values.put("height", 0L);
+                values.put("inViewport", false);
+                values.put("obscured", false);
+
+                return values;
+            }
+        );
+    }
+
+    private static WebElement element(AtomicInteger isDisplayedCalls) {
+        return (WebElement) Proxy.newProxyInstance(
+            ElementStateTest.class.getClassLoader(),
+            new Class<?>[] { WebElement.class },
+            (proxy, method, args) -> {
+                if ("isDisplayed".equals(method.getName())) {
+                    isDisplayedCalls.incrementAndGet();
+
+                    return true;
+                }
+
+                return null;
+            }
+        );
+    }
+}
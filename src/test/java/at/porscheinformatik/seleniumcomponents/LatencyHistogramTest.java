@@ -0,0 +1,69 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link LatencyHistogram}.
+ *
+ * @author agent
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void smallValuesHaveOwnBuckets() {
+        for (long micros = 0; micros < 16; micros++) {
+            assertThat(LatencyHistogram.indexOf(micros), is((int) micros));
+            assertThat(LatencyHistogram.lowerBoundOf((int) micros), is(micros));
+        }
+
+        assertThat(LatencyHistogram.indexOf(16), is(16));
+        assertThat(LatencyHistogram.indexOf(31), is(31));
+        // from 32 on, the buckets get wider
+        assertThat(LatencyHistogram.indexOf(32), is(32));
+        assertThat(LatencyHistogram.indexOf(33), is(32));
+        assertThat(LatencyHistogram.indexOf(1000), is(111));
+        assertThat(LatencyHistogram.lowerBoundOf(111), is(992L));
+        assertThat(LatencyHistogram.lowerBoundOf(112), is(1024L));
+    }
+
+    @Test
+    public void bucketsContainTheirValues() {
+        for (long micros = 1; micros < 1L << 40; micros = micros * 3 / 2 + 1) {
+            int index = LatencyHistogram.indexOf(micros);
+            long lowerBound = LatencyHistogram.lowerBoundOf(index);
+            long nextLowerBound = LatencyHistogram.lowerBoundOf(index + 1);
+
+            assertThat(micros, allOf(greaterThanOrEqualTo(lowerBound), lessThan(nextLowerBound)));
+            // the relative error is at most 1/16
+            assertThat((double) (nextLowerBound - lowerBound), lessThanOrEqualTo(Math.max(1, lowerBound / 16d)));
+        }
+
+        // values beyond the range end up in the last bucket
+        assertThat(LatencyHistogram.indexOf(1L << 40), is(LatencyHistogram.indexOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.getPercentileMillis(50), is(0d));
+
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(millis * 1_000_000L);
+        }
+
+        assertThat(histogram.getCount(), is(100L));
+        assertThat(histogram.getMeanMillis(), is(closeTo(50.5, 0.001)));
+        assertThat(histogram.getMaxMillis(), is(100d));
+        // the upper bound of the bucket, within the relative error
+        assertThat(histogram.getPercentileMillis(50), is(both(greaterThanOrEqualTo(50d)).and(lessThan(50 * 1.07))));
+        assertThat(histogram.getPercentileMillis(90), is(both(greaterThanOrEqualTo(90d)).and(lessThan(90 * 1.07))));
+        // never more than the maximum
+        assertThat(histogram.getPercentileMillis(99.9), is(100d));
+        assertThat(histogram.getPercentileMillis(200), is(100d));
+        assertThat(histogram.getPercentileMillis(0), is(both(greaterThanOrEqualTo(1d)).and(lessThan(1.07))));
+    }
+}
@@ -0,0 +1,134 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ScreenshotEncoder}.
+ *
+ * @author agent
+ */
+public class ScreenshotEncoderTest {
+
+    @Test
+    public void smallImageStaysPng() throws IOException {
+        String dataUri = ScreenshotEncoder.toLowQualityBase64(png(64, 48, 0));
+
+        assertThat(dataUri, startsWith(ScreenshotEncoder.PNG_PREFIX));
+        assertThat(dataUri.length(), lessThan(ScreenshotEncoder.IMAGE_SIZE_THRESHOLD));
+    }
+
+    @Test
+    public void largeImageGetsJpegWithinThreshold() throws IOException {
+        byte[] png = png(320, 240, 64);
+
+        assertThat(
+            ScreenshotEncoder.dataUriLength(ScreenshotEncoder.PNG_PREFIX, png.length),
+            greaterThan(ScreenshotEncoder.IMAGE_SIZE_THRESHOLD)
+        );
+
+        String dataUri = ScreenshotEncoder.toLowQualityBase64(png);
+        BufferedImage image = read(dataUri, ScreenshotEncoder.JPG_PREFIX);
+
+        assertThat(dataUri.length(), lessThanOrEqualTo(ScreenshotEncoder.IMAGE_SIZE_THRESHOLD));
+        // the quality search suffices, no need to downscale
+        assertThat(image.getWidth(), is(320));
+        assertThat(image.getHeight(), is(240));
+    }
+
+    @Test
+    public void hugeImageGetsDownscaled() throws IOException {
+        String dataUri = ScreenshotEncoder.toLowQualityBase64(png(1600, 1200, 255));
+        BufferedImage image = read(dataUri, ScreenshotEncoder.JPG_PREFIX);
+
+        assertThat(dataUri.length(), lessThanOrEqualTo(ScreenshotEncoder.IMAGE_SIZE_THRESHOLD));
+        assertThat(image.getWidth(), lessThan(1600));
+        // keeps the aspect ratio
+        assertThat(image.getWidth() * 3d, is(closeTo(image.getHeight() * 4d, 4)));
+    }
+
+    @Test
+    public void submitRunsInCallingThreadWhenBusy() throws Exception {
+        Thread caller = Thread.currentThread();
+        CountDownLatch latch = new CountDownLatch(1);
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+
+        try {
+            CompletableFuture<String> future;
+
+            do {
+                future = ScreenshotEncoder.submit(() -> {
+                    if (Thread.currentThread() == caller) {
+                        return "caller";
+                    }
+
+                    try {
+                        latch.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+
+                    return "background";
+                });
+
+                futures.add(future);
+            } while (!future.isDone() && futures.size() < 10);
+
+            assertThat(future.get(), is("caller"));
+            assertThat(futures.size(), allOf(greaterThan(1), lessThanOrEqualTo(3)));
+        } finally {
+            latch.countDown();
+        }
+
+        for (CompletableFuture<String> future : futures.subList(0, futures.size() - 1)) {
+            assertThat(future.get(10, TimeUnit.SECONDS), is("background"));
+        }
+    }
+
+    private static byte[] png(int width, int height, int noise) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int gray = x * 255 / width;
+                int red = Math.max(0, Math.min(255, gray + (noise > 0 ? random.nextInt(noise) - noise / 2 : 0)));
+                int green = Math.max(0, Math.min(255, gray + (noise > 0 ? random.nextInt(noise) - noise / 2 : 0)));
+
+                image.setRGB(x, y, red << 16 | green << 8 | (255 - red));
+            }
+        }
+
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "png", out);
+
+            return out.toByteArray();
+        }
+    }
+
+    private static BufferedImage read(String dataUri, String prefix) throws IOException {
+        assertThat(dataUri, startsWith(prefix));
+
+        try (
+            ByteArrayInputStream in = new ByteArrayInputStream(
+                Base64.getDecoder().decode(dataUri.substring(prefix.length()))
+            )
+        ) {
+            return ImageIO.read(in);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link ScreenshotStore}.
+ *
+ * @author agent
+ */
+public class ScreenshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void identicalDataIsStoredOnce() throws IOException {
+        ScreenshotStore store = new ScreenshotStore(directory, 10, 1024);
+
+        Path file = store.store(new byte[] { 1, 2, 3 }, "png");
+
+        assertThat(store.store(new byte[] { 1, 2, 3 }, "png"), is(file));
+        assertThat(store.store(new byte[] { 4, 5 }, "png"), not(file));
+        assertThat(Files.readAllBytes(file), is(new byte[] { 1, 2, 3 }));
+        assertThat(store.getCount(), is(2));
+        assertThat(store.getTotalBytes(), is(5L));
+    }
+
+    @Test
+    public void leastRecentlyUsedFileGetsEvicted() {
+        ScreenshotStore store = new ScreenshotStore(directory, 2, 1024);
+
+        Path first = store.store(new byte[] { 1 }, "png");
+        Path second = store.store(new byte[] { 2 }, "png");
+
+        // marks the first file as used
+        store.store(new byte[] { 1 }, "png");
+
+        Path third = store.store(new byte[] { 3 }, "png");
+
+        assertThat(Files.exists(first), is(true));
+        assertThat(Files.exists(second), is(false));
+        assertThat(Files.exists(third), is(true));
+        assertThat(store.getCount(), is(2));
+        assertThat(store.getTotalBytes(), is(2L));
+    }
+
+    @Test
+    public void sizeQuotaEvictsOldestFiles() {
+        ScreenshotStore store = new ScreenshotStore(directory, 10, 10);
+
+        Path first = store.store(new byte[4], "png");
+        Path second = store.store(new byte[] { 1, 1, 1, 1 }, "png");
+        Path third = store.store(new byte[] { 2, 2, 2, 2 }, "png");
+
+        assertThat(Files.exists(first), is(false));
+        assertThat(Files.exists(second), is(true));
+        assertThat(Files.exists(third), is(true));
+        assertThat(store.getTotalBytes(), is(8L));
+
+        // a file larger than the quota is kept, all others get evicted
+        Path large = store.store(new byte[] { 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3 }, "png");
+
+        assertThat(Files.exists(large), is(true));
+        assertThat(store.getCount(), is(1));
+        assertThat(store.getTotalBytes(), is(12L));
+    }
+
+    @Test
+    public void filesOfPreviousRunsArePartOfTheStore() throws IOException {
+        Path previous = new ScreenshotStore(directory, 10, 1024).store(new byte[] { 1, 2 }, "png");
+
+        Files.writeString(directory.resolve("interrupted.tmp"), "ignored");
+
+        ScreenshotStore store = new ScreenshotStore(directory, 1, 1024);
+        Path file = store.store(new byte[] { 3 }, "png");
+
+        assertThat(Files.exists(previous), is(false));
+        assertThat(Files.exists(file), is(true));
+        assertThat(store.getCount(), is(1));
+        assertThat(store.getTotalBytes(), is(1L));
+    }
+}
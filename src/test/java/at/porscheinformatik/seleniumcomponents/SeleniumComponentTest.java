@@ -0,0 +1,149 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chromium.HasCdp;
+
+/**
+ * Tests for the region screenshots of {@link SeleniumComponent}.
+ *
+ * @author agent
+ */
+public class SeleniumComponentTest {
+
+    private final AtomicInteger resolutions = new AtomicInteger();
+
+    // the clips of the DevTools screenshots
+    private final List<Object> clips = new ArrayList<>();
+
+    @Test
+    public void screenshotOfStaleElementResolvesElementAgain() {
+        SeleniumComponent component = component(false, new Rectangle(0, 0, 10, 10), 1);
+
+        assertThat(component.takeScreenshot(OutputType.BYTES), is(new byte[] { 2 }));
+        assertThat(resolutions.get(), is(2));
+    }
+
+    @Test
+    public void screenshotOfMissingElement() {
+        SeleniumComponent component = component(false, new Rectangle(0, 0, 10, 10), Integer.MAX_VALUE);
+
+        assertThat(component.takeScreenshot(OutputType.BYTES), nullValue());
+    }
+
+    @Test
+    public void devToolsScreenshotOfStaleElementResolvesElementAgain() {
+        SeleniumComponent component = component(true, new Rectangle(1, 2, 30, 40), 1);
+
+        assertThat(
+            component.takeScreenshot(ScreenshotOutputType.BASE64),
+            is(ScreenshotEncoder.JPG_PREFIX + Base64.getEncoder().encodeToString(new byte[] { 1 }))
+        );
+        assertThat(resolutions.get(), is(2));
+        assertThat(clips, hasSize(1));
+        assertThat(clips.get(0), is(Map.of("x", 1, "y", 2, "width", 40, "height", 30, "scale", 1d)));
+    }
+
+    @Test
+    public void devToolsScreenshotOfEmptyElement() {
+        SeleniumComponent component = component(true, new Rectangle(1, 2, 0, 40), 0);
+
+        assertThat(component.takeScreenshot(ScreenshotOutputType.BASE64), nullValue());
+        assertThat(clips, empty());
+    }
+
+    /**
+     * @param devTools true if the driver supports DevTools
+     * @param rect the rectangle of the element (x, y, height, width)
+     * @param staleResolutions the elements up to this resolution are stale, the element is missing, if all are stale
+     * @return the component
+     */
+    private SeleniumComponent component(boolean devTools, Rectangle rect, int staleResolutions) {
+        Class<?>[] interfaces = devTools
+            ? new Class<?>[] { WebDriver.class, HasCdp.class }
+            : new Class<?>[] { WebDriver.class };
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(
+            SeleniumComponentTest.class.getClassLoader(),
+            interfaces,
+            (proxy, method, args) -> {
+                if (!"executeCdpCommand".equals(method.getName())) {
+                    return null;
+                }
+
+                clips.add(((Map<?, ?>) args[1]).get("clip"));
+
+                return Map.of("data", Base64.getEncoder().encodeToString(new byte[] { 1 }));
+            }
+        );
+        SeleniumEnvironment environment = (SeleniumEnvironment) Proxy.newProxyInstance(
+            SeleniumComponentTest.class.getClassLoader(),
+            new Class<?>[] { SeleniumEnvironment.class },
+            (proxy, method, args) -> "getDriver".equals(method.getName()) ? driver : null
+        );
+
+        return new SeleniumComponent() {
+            @Override
+            public SeleniumComponent parent() {
+                return null;
+            }
+
+            @Override
+            public SeleniumEnvironment environment() {
+                return environment;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public WebElement element() {
+                if (staleResolutions == Integer.MAX_VALUE) {
+                    throw new NoSuchElementException("missing");
+                }
+
+                return webElement(resolutions.incrementAndGet() <= staleResolutions, rect);
+            }
+
+            @Override
+            public String describe() {
+                return "component";
+            }
+        };
+    }
+
+    private static WebElement webElement(boolean stale, Rectangle rect) {
+        return (WebElement) Proxy.newProxyInstance(
+            SeleniumComponentTest.class.getClassLoader(),
+            new Class<?>[] { WebElement.class },
+            (proxy, method, args) -> {
+                if (stale) {
+                    throw new StaleElementReferenceException("stale");
+                }
+
+                return switch (method.getName()) {
+                    case "getRect" -> rect;
+                    case "getScreenshotAs" -> new byte[] { 2 };
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> null;
+                };
+            }
+        );
+    }
+}
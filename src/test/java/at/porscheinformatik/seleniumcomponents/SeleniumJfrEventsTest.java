@@ -0,0 +1,96 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Tests for {@link SeleniumJfrEvents}.
+ *
+ * @author agent
+ */
+public class SeleniumJfrEventsTest {
+
+    @Test
+    public void commandEvents() throws IOException {
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] { WebDriver.class },
+            (proxy, method, args) -> method.getName()
+        );
+        Path file = Files.createTempFile("selenium-components", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(SeleniumJfrEvents.CommandEvent.class).withoutThreshold();
+
+            assertThat(CommandTimingListener.decorateIfEnabled(driver), sameInstance(driver));
+
+            recording.start();
+
+            WebDriver decoratedDriver = CommandTimingListener.decorateIfEnabled(driver);
+
+            assertThat(decoratedDriver, not(sameInstance(driver)));
+
+            decoratedDriver.getTitle();
+            decoratedDriver.toString();
+
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            assertThat(events, hasSize(1));
+            assertThat(events.get(0).getString("name"), is("getTitle"));
+            assertThat(events.get(0).getBoolean("successful"), is(true));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void waitEvents() throws IOException {
+        Path file = Files.createTempFile("selenium-components", ".jfr");
+
+        // registers the listener of the recordings
+        SeleniumGlobals.getPollingStrategy();
+
+        assertThat(SeleniumLogger.getEventListeners(), not(hasItem(SeleniumJfrEvents.LISTENER)));
+
+        try (Recording recording = new Recording()) {
+            recording.enable(SeleniumJfrEvents.WaitEvent.class).withoutThreshold();
+            recording.start();
+
+            // the listener is registered while the recording is running
+            assertThat(SeleniumLogger.getEventListeners(), hasItem(SeleniumJfrEvents.LISTENER));
+
+            AtomicInteger count = new AtomicInteger();
+
+            assertThat(SeleniumUtils.keepTrying(1, () -> count.incrementAndGet() >= 2 ? count.get() : null), is(2));
+
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            assertThat(events, hasSize(1));
+            assertThat(events.get(0).getString("name"), is("keepTrying"));
+            assertThat(events.get(0).getInt("polls"), is(2));
+            assertThat(events.get(0).getBoolean("successful"), is(true));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        assertThat(SeleniumLogger.getEventListeners(), not(hasItem(SeleniumJfrEvents.LISTENER)));
+    }
+}
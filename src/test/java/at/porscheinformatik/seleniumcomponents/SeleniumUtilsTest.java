@@ -4,9 +4,15 @@ import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
+import org.openqa.selenium.StaleElementReferenceException;
 
 /**
  * Tests for {@link SeleniumUtils}.
@@ -127,4 +133,379 @@ public class SeleniumUtilsTest {
 
         assertThat(SeleniumUtils.keepTrying(1, () -> count.decrementAndGet() > 0 ? null : 42), is(42));
     }
+
+    @Test
+    public void keepTryingNested() {
+        long startMillis = System.currentTimeMillis();
+
+        try {
+            int result = SeleniumUtils.keepTrying(0.2, () -> SeleniumUtils.keepTrying(10, () -> null));
+
+            fail("Exception expected, but got " + result);
+        } catch (Exception e) {
+            assertThat(e, instanceOf(SeleniumFailException.class));
+        }
+
+        assertThat(System.currentTimeMillis() - startMillis, lessThan(2000L));
+    }
+
+    @Test
+    public void keepTryingWithStrategy() {
+        AtomicInteger count = new AtomicInteger();
+
+        try {
+            int result = SeleniumUtils.keepTrying(10, PollingStrategy.fixed(0.01, 3), () -> {
+                count.incrementAndGet();
+                return null;
+            });
+
+            fail("Exception expected, but got " + result);
+        } catch (Exception e) {
+            assertThat(e, instanceOf(SeleniumFailException.class));
+        }
+
+        assertThat(count.get(), lessThanOrEqualTo(3));
+    }
+
+    @Test
+    public void retryOnStale() {
+        AtomicInteger count = new AtomicInteger();
+
+        try {
+            SeleniumUtils.retryOnStale(PollingStrategy.fixed(0.01, 2), () -> {
+                count.incrementAndGet();
+                throw new StaleElementReferenceException("Stale");
+            });
+
+            fail("Exception expected");
+        } catch (Exception e) {
+            assertThat(e, instanceOf(StaleElementReferenceException.class));
+        }
+
+        assertThat(count.get(), is(2));
+        assertThat(
+            SeleniumUtils.retryOnStale(() -> {
+                if (count.incrementAndGet() < 4) {
+                    throw new StaleElementReferenceException("Stale");
+                }
+
+                return 42;
+            }),
+            is(42)
+        );
+    }
+
+    @Test
+    public void keepTryingWithoutWaiting() {
+        AtomicInteger count = new AtomicInteger();
+
+        try {
+            int result = SeleniumUtils.withoutWaiting(() ->
+                SeleniumUtils.keepTrying(10, () -> count.incrementAndGet() > 1 ? 42 : null)
+            );
+
+            fail("Exception expected, but got " + result);
+        } catch (Exception e) {
+            assertThat(e, instanceOf(SeleniumFailException.class));
+        }
+
+        assertThat(count.get(), is(1));
+        assertThat(SeleniumUtils.keepTrying(10, () -> count.incrementAndGet() > 2 ? 42 : null), is(42));
+    }
+
+    @Test
+    public void keepTryingRecorded() {
+        SeleniumFlightRecorder recorder = new SeleniumFlightRecorder(2);
+
+        SeleniumFlightRecorder.bind(recorder);
+
+        try {
+            for (int i = 0; i < 3; i++) {
+                int value = i;
+
+                assertThat(SeleniumUtils.keepTrying(1, () -> value), is(value));
+            }
+
+            assertThrows(SeleniumFailException.class, () -> SeleniumUtils.keepTrying(0.2, () -> null));
+
+            List<SeleniumFlightRecorder.Entry> entries = recorder.getEntries();
+
+            assertThat(entries, hasSize(2));
+            assertThat(entries.get(0).event().isSuccessful(), is(true));
+            assertThat(entries.get(1).event().type(), is(SeleniumEvent.Type.WAIT));
+            assertThat(entries.get(1).event().failure(), instanceOf(SeleniumFailException.class));
+            assertThat(recorder.dump(), containsString("WAIT keepTrying"));
+        } finally {
+            SeleniumFlightRecorder.bind(null);
+        }
+    }
+
+    @Test
+    public void assertThatSoonDumpsRecorderWhenOutermost() {
+        SeleniumFlightRecorder recorder = new SeleniumFlightRecorder(4);
+
+        SeleniumFlightRecorder.bind(recorder);
+
+        try {
+            AssertionError outermost = assertThrows(AssertionError.class, () ->
+                SeleniumAsserts.assertThatSoon(0.2, () -> 1, is(2))
+            );
+
+            assertThat(outermost.getMessage(), containsString("Recent events:"));
+
+            SeleniumWaitContext context = SeleniumWaitContext.open(System.currentTimeMillis() + 1000);
+
+            try {
+                AssertionError nested = assertThrows(AssertionError.class, () ->
+                    SeleniumAsserts.assertThatSoon(0.2, () -> 1, is(2))
+                );
+
+                assertThat(nested.getMessage(), not(containsString("Recent events:")));
+            } finally {
+                context.close();
+            }
+        } finally {
+            SeleniumFlightRecorder.bind(null);
+        }
+    }
+
+    @Test
+    public void keepTryingMeasured() {
+        SeleniumGlobals.setMetrics(true);
+        SeleniumMetrics.reset();
+
+        try {
+            AtomicInteger count = new AtomicInteger();
+
+            assertThat(SeleniumUtils.keepTrying(1, () -> count.incrementAndGet() >= 3 ? count.get() : null), is(3));
+            assertThrows(SeleniumFailException.class, () -> SeleniumUtils.keepTrying(0.2, () -> null));
+
+            List<SeleniumMetrics.Wait> waits = new ArrayList<>(SeleniumMetrics.getWaits().values());
+
+            assertThat(waits, hasSize(2));
+            assertThat(waits.stream().mapToLong(SeleniumMetrics.Wait::getFailures).sum(), is(1L));
+            assertThat(waits.stream().mapToLong(SeleniumMetrics.Wait::getPolls).sum(), greaterThan(3L));
+            assertThat(SeleniumMetrics.toJson(), containsString("\"polls\""));
+        } finally {
+            SeleniumGlobals.setMetrics(false);
+            SeleniumMetrics.reset();
+        }
+    }
+
+    @Test
+    public void waitListener() {
+        List<String> calls = new ArrayList<>();
+        SeleniumEventListener listener = new SeleniumEventListener() {
+            @Override
+            public void onEvent(SeleniumEvent event) {
+                // only the waits are of interest
+            }
+
+            @Override
+            public SeleniumWaitListener onWaitStart(SeleniumWait wait) {
+                if (wait.getType() != SeleniumWait.Type.KEEP_TRYING) {
+                    return null;
+                }
+
+                calls.add("start");
+                wait.limitEndMillis(wait.getStartMillis() + 200);
+
+                return new SeleniumWaitListener() {
+                    @Override
+                    public void onPoll(SeleniumWait wait, long startNanos, long endNanos, boolean successful) {
+                        calls.add(successful ? "success" : "poll");
+                    }
+
+                    @Override
+                    public void onEnd(SeleniumWait wait, Throwable failure) {
+                        calls.add(failure != null ? "failure" : "end " + wait.getPolls());
+                        // described once, shared by all listeners
+                        assertThat(wait.getCallLine(), sameInstance(wait.getCallLine()));
+                    }
+                };
+            }
+        };
+
+        SeleniumLogger.addEventListener(listener);
+
+        try {
+            AtomicInteger count = new AtomicInteger();
+
+            assertThat(SeleniumUtils.keepTrying(1, () -> count.incrementAndGet() >= 3 ? count.get() : null), is(3));
+            assertThat(calls, contains("start", "poll", "poll", "success", "end 3"));
+
+            calls.clear();
+
+            // the listener limited the deadline
+            long startMillis = System.currentTimeMillis();
+
+            assertThrows(SeleniumFailException.class, () -> SeleniumUtils.keepTrying(10, () -> null));
+            assertThat(System.currentTimeMillis() - startMillis, lessThan(5000L));
+            assertThat(calls.get(calls.size() - 1), is("failure"));
+        } finally {
+            SeleniumLogger.removeEventListener(listener);
+        }
+    }
+
+    @Test
+    public void noWaitWithoutListeners() {
+        // e.g. the flight recorders of other tests
+        List<SeleniumEventListener> listeners = new ArrayList<>(SeleniumLogger.getEventListeners());
+
+        listeners.forEach(SeleniumLogger::removeEventListener);
+
+        try {
+            assertThat(SeleniumWait.start(SeleniumWait.Type.KEEP_TRYING, 1, 0, 1000, null), nullValue());
+            assertThat(SeleniumUtils.keepTrying(1, () -> 42), is(42));
+            assertThat(SeleniumUtils.retryOnStale(() -> 42), is(42));
+            assertThat(SeleniumUtils.callWithTimeout(1, () -> 42), is(42));
+        } finally {
+            listeners.forEach(SeleniumLogger::addEventListener);
+        }
+    }
+
+    @Test
+    public void featureListenersAreRegisteredWhileEnabled() {
+        assertThat(SeleniumLogger.getEventListeners(), not(hasItem(SeleniumMetrics.LISTENER)));
+
+        SeleniumGlobals.setMetrics(true);
+
+        try {
+            SeleniumGlobals.setMetrics(true);
+
+            // once, at most
+            assertThat(
+                SeleniumLogger.getEventListeners().stream().filter(SeleniumMetrics.LISTENER::equals).count(),
+                is(1L)
+            );
+        } finally {
+            SeleniumGlobals.setMetrics(false);
+        }
+
+        assertThat(SeleniumLogger.getEventListeners(), not(hasItem(SeleniumMetrics.LISTENER)));
+
+        SeleniumGlobals.setEarlyWarningFraction(0.5);
+        SeleniumGlobals.setEarlyWarningFraction(0);
+
+        assertThat(SeleniumLogger.getEventListeners(), not(hasItem(EarlyWarningSnapshot.LISTENER)));
+    }
+
+    @Test
+    public void earlyWarningIsCapturedByWaitingThread() {
+        SeleniumGlobals.setEarlyWarningFraction(0.5);
+
+        try {
+            List<Thread> threads = new ArrayList<>();
+            long startMillis = System.currentTimeMillis();
+            List<Long> elapsedMillis = new ArrayList<>();
+
+            assertThrows(SeleniumFailException.class, () ->
+                SeleniumUtils.keepTrying(0.4, SeleniumGlobals.getPollingStrategy(), () -> null, () -> {
+                    threads.add(Thread.currentThread());
+                    elapsedMillis.add(System.currentTimeMillis() - startMillis);
+
+                    return null;
+                })
+            );
+
+            // once, between two polls
+            assertThat(threads, contains(Thread.currentThread()));
+            assertThat(elapsedMillis.get(0), greaterThanOrEqualTo(200L));
+
+            // a successful first poll does not capture
+            threads.clear();
+
+            assertThat(
+                SeleniumUtils.keepTrying(0.4, SeleniumGlobals.getPollingStrategy(), () -> 42, () -> {
+                    threads.add(Thread.currentThread());
+
+                    return null;
+                }),
+                is(42)
+            );
+            assertThat(threads, empty());
+        } finally {
+            SeleniumGlobals.setEarlyWarningFraction(0);
+        }
+    }
+
+    @Test
+    public void lazyExecutorServiceIsShutDownWhenReplaced() {
+        SeleniumGlobals.setExecutorMode(SeleniumGlobals.getExecutorMode());
+
+        ExecutorService lazyExecutorService = SeleniumGlobals.getExecutorService();
+        ExecutorService executorService = Executors.newCachedThreadPool();
+
+        try {
+            assertThat(SeleniumGlobals.getExecutorService(), sameInstance(lazyExecutorService));
+
+            SeleniumGlobals.setExecutorService(executorService);
+
+            assertThat(lazyExecutorService.isShutdown(), is(true));
+            assertThat(SeleniumGlobals.getExecutorService(), sameInstance(executorService));
+        } finally {
+            SeleniumGlobals.setExecutorMode(SeleniumGlobals.getExecutorMode());
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void parallel() {
+        AtomicInteger count = new AtomicInteger();
+
+        assertThat(SeleniumUtils.parallel(5, 2, 1, count::getAndIncrement), containsInAnyOrder(0, 1, 2, 3, 4));
+
+        List<ParallelResult<Integer>> results = new ArrayList<>();
+
+        try (
+            Stream<ParallelResult<Integer>> stream = SeleniumUtils.parallelStream(2, 2, 1, () -> {
+                SeleniumUtils.waitForSeconds(count.getAndIncrement() == 5 ? 0.3 : 0);
+                return 42;
+            })
+        ) {
+            stream.forEach(results::add);
+        }
+
+        // results in the order of completion
+        assertThat(results.get(0).durationMillis(), lessThan(300L));
+        assertThat(results.get(1).durationMillis(), greaterThanOrEqualTo(300L));
+        assertThat(results.get(0).index() + results.get(1).index(), is(1));
+    }
+
+    @Test
+    public void parallelFailFast() {
+        AtomicInteger count = new AtomicInteger();
+        long startMillis = System.currentTimeMillis();
+
+        try {
+            SeleniumUtils.parallel(10, 3, 10, () -> {
+                if (count.getAndIncrement() == 1) {
+                    throw new IllegalStateException("Failed");
+                }
+
+                SeleniumUtils.waitForSeconds(5);
+                return 42;
+            });
+
+            fail("Exception expected");
+        } catch (SeleniumException e) {
+            assertThat(e.getCause(), instanceOf(IllegalStateException.class));
+        }
+
+        assertThat(System.currentTimeMillis() - startMillis, lessThan(2000L));
+        assertThat(count.get(), lessThanOrEqualTo(3));
+
+        try {
+            SeleniumUtils.parallel(3, 3, 0.2, () -> {
+                SeleniumUtils.waitForSeconds(5);
+                return 42;
+            });
+
+            fail("Exception expected");
+        } catch (SeleniumTimeoutException e) {
+            // expected
+        }
+
+        assertThat(System.currentTimeMillis() - startMillis, lessThan(4000L));
+    }
 }
@@ -0,0 +1,36 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ThreadUtils}.
+ *
+ * @author agent
+ */
+public class ThreadUtilsTest {
+
+    @Test
+    public void modifiedPatternsAffectCallLine() {
+        Pattern pattern = Pattern.compile("^org\\.junit\\..*");
+
+        // registers the exclusions of the library, they exclude this test, too
+        SeleniumGlobals.isDebug();
+
+        assertThat(ThreadUtils.describeCallLine(), startsWith("org.junit."));
+
+        ThreadUtils.getExcludedCallElements().add(pattern);
+
+        try {
+            assertThat(ThreadUtils.describeCallLine(), not(startsWith("org.junit.")));
+        } finally {
+            ThreadUtils.getExcludedCallElements().remove(pattern);
+        }
+
+        assertThat(ThreadUtils.getExcludedCallElements(), not(hasItem(pattern)));
+        assertThat(ThreadUtils.describeCallLine(), startsWith("org.junit."));
+    }
+}
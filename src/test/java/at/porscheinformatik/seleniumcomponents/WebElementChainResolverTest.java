@@ -0,0 +1,173 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Tests for {@link WebElementChainResolver}.
+ *
+ * @author agent
+ */
+public class WebElementChainResolverTest {
+
+    private static final WebElement ROOT_ELEMENT = element("root");
+    private static final WebElement RESULT_ELEMENT = element("result");
+
+    // the arguments of the script calls
+    private final List<Object[]> scripts = new ArrayList<>();
+
+    @Test
+    public void resolvesChainInOneScript() {
+        SeleniumComponent root = root(arguments -> RESULT_ELEMENT);
+        AbstractSeleniumComponent form = component(root, WebElementSelector.selectByXPath(".//form"));
+        AbstractSeleniumComponent input = component(form, WebElementSelector.selectByCss("input"));
+
+        assertThat(WebElementChainResolver.isResolvable(input), is(true));
+        assertThat(WebElementChainResolver.resolve(input), sameInstance(RESULT_ELEMENT));
+        assertThat(scripts.size(), is(1));
+        assertThat(scripts.get(0)[0], sameInstance(ROOT_ELEMENT));
+        assertThat(scripts.get(0)[1], is(List.of(List.of("xpath", ".//form"), List.of("css", "input"))));
+    }
+
+    @Test
+    public void failureNamesLevel() {
+        SeleniumComponent root = root(arguments -> 0L);
+        AbstractSeleniumComponent form = component(root, WebElementSelector.selectByXPath(".//form"));
+        AbstractSeleniumComponent input = component(form, WebElementSelector.selectByCss("input"));
+
+        NoSuchElementException e = assertThrows(NoSuchElementException.class, () ->
+            WebElementChainResolver.resolve(input)
+        );
+
+        assertThat(e.getMessage(), startsWith("No element found for: root {.//form}\n"));
+    }
+
+    @Test
+    public void overriddenSearchContextEndsScript() {
+        WebElement frameElement = element("frame");
+        SeleniumComponent root = root(arguments -> RESULT_ELEMENT);
+        AbstractSeleniumComponent frame = new AbstractSeleniumComponent(
+            root,
+            WebElementSelector.selectByTagName("iframe")
+        ) {
+            @Override
+            public SearchContext searchContext() {
+                return frameElement;
+            }
+        };
+        AbstractSeleniumComponent input = component(frame, WebElementSelector.selectByCss("input"));
+
+        assertThat(WebElementChainResolver.resolve(input), sameInstance(RESULT_ELEMENT));
+        assertThat(scripts.get(0)[0], sameInstance(frameElement));
+        assertThat(scripts.get(0)[1], is(List.of(List.of("css", "input"))));
+    }
+
+    @Test
+    public void overriddenElementEndsScript() {
+        WebElement hostElement = element("host");
+        SeleniumComponent root = root(arguments -> RESULT_ELEMENT);
+        AbstractSeleniumComponent host = new AbstractSeleniumComponent(root, WebElementSelector.selectByTagName("div")) {
+            @Override
+            public WebElement element() {
+                return hostElement;
+            }
+        };
+        AbstractSeleniumComponent input = component(host, WebElementSelector.selectByCss("input"));
+
+        assertThat(WebElementChainResolver.resolve(input), sameInstance(RESULT_ELEMENT));
+        assertThat(scripts.get(0)[0], sameInstance(hostElement));
+        assertThat(scripts.get(0)[1], is(List.of(List.of("css", "input"))));
+    }
+
+    @Test
+    public void notResolvable() {
+        SeleniumComponent root = root(arguments -> RESULT_ELEMENT);
+        AbstractSeleniumComponent item = component(
+            root,
+            WebElementSelector.selectByIndex(WebElementSelector.selectByCss("li"), 1)
+        );
+
+        assertThat(WebElementChainResolver.isResolvable(item), is(false));
+        assertThrows(IllegalArgumentException.class, () -> WebElementChainResolver.resolve(item));
+    }
+
+    private SeleniumComponent root(Function<Object[], Object> script) {
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(
+            WebElementChainResolverTest.class.getClassLoader(),
+            new Class<?>[] { WebDriver.class, JavascriptExecutor.class },
+            (proxy, method, args) -> {
+                if (!"executeScript".equals(method.getName())) {
+                    return null;
+                }
+
+                Object[] arguments = (Object[]) args[1];
+
+                scripts.add(arguments);
+
+                return script.apply(arguments);
+            }
+        );
+        SeleniumEnvironment environment = (SeleniumEnvironment) Proxy.newProxyInstance(
+            WebElementChainResolverTest.class.getClassLoader(),
+            new Class<?>[] { SeleniumEnvironment.class },
+            (proxy, method, args) -> "getDriver".equals(method.getName()) ? driver : null
+        );
+
+        return new SeleniumComponent() {
+            @Override
+            public SeleniumComponent parent() {
+                return null;
+            }
+
+            @Override
+            public SeleniumEnvironment environment() {
+                return environment;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public WebElement element() {
+                return ROOT_ELEMENT;
+            }
+
+            @Override
+            public String describe() {
+                return "root";
+            }
+        };
+    }
+
+    private static AbstractSeleniumComponent component(SeleniumComponent parent, WebElementSelector selector) {
+        return new AbstractSeleniumComponent(parent, selector) {};
+    }
+
+    private static WebElement element(String name) {
+        return (WebElement) Proxy.newProxyInstance(
+            WebElementChainResolverTest.class.getClassLoader(),
+            new Class<?>[] { WebElement.class },
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "toString" -> name;
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> null;
+                }
+        );
+    }
+}
@@ -0,0 +1,131 @@
+package at.porscheinformatik.seleniumcomponents;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for combining {@link WebElementSelector}s.
+ *
+ * @author agent
+ */
+public class WebElementSelectorTest {
+
+    @Test
+    public void combineCss() {
+        WebElementSelector selector = WebElementSelector.selectByCss("div", "p").combine(
+            WebElementSelector.selectByClassName("a")
+        );
+
+        assertThat(selector, instanceOf(CombinableWebElementSelector.class));
+        assertThat(selector.toString(), is("div .a, p .a"));
+    }
+
+    @Test
+    public void combineXPath() {
+        WebElementSelector selector = WebElementSelector.selectByXPath(".//div[@a='1']").combine(
+            WebElementSelector.selectByText("span", "Hello")
+        );
+
+        assertThat(selector.toString(), is("{.//div[@a='1']//span[contains(., 'Hello')]}"));
+    }
+
+    @Test
+    public void combineCssAndXPath() {
+        assertThat(
+            WebElementSelector.selectByCss("clr-datagrid > .row")
+                .combine(WebElementSelector.selectByAttribute("data-testid", "x"))
+                .toString(),
+            is(
+                "{.//clr-datagrid/*[contains(concat(' ', normalize-space(@class), ' '), ' row ')]//*[@data-testid='x']}"
+            )
+        );
+
+        assertThat(
+            WebElementSelector.selectByXPath(".//form")
+                .combine(WebElementSelector.selectByCss("input[name=\"a\"]", "#b"))
+                .toString(),
+            is("{.//form//input[@name='a'] | .//form//*[@id='b']}")
+        );
+    }
+
+    @Test
+    public void notCombinable() {
+        WebElementSelector xpath = WebElementSelector.selectByXPath(".//div");
+
+        assertThat(xpath.combine(WebElementSelector.selectByXPath("//body")), nullValue());
+        assertThat(xpath.combine(WebElementSelector.selectByIndex("li", 1)), nullValue());
+        assertThat(WebElementSelector.selectByXPath(".//a | .//b").combine(xpath), nullValue());
+        assertThat(WebElementSelector.selectByCss("li:first-child").combine(xpath), nullValue());
+        assertThat(xpath.combine(WebElementSelector.selectByCss("a + b")), nullValue());
+        // indexed queries
+        assertThat(WebElementSelector.selectByIndex("li", 1).combine(xpath), nullValue());
+        assertThat(xpath.combine(WebElementSelector.selectByXPath("./li[2]")), nullValue());
+        assertThat(WebElementSelector.selectByXPath(".//li[last()]").combine(xpath), nullValue());
+        assertThat(xpath.combine(WebElementSelector.selectByXPath(".//li[position() > 1]")), nullValue());
+        // a number within a literal is no index
+        assertThat(xpath.combine(WebElementSelector.selectByXPath(".//li[@a='[1]']")), notNullValue());
+        assertThat(xpath.combine(WebElementSelector.selectByXPath(".//li[@a='1']")), notNullValue());
+    }
+
+    @Test
+    public void fromCss() {
+        assertThat(XPathWebElementSelector.fromCss("*"), is(".//*"));
+        assertThat(XPathWebElementSelector.fromCss("a[href^='http']"), is(".//a[starts-with(@href, 'http')]"));
+        assertThat(
+            XPathWebElementSelector.fromCss("a[href$=\".pdf\"]"),
+            is(".//a[substring(@href, string-length(@href) - 3) = '.pdf']")
+        );
+        assertThat(XPathWebElementSelector.fromCss("div  >  span[title]"), is(".//div/span[@title]"));
+        assertThat(XPathWebElementSelector.fromCss("a::before"), nullValue());
+    }
+
+    @Test
+    public void fromCssWithEmptyValue() {
+        // like in CSS, these match nothing
+        assertThat(XPathWebElementSelector.fromCss("a[href^='']"), is(".//a[false()]"));
+        assertThat(XPathWebElementSelector.fromCss("a[href$='']"), is(".//a[false()]"));
+        assertThat(XPathWebElementSelector.fromCss("a[href*=\"\"]"), is(".//a[false()]"));
+        assertThat(XPathWebElementSelector.fromCss("a[class~='']"), is(".//a[false()]"));
+        // an empty value is fine for equality
+        assertThat(XPathWebElementSelector.fromCss("a[href='']"), is(".//a[@href='']"));
+    }
+
+    @Test
+    public void descendant() {
+        WebElementSelector selector = WebElementSelector.selectByTagName("ul").descendant(
+            WebElementSelector.selectByTagName("li")
+        );
+
+        // "ul li" would find the items of all lists, the chain finds the items of the first list, only
+        assertThat(selector, not(instanceOf(CombinableWebElementSelector.class)));
+        assertThat(selector.toString(), is("ul li"));
+    }
+
+    @Test
+    public void descendantOfFirstMatch() {
+        assertThat(
+            WebElementSelector.selectByXPath(".//ul")
+                .descendant(WebElementSelector.selectByCss("li", "dd"))
+                .toString(),
+            is("{(.//ul)[1]//li | (.//ul)[1]//dd}")
+        );
+        assertThat(
+            WebElementSelector.selectByCss("ul, ol")
+                .descendant(WebElementSelector.selectByText("li", "Hello"))
+                .toString(),
+            is("{(.//ul | .//ol)[1]//li[contains(., 'Hello')]}")
+        );
+        // even indexed parents
+        assertThat(
+            WebElementSelector.selectByIndex("ul", 1).descendant(WebElementSelector.selectByXPath("./li")).toString(),
+            is("{((.//ul)[2])[1]/li}")
+        );
+        // the child must be relative
+        assertThat(
+            WebElementSelector.selectByXPath(".//ul").descendant(WebElementSelector.selectByXPath("//li")),
+            not(instanceOf(XPathWebElementSelector.class))
+        );
+    }
+}